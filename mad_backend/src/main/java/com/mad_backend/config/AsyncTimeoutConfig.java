@@ -0,0 +1,37 @@
+package com.mad_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Async requests keep the container's default timeout. A handler that returns a long-running
+ * {@code StreamingResponseBody} or {@code Callable} can give its own request a longer one by storing a
+ * {@link Duration} under {@link #ASYNC_TIMEOUT_ATTRIBUTE}; it is applied just before async processing
+ * starts.
+ */
+@Configuration
+public class AsyncTimeoutConfig implements WebMvcConfigurer {
+
+    public static final String ASYNC_TIMEOUT_ATTRIBUTE = AsyncTimeoutConfig.class.getName() + ".timeout";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest asyncWebRequest
+                        && request.getAttribute(ASYNC_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout) {
+                    asyncWebRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -34,6 +34,7 @@ public class CORSFilter implements Filter {
         response.setHeader("Access-Control-Allow-Credentials", "true");
         response.setHeader("Access-Control-Allow-Methods", "POST, GET, PUT, OPTIONS, DELETE");
         response.setHeader("Access-Control-Max-Age", "3600");
+        response.setHeader("Access-Control-Expose-Headers", QueryCountFilter.QUERY_COUNT_HEADER + ", " + QueryCountFilter.QUERY_TIME_HEADER);
         response.setHeader("Access-Control-Allow-Headers", "Origin, X-Requested-With, Content-Type, Accept, User-Token, Access-Token, Authorization, Basic-Authorization");
         if (CorsUtils.isPreFlightRequest(request)) {
             LOGGER.trace("Response preflight request {}", request.getServletPath());
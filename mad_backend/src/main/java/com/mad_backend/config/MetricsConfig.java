@@ -0,0 +1,49 @@
+package com.mad_backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on service methods and guards the actuator endpoints, which the JWT security
+ * chain lets through, with basic authentication for the metrics scraper. The credentials have no
+ * defaults; {@code /actuator/health} stays open for liveness and readiness probes.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    FilterRegistrationBean<Filter> actuatorAuthenticationFilter(
+            @Value("${app.actuator.username}") String username,
+            @Value("${app.actuator.password}") String password) {
+        if (username.isBlank() || password.isBlank()) {
+            throw new IllegalStateException("app.actuator.username and app.actuator.password must not be blank");
+        }
+        BasicAuthenticationFilter basicAuthentication = new BasicAuthenticationFilter(username, password);
+        Filter filter = (request, response, chain) -> {
+            if (isHealthCheck((HttpServletRequest) request)) {
+                chain.doFilter(request, response);
+            } else {
+                basicAuthentication.doFilter(request, response, chain);
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/actuator/*");
+        return registration;
+    }
+
+    private static boolean isHealthCheck(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/actuator/health") || path.startsWith("/actuator/health/");
+    }
+}
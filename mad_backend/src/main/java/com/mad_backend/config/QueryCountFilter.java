@@ -0,0 +1,185 @@
+package com.mad_backend.config;
+
+import com.mad_backend.jdbc.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC statements each request runs and reports them as {@value #QUERY_COUNT_HEADER} and
+ * {@value #QUERY_TIME_HEADER} headers and per-endpoint meters. Headers are added when the response body
+ * starts, so statements issued while a body streams are metered but not in the headers. Only statements
+ * run on the request thread are counted: work handed to another thread, such as BCrypt checks on the
+ * password-hashing pool or the asynchronous GEDCOM export body, is missing from both. A request
+ * over the statement budget, or repeating one statement shape often enough to look like N+1 loading,
+ * is logged. {@code app.query-count.fail-tests-on-violation} makes the filter throw instead; that is for
+ * MockMvc tests only, because the check runs after the response has been written, so a real client
+ * would already have received it. Buffering every response to reject it would break streamed bodies.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int statementBudget;
+    private final int repeatThreshold;
+    private final boolean failTestsOnViolation;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${app.query-count.enabled:true}") boolean enabled,
+                            @Value("${app.query-count.statement-budget:30}") int statementBudget,
+                            @Value("${app.query-count.repeat-threshold:5}") int repeatThreshold,
+                            @Value("${app.query-count.fail-tests-on-violation:false}") boolean failTestsOnViolation) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.statementBudget = statementBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.failTestsOnViolation = failTestsOnViolation;
+        if (failTestsOnViolation) {
+            LOGGER.warn("app.query-count.fail-tests-on-violation is set; violations throw after the response is sent");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.begin();
+        HeaderWritingResponse wrappedResponse = new HeaderWritingResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, wrappedResponse);
+            wrappedResponse.writeHeaders();
+        } finally {
+            QueryStatistics.end();
+        }
+        report(request, response, statistics);
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, QueryStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String status = Integer.toString(response.getStatus());
+
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("JDBC statements executed per request")
+                .tags("method", request.getMethod(), "uri", uri, "status", status)
+                .register(meterRegistry)
+                .record(statistics.count());
+        Timer.builder("http.server.requests.statement.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags("method", request.getMethod(), "uri", uri, "status", status)
+                .register(meterRegistry)
+                .record(statistics.nanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = statistics.repeatedShapes(repeatThreshold);
+        boolean overBudget = statistics.count() > statementBudget;
+        if (!overBudget && repeated.isEmpty()) {
+            return;
+        }
+
+        meterRegistry.counter("http.server.requests.statement.violations",
+                "method", request.getMethod(), "uri", uri, "kind", overBudget ? "budget" : "repeated").increment();
+        String message = String.format(Locale.ROOT, "%s %s (%s) ran %d statements in %.1f ms (budget %d)%s",
+                request.getMethod(), request.getRequestURI(), handlerName(request), statistics.count(),
+                statistics.millis(), statementBudget, repeated.isEmpty() ? "" : "; repeated statements " + repeated);
+        if (failTestsOnViolation) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.warn(message);
+    }
+
+    private static String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "no handler";
+    }
+
+    // Headers cannot change once the body starts, so they are written just before the first output.
+    private static class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final QueryStatistics statistics;
+        private boolean headersWritten;
+
+        HeaderWritingResponse(HttpServletResponse response, QueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(QUERY_COUNT_HEADER, Integer.toString(statistics.count()));
+            setHeader(QUERY_TIME_HEADER, String.format(Locale.ROOT, "%.3f", statistics.millis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
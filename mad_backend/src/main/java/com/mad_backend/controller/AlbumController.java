@@ -68,6 +68,40 @@ public class AlbumController {
         return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), message, null));
     }
 
+    @PostMapping("add-images/{album-id}")
+    public ResponseEntity<CommonResponse<Integer>> addImagesToAlbum(
+            @PathVariable("album-id") Long albumId,
+            @RequestBody List<ImageRequest> listImage) {
+
+        int addedCount = albumService.addImagesToAlbum(albumId, listImage);
+
+        String message = "Added " + addedCount + " images to album successfully!";
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), message, addedCount));
+    }
+
+    @DeleteMapping("remove-images/{album-id}")
+    public ResponseEntity<CommonResponse<Integer>> removeImagesFromAlbum(
+            @PathVariable("album-id") Long albumId,
+            @RequestBody List<ImageRequest> listImage) {
+
+        int removedCount = albumService.removeImagesFromAlbum(albumId, listImage);
+
+        String message = "Removed " + removedCount + " images from album successfully!";
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), message, removedCount));
+    }
+
+    @PutMapping("move-images/{album-id}/{target-album-id}")
+    public ResponseEntity<CommonResponse<Integer>> moveImagesToAlbum(
+            @PathVariable("album-id") Long albumId,
+            @PathVariable("target-album-id") Long targetAlbumId,
+            @RequestBody List<ImageRequest> listImage) {
+
+        int movedCount = albumService.moveImagesToAlbum(albumId, targetAlbumId, listImage);
+
+        String message = "Moved " + movedCount + " images to album successfully!";
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), message, movedCount));
+    }
+
     @DeleteMapping("delete/{album-id}")
     public ResponseEntity<CommonResponse<String>> deleteAlbum(
             @PathVariable("album-id") Long albumId) {
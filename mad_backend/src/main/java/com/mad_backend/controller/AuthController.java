@@ -3,6 +3,7 @@ package com.mad_backend.controller;
 import com.mad_backend.dto.request.*;
 import com.mad_backend.dto.response.CommonResponse;
 import com.mad_backend.dto.response.UserResponse;
+import com.mad_backend.exception.PasswordHashingRejectedException;
 import com.mad_backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,6 +27,9 @@ public class AuthController {
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new CommonResponse<>(401, "Invalid username or password", null));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new CommonResponse<>(503, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new CommonResponse<>(500, e.getMessage(), null));
@@ -41,6 +45,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(new CommonResponse<>(400, e.getMessage(), null));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new CommonResponse<>(503, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new CommonResponse<>(500, e.getMessage(), null));
@@ -69,6 +76,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(new CommonResponse<>(400, e.getMessage(), null));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new CommonResponse<>(503, e.getMessage(), null));
         }catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new CommonResponse<>(500, e.getMessage(), null));
@@ -83,6 +93,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(new CommonResponse<>(400, e.getMessage(), null));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new CommonResponse<>(503, e.getMessage(), null));
         }catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new CommonResponse<>(500, e.getMessage(), null));
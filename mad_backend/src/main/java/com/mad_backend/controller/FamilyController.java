@@ -2,7 +2,9 @@ package com.mad_backend.controller;
 
 import com.mad_backend.dto.request.FamilyRequest;
 import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyResponse;
+import com.mad_backend.dto.response.FamilySuggestionResponse;
 import com.mad_backend.service.FamilyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -31,6 +33,16 @@ public class FamilyController {
         return ResponseEntity.ok(new CommonResponse<>(200, "Search with paging success", result));
     }
 
+    @GetMapping("/search-by-cursor")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<FamilyResponse>>> searchFamiliesByCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorSliceResponse<FamilyResponse> result = familyService.searchFamiliesByName(name, cursor, size);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Search with cursor success", result));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CommonResponse<FamilyResponse>> findFamilyById(@PathVariable Long id) {
         FamilyResponse response = familyService.getFamilyById(id);
@@ -64,4 +76,14 @@ public class FamilyController {
         return ResponseEntity.ok(new CommonResponse<>(200, "Suggest families successfully", suggestions));
     }
 
+    @GetMapping("/suggest-for-user/{userId}/ranked")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<FamilySuggestionResponse>>> suggestFamiliesByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorSliceResponse<FamilySuggestionResponse> suggestions = familyService.suggestFamilies(userId, cursor, size);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Suggest families successfully", suggestions));
+    }
+
 }
@@ -2,7 +2,9 @@ package com.mad_backend.controller;
 
 import com.mad_backend.dto.request.FamilyStoryRequest;
 import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyStoryResponse;
+import com.mad_backend.dto.response.FamilyStorySearchHitResponse;
 
 import com.mad_backend.service.FamilyStoryService;
 import lombok.RequiredArgsConstructor;
@@ -74,4 +76,30 @@ public class FamilyStoryController {
         Page<FamilyStoryResponse> familyStoryResponses = familyStoryService.getAllFamilyStories(page, size);
         return ResponseEntity.ok(new CommonResponse<>(200, "Get all family story with paging successfully!", familyStoryResponses));
     }
+
+    @GetMapping("/full-text-search")
+    public ResponseEntity<CommonResponse<List<FamilyStorySearchHitResponse>>> fullTextSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<FamilyStorySearchHitResponse> hits = familyStoryService.fullTextSearch(q, limit);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Search family story successfully!", hits));
+    }
+
+    @GetMapping("/search-by-cursor")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<FamilyStoryResponse>>> searchStoriesByCursor(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "4") int size) {
+        CursorSliceResponse<FamilyStoryResponse> familyStoryResponses = familyStoryService.searchStories(username, title, cursor, size);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Search family story with cursor successfully!", familyStoryResponses));
+    }
+
+    @GetMapping("/get-all-by-cursor")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<FamilyStoryResponse>>> getAllFamilyByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "4") int size) {
+        CursorSliceResponse<FamilyStoryResponse> familyStoryResponses = familyStoryService.searchStories(null, null, cursor, size);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Get all family story with cursor successfully!", familyStoryResponses));
+    }
 }
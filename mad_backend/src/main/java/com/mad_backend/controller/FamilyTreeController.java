@@ -2,6 +2,7 @@ package com.mad_backend.controller;
 
 import com.mad_backend.dto.request.FamilyTreeRequest;
 import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.FamilyTreeLayoutResponse;
 import com.mad_backend.dto.response.FamilyTreeResponse;
 import com.mad_backend.service.FamilyTreeService;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,17 @@ public class FamilyTreeController {
         return ResponseEntity.ok(new CommonResponse<>(200, "Get family tree successfully!", response));
     }
 
+    @GetMapping("/{id}/layout")
+    public ResponseEntity<CommonResponse<FamilyTreeLayoutResponse>> getFamilyTreeLayout(
+            @PathVariable Long id,
+            @RequestParam(required = false) Double minX,
+            @RequestParam(required = false) Double maxX,
+            @RequestParam(required = false) Integer minGeneration,
+            @RequestParam(required = false) Integer maxGeneration) {
+        FamilyTreeLayoutResponse response = familyTreeService.getFamilyTreeLayout(id, minX, maxX, minGeneration, maxGeneration);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Get family tree layout successfully!", response));
+    }
+
     @PostMapping("/save")
     public ResponseEntity<CommonResponse<FamilyTreeResponse>> saveFamilyTree(@RequestBody FamilyTreeRequest request) {
         FamilyTreeResponse savedFamilyTrees = familyTreeService.saveFamilyTree(request);
@@ -0,0 +1,66 @@
+package com.mad_backend.controller;
+
+import com.mad_backend.config.AsyncTimeoutConfig;
+import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.GedcomImportResponse;
+import com.mad_backend.service.GedcomService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("api/v1/gedcom")
+@RequiredArgsConstructor
+public class GedcomController {
+    private final GedcomService gedcomService;
+
+    @Value("${app.gedcom.export-timeout:30m}")
+    private Duration exportTimeout;
+
+    // The file is the raw request body rather than a multipart part, so it streams to disk under the
+    // import's own size limit instead of the global multipart one.
+    @PostMapping(value = "import", consumes = {"text/x-gedcom", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CommonResponse<GedcomImportResponse>> startImport(
+            @RequestParam(value = "fileName", required = false) String fileName,
+            InputStream body) {
+
+        GedcomImportResponse data = gedcomService.startImport(fileName, body);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new CommonResponse<>(HttpStatus.ACCEPTED.value(), "GEDCOM import started!", data));
+    }
+
+    @GetMapping("import/{import-id}")
+    public ResponseEntity<CommonResponse<GedcomImportResponse>> getImport(
+            @PathVariable("import-id") Long importId) {
+
+        GedcomImportResponse data = gedcomService.getImport(importId);
+
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), "Get GEDCOM import successfully!", data));
+    }
+
+    // A large tree takes longer to stream than the default async timeout, so only this request gets more.
+    @GetMapping("export/{family-tree-id}")
+    public ResponseEntity<StreamingResponseBody> exportFamilyTree(
+            @PathVariable("family-tree-id") Long familyTreeId,
+            HttpServletRequest request) {
+
+        StreamingResponseBody body = gedcomService.exportFamilyTree(familyTreeId);
+        request.setAttribute(AsyncTimeoutConfig.ASYNC_TIMEOUT_ATTRIBUTE, exportTimeout);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"family-tree-" + familyTreeId + ".ged\"")
+                .contentType(new MediaType("text", "x-gedcom", StandardCharsets.UTF_8))
+                .body(body);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mad_backend.controller;
+
+import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.KinshipResponse;
+import com.mad_backend.dto.response.LineageResponse;
+import com.mad_backend.service.GenealogyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/genealogy")
+@RequiredArgsConstructor
+public class GenealogyController {
+    private final GenealogyService genealogyService;
+
+    @GetMapping("{user-id}/ancestors")
+    public ResponseEntity<CommonResponse<List<LineageResponse>>> getAncestors(
+            @PathVariable("user-id") Long userId,
+            @RequestParam(required = false) Integer maxDepth) {
+
+        List<LineageResponse> data = genealogyService.getAncestors(userId, maxDepth);
+
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), "Get ancestors successfully!", data));
+    }
+
+    @GetMapping("{user-id}/descendants")
+    public ResponseEntity<CommonResponse<List<LineageResponse>>> getDescendants(
+            @PathVariable("user-id") Long userId,
+            @RequestParam(required = false) Integer maxDepth) {
+
+        List<LineageResponse> data = genealogyService.getDescendants(userId, maxDepth);
+
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), "Get descendants successfully!", data));
+    }
+
+    @GetMapping("relationship")
+    public ResponseEntity<CommonResponse<KinshipResponse>> getRelationship(
+            @RequestParam Long from,
+            @RequestParam Long to,
+            @RequestParam(required = false) Integer maxDepth) {
+
+        KinshipResponse data = genealogyService.getRelationship(from, to, maxDepth);
+
+        return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), "Get relationship successfully!", data));
+    }
+}
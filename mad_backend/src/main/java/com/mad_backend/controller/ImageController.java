@@ -1,8 +1,10 @@
 package com.mad_backend.controller;
 
 import com.mad_backend.dto.request.ImageRequest;
+import com.mad_backend.dto.response.ImageDayResponse;
 import com.mad_backend.dto.response.ImageResponse;
 import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.service.ImageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -40,6 +42,19 @@ public class ImageController {
         );
     }
 
+    @GetMapping("timeline/{family-id}")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<ImageDayResponse>>> getImageTimeline(
+            @PathVariable("family-id") Long familyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "7") int size) {
+
+        CursorSliceResponse<ImageDayResponse> data = imageService.getImageTimeline(familyId, cursor, size);
+
+        return ResponseEntity.ok(
+                new CommonResponse<>(HttpStatus.OK.value(), "Get image timeline successfully!", data)
+        );
+    }
+
     @GetMapping("get-list-for-album/{family-id}")
     public ResponseEntity<CommonResponse<List<ImageResponse>>> getListImageForAlbum(
             @PathVariable("family-id") Long familyId,
@@ -53,6 +68,21 @@ public class ImageController {
         );
     }
 
+    @GetMapping("get-page-for-album/{family-id}")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<ImageResponse>>> getPageImageForAlbum(
+            @PathVariable("family-id") Long familyId,
+            @RequestParam(required = false) Long albumId,
+            @RequestParam(required = false) Boolean isInAlbum,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorSliceResponse<ImageResponse> data = imageService.getPageImageForAlbum(familyId, albumId, isInAlbum, cursor, size);
+
+        return ResponseEntity.ok(
+                new CommonResponse<>(HttpStatus.OK.value(), "Get page image for album successfully!", data)
+        );
+    }
+
     @GetMapping("get-detail/{image-id}")
     public ResponseEntity<CommonResponse<ImageResponse>> getDetailImage(
             @PathVariable("image-id") Long imageId) {
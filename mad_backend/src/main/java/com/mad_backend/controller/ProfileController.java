@@ -29,9 +29,10 @@ public class ProfileController {
 
     @GetMapping("get-list/{family-id}")
     public ResponseEntity<CommonResponse<List<ProfileResponse>>> getListProfile(
-            @PathVariable("family-id") Long familyId) {
+            @PathVariable("family-id") Long familyId,
+            @RequestParam(defaultValue = "false") boolean withRelations) {
 
-        List<ProfileResponse> listProfileResponse = profileService.getListProfile(familyId);
+        List<ProfileResponse> listProfileResponse = profileService.getListProfile(familyId, withRelations);
 
         return ResponseEntity.ok(new CommonResponse<>(HttpStatus.OK.value(), "Get list profile successfully!", listProfileResponse));
     }
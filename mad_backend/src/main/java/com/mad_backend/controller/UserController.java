@@ -2,7 +2,9 @@ package com.mad_backend.controller;
 
 import com.mad_backend.dto.request.*;
 import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyTreeResponse;
+import com.mad_backend.dto.response.PersonSuggestionResponse;
 import com.mad_backend.dto.response.UserResponse;
 import com.mad_backend.service.AuthService;
 import com.mad_backend.service.UserService;
@@ -57,6 +59,25 @@ public class UserController {
         return ResponseEntity.ok(new CommonResponse<>(200, "Search users success", result));
     }
 
+    @GetMapping("/search-by-cursor")
+    public ResponseEntity<CommonResponse<CursorSliceResponse<UserResponse>>> searchUsersByCursor(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorSliceResponse<UserResponse> result = userService.searchUsers(username, cursor, size);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Search users success", result));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<CommonResponse<List<PersonSuggestionResponse>>> autocomplete(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<PersonSuggestionResponse> result = userService.autocomplete(q, limit);
+        return ResponseEntity.ok(new CommonResponse<>(200, "Autocomplete users success", result));
+    }
+
     @GetMapping("/without-family")
     public ResponseEntity<CommonResponse<?>> getUsersWithoutFamily(){
         List<UserResponse> response = userService.getUsersWithoutFamily();
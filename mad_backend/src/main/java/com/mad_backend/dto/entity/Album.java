@@ -20,7 +20,8 @@ public class Album extends BaseEntity {
     @ManyToMany
     @JoinTable(name = "album_image",
             joinColumns = @JoinColumn(name = "album_id"),
-            inverseJoinColumns = @JoinColumn(name = "image_id"))
+            inverseJoinColumns = @JoinColumn(name = "image_id"),
+            indexes = @Index(name = "idx_album_image_album_image", columnList = "album_id, image_id"))
     private List<Image> images;
 
     private String coverImageUrl;
@@ -0,0 +1,24 @@
+package com.mad_backend.dto.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Closure of the parent-child relation: one row per (ancestor, descendant, depth), including a depth 0
+ * row for every person. {@code pathCount} is the number of distinct parent-child paths of that length,
+ * so removing one path only deletes the row once no other path remains. The primary key serves
+ * subtree scans from an ancestor; the descendant index serves ancestor lookups.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "ancestor_descendant", indexes = {
+        @Index(name = "idx_ancestor_descendant_descendant", columnList = "descendant_id, depth, ancestor_id")
+})
+public class AncestorDescendant {
+    @EmbeddedId
+    private AncestorDescendantId id;
+
+    private long pathCount;
+}
@@ -0,0 +1,23 @@
+package com.mad_backend.dto.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AncestorDescendantId implements Serializable {
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    private Integer depth;
+}
@@ -0,0 +1,32 @@
+package com.mad_backend.dto.entity;
+
+import com.mad_backend.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class EmailOutbox extends BaseEntity {
+    private String recipient;
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private EmailOutboxStatus status;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
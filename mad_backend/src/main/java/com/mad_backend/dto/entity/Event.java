@@ -12,7 +12,7 @@ import java.util.List;
 @Entity
 @Table(name = "events")
 public class Event extends BaseEntity {
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "family_id")
     private Family family;
 
@@ -21,6 +21,6 @@ public class Event extends BaseEntity {
     private String location;
     private LocalDateTime date;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     private List<Long> peopleIds;
 }
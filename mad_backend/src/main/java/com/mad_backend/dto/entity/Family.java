@@ -9,20 +9,22 @@ import java.util.List;
 
 @Getter
 @Setter
-@Table(name = "families")
+@Table(name = "families", indexes = {
+        @Index(name = "idx_families_name", columnList = "name, id")
+})
 @Entity
 public class Family extends BaseEntity {
 
     private String name;
     private String avatarUrl;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private User husband;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private User wife;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     private List<Long> childIds;
 
     private FamilyStatus status;
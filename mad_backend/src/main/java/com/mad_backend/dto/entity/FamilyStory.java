@@ -1,6 +1,7 @@
 package com.mad_backend.dto.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -10,7 +11,9 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "family_stories")
+@Table(name = "family_stories", indexes = {
+        @Index(name = "idx_family_stories_created_at", columnList = "created_at, id")
+})
 @Getter
 @Setter
 public class FamilyStory extends BaseEntity {
@@ -12,11 +12,15 @@ import java.util.List;
 @Entity
 @Table(name = "family_trees")
 public class FamilyTree extends BaseEntity {
-    @OneToMany(mappedBy = "familyTree", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "familyTree")
     private List<FamilyTreeFamily> familyTreeFamilies;
 
     private String name;
     private Integer age;
     private Integer generationNumbers;
     private String avatarUrl;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
 }
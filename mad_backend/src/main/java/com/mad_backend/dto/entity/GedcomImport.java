@@ -0,0 +1,30 @@
+package com.mad_backend.dto.entity;
+
+import com.mad_backend.enums.GedcomImportStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "gedcom_imports")
+public class GedcomImport extends BaseEntity {
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    private GedcomImportStatus status;
+
+    private long totalBytes;
+    private long processedBytes;
+    private long individuals;
+    private long families;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.mad_backend.dto.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Staging row recording a family written by a GEDCOM import, so a failed import can remove exactly
+ * the families it created. Rows are removed when the import finishes.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "gedcom_import_family")
+public class GedcomImportFamily {
+    @EmbeddedId
+    private GedcomImportFamilyId id;
+}
@@ -0,0 +1,24 @@
+package com.mad_backend.dto.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Staging row mapping a GEDCOM individual cross-reference (e.g. {@code @I12@}) to the user created for
+ * it, so family records can be resolved without keeping the whole mapping in memory. Rows are removed
+ * when the import finishes.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "gedcom_import_xref")
+public class GedcomImportXref {
+    @EmbeddedId
+    private GedcomImportXrefId id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String surname;
+}
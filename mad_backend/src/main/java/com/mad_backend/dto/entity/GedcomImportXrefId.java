@@ -0,0 +1,21 @@
+package com.mad_backend.dto.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GedcomImportXrefId implements Serializable {
+    @Column(name = "import_id")
+    private Long importId;
+
+    @Column(length = 64)
+    private String xref;
+}
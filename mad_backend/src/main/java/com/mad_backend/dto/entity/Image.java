@@ -9,7 +9,9 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "images")
+@Table(name = "images", indexes = {
+        @Index(name = "idx_images_family_created_at", columnList = "family_id, is_deleted, created_at, id")
+})
 public class Image extends BaseEntity {
     private String url;
 
@@ -16,14 +16,15 @@ public class User extends BaseEntity {
     private String username;
     private String password;
     private String email;
+    private Long securityEpoch;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     @CollectionTable(name = "user_role", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role_name")
     @Enumerated(EnumType.STRING)
     private List<Role> roles;
 
-    @ManyToMany(mappedBy = "users", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "users")
     private List<Family> families;
 
     @OneToOne(mappedBy = "user")
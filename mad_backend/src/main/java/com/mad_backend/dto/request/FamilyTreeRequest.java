@@ -14,5 +14,6 @@ public class FamilyTreeRequest {
     private Integer age;
     private String avatarUrl;
     private Integer generationNumbers;
+    private Long version;
     private List<FamilyTreeFamilyRequest> family;
 }
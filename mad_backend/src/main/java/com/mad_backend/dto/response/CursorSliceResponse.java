@@ -0,0 +1,17 @@
+package com.mad_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorSliceResponse<T> {
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.dto.entity.Event;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+public class EventResponse {
+    private Long id;
+    private String description;
+    private String eventType;
+    private String location;
+    private LocalDateTime date;
+    private List<Long> peopleIds;
+
+    public static EventResponse fromEntity(Event entity) {
+        EventResponse response = new EventResponse();
+        response.setId(entity.getId());
+        response.setDescription(entity.getDescription());
+        response.setEventType(entity.getEventType());
+        response.setLocation(entity.getLocation());
+        response.setDate(entity.getDate());
+        response.setPeopleIds(entity.getPeopleIds());
+        return response;
+    }
+}
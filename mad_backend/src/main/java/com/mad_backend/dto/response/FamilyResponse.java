@@ -1,9 +1,7 @@
 package com.mad_backend.dto.response;
 
-import com.mad_backend.dto.entity.Event;
 import com.mad_backend.dto.entity.Family;
 import com.mad_backend.dto.entity.FamilyTreeFamily;
-import com.mad_backend.dto.entity.User;
 import com.mad_backend.enums.FamilyStatus;
 import lombok.Getter;
 import lombok.Setter;
@@ -20,7 +18,7 @@ public class FamilyResponse {
     private UserResponse husband;
     private UserResponse wife;
     private List<Long> childIds;
-    private List<Event> events;
+    private List<EventResponse> events;
     private List<Long> familyTreeId;
     private FamilyStatus familyStatus;
 
@@ -32,7 +30,11 @@ public class FamilyResponse {
         response.setHusband(UserResponse.fromEntity(entity.getHusband()));
         response.setWife(UserResponse.fromEntity(entity.getWife()));
         response.setChildIds(entity.getChildIds());
-        response.setEvents(entity.getEvents());
+        if (entity.getEvents() != null) {
+            response.setEvents(entity.getEvents().stream()
+                    .map(EventResponse::fromEntity)
+                    .collect(Collectors.toList()));
+        }
         response.setFamilyStatus(entity.getStatus());
 
         if(entity.getFamilyTreeFamilies() != null) {
@@ -0,0 +1,29 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.search.FamilyStorySearchIndex;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FamilyStorySearchHitResponse {
+    private Long storyId;
+    private Long userId;
+    private String userName;
+    private String title;
+    private String highlightedTitle;
+    private String snippet;
+    private Double score;
+
+    public static FamilyStorySearchHitResponse fromHit(FamilyStorySearchIndex.Hit hit) {
+        FamilyStorySearchHitResponse response = new FamilyStorySearchHitResponse();
+        response.setStoryId(hit.story().storyId());
+        response.setUserId(hit.story().userId());
+        response.setUserName(hit.story().username());
+        response.setTitle(hit.story().title());
+        response.setHighlightedTitle(hit.highlightedTitle());
+        response.setSnippet(hit.snippet());
+        response.setScore(hit.score());
+        return response;
+    }
+}
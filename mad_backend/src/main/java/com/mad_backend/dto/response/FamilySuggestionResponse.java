@@ -0,0 +1,27 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.index.FamilySuggestionIndex;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FamilySuggestionResponse {
+    private Long familyId;
+    private String familyName;
+    private Integer score;
+    private Boolean surnameMatch;
+    private Integer sharedMembers;
+    private Integer distance;
+
+    public static FamilySuggestionResponse fromSuggestion(FamilySuggestionIndex.Suggestion suggestion, String familyName) {
+        FamilySuggestionResponse response = new FamilySuggestionResponse();
+        response.setFamilyId(suggestion.familyId());
+        response.setFamilyName(familyName);
+        response.setScore(suggestion.score());
+        response.setSurnameMatch(suggestion.surnameMatch());
+        response.setSharedMembers(suggestion.sharedMembers());
+        response.setDistance(suggestion.sharedMembers() > 0 ? suggestion.distance() : null);
+        return response;
+    }
+}
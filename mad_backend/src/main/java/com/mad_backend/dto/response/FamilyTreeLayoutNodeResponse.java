@@ -0,0 +1,29 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.layout.FamilyTreeLayout;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class FamilyTreeLayoutNodeResponse {
+    private Long familyId;
+    private Long husbandId;
+    private Long wifeId;
+    private Integer generation;
+    private Double x;
+    private List<Long> parentFamilyIds;
+
+    public static FamilyTreeLayoutNodeResponse fromNode(FamilyTreeLayout.Node node) {
+        FamilyTreeLayoutNodeResponse dto = new FamilyTreeLayoutNodeResponse();
+        dto.setFamilyId(node.familyId());
+        dto.setHusbandId(node.husbandId());
+        dto.setWifeId(node.wifeId());
+        dto.setGeneration(node.generation());
+        dto.setX(node.x());
+        dto.setParentFamilyIds(node.parentFamilyIds());
+        return dto;
+    }
+}
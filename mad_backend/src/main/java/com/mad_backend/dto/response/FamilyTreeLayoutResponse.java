@@ -0,0 +1,34 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.layout.FamilyTreeLayout;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+public class FamilyTreeLayoutResponse {
+    private Long familyTreeId;
+    private Long version;
+    private Integer totalNodes;
+    private Double width;
+    private Integer minGeneration;
+    private Integer maxGeneration;
+    private List<FamilyTreeLayoutNodeResponse> nodes;
+
+    public static FamilyTreeLayoutResponse fromLayout(FamilyTreeLayout layout, List<FamilyTreeLayout.Node> visibleNodes) {
+        FamilyTreeLayoutResponse response = new FamilyTreeLayoutResponse();
+        response.setFamilyTreeId(layout.getFamilyTreeId());
+        response.setVersion(layout.getVersion());
+        response.setTotalNodes(layout.getNodeCount());
+        response.setWidth(layout.getWidth());
+        response.setMinGeneration(layout.getMinGeneration());
+        response.setMaxGeneration(layout.getMaxGeneration());
+        response.setNodes(visibleNodes.stream()
+                .map(FamilyTreeLayoutNodeResponse::fromNode)
+                .collect(Collectors.toList()));
+        return response;
+    }
+}
@@ -16,6 +16,7 @@ public class FamilyTreeResponse {
     private Integer age;
     private String avatarUrl;
     private Integer generationNumbers;
+    private Long version;
 
     public static FamilyTreeResponse fromEntity(FamilyTree entity) {
         FamilyTreeResponse response = new FamilyTreeResponse();
@@ -31,6 +32,7 @@ public class FamilyTreeResponse {
         response.setAge(entity.getAge());
         response.setGenerationNumbers(entity.getGenerationNumbers());
         response.setAvatarUrl(entity.getAvatarUrl());
+        response.setVersion(entity.getVersion());
         return response;
     }
 }
@@ -0,0 +1,48 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.dto.entity.GedcomImport;
+import com.mad_backend.enums.GedcomImportStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class GedcomImportResponse {
+    private Long id;
+    private String fileName;
+    private GedcomImportStatus status;
+    private Integer progressPercent;
+    private Long individuals;
+    private Long families;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public static GedcomImportResponse fromEntity(GedcomImport entity) {
+        GedcomImportResponse response = new GedcomImportResponse();
+        response.setId(entity.getId());
+        response.setFileName(entity.getFileName());
+        response.setStatus(entity.getStatus());
+        response.setProgressPercent(progressOf(entity));
+        response.setIndividuals(entity.getIndividuals());
+        response.setFamilies(entity.getFamilies());
+        response.setStartedAt(entity.getStartedAt());
+        response.setFinishedAt(entity.getFinishedAt());
+        response.setError(entity.getError());
+        return response;
+    }
+
+    // The file is read twice (individuals, then families), each pass is half of the progress.
+    private static Integer progressOf(GedcomImport entity) {
+        if (entity.getStatus() == GedcomImportStatus.COMPLETED) {
+            return 100;
+        }
+        if (entity.getTotalBytes() <= 0) {
+            return 0;
+        }
+        int pass = (int) Math.min(50, entity.getProcessedBytes() * 50 / entity.getTotalBytes());
+        return entity.getStatus() == GedcomImportStatus.IMPORTING_FAMILIES ? 50 + pass : pass;
+    }
+}
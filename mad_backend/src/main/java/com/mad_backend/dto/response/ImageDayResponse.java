@@ -0,0 +1,16 @@
+package com.mad_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ImageDayResponse {
+    private String date;
+    private Long imageCount;
+    private List<ImageResponse> images;
+}
@@ -0,0 +1,21 @@
+package com.mad_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class KinshipResponse {
+    private Long fromUserId;
+    private Long toUserId;
+    private String label;
+    private Integer generationsUp;
+    private Integer generationsDown;
+    private Boolean halfRelation;
+    private Boolean inLaw;
+    private List<Long> path;
+}
@@ -0,0 +1,13 @@
+package com.mad_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class LineageResponse {
+    private Long userId;
+    private Integer depth;
+}
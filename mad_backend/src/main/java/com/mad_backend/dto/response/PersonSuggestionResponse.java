@@ -0,0 +1,27 @@
+package com.mad_backend.dto.response;
+
+import com.mad_backend.search.PeopleAutocompleteIndex;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PersonSuggestionResponse {
+    private Long userId;
+    private Long profileId;
+    private String username;
+    private String fullName;
+    private String avatarUrl;
+    private Integer score;
+
+    public static PersonSuggestionResponse fromSuggestion(PeopleAutocompleteIndex.Suggestion suggestion) {
+        PersonSuggestionResponse response = new PersonSuggestionResponse();
+        response.setUserId(suggestion.person().userId());
+        response.setProfileId(suggestion.person().profileId());
+        response.setUsername(suggestion.person().username());
+        response.setFullName(suggestion.person().fullName());
+        response.setAvatarUrl(suggestion.person().avatarUrl());
+        response.setScore(suggestion.score());
+        return response;
+    }
+}
@@ -56,6 +56,16 @@ public class ProfileResponse {
         this.age = calculateAge(user.getProfile().getBirthDate(), user.getProfile().getDeathDate());
     }
 
+    public ProfileResponse(Long id, Long userId, String lastName, String firstName, String gender, String avatarUrl,
+                           LocalDate birthDate, LocalDate deathDate) {
+        this.id = id;
+        this.userId = userId;
+        this.fullName = lastName + " " + firstName;
+        this.gender = gender;
+        this.avatarUrl = avatarUrl;
+        this.age = calculateAge(birthDate, deathDate);
+    }
+
     private Integer calculateAge(LocalDate birthDate, LocalDate deathDate) {
         if (birthDate == null) {
             return null;
@@ -0,0 +1,17 @@
+package com.mad_backend.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailOutboxStatus {
+    PENDING("PENDING"),
+    SENDING("SENDING"),
+    SENT("SENT"),
+    DEAD("DEAD");
+
+    private final String name;
+
+    EmailOutboxStatus(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mad_backend.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum GedcomImportStatus {
+    PENDING("PENDING"),
+    IMPORTING_INDIVIDUALS("IMPORTING_INDIVIDUALS"),
+    IMPORTING_FAMILIES("IMPORTING_FAMILIES"),
+    COMPLETED("COMPLETED"),
+    FAILED("FAILED");
+
+    private final String name;
+
+    GedcomImportStatus(String name) {
+        this.name = name;
+    }
+}
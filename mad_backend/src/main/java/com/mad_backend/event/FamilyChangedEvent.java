@@ -0,0 +1,10 @@
+package com.mad_backend.event;
+
+import java.util.List;
+
+/**
+ * Published whenever a family's members change. {@code deleted} is set when the family is removed,
+ * in which case the member fields describe the family as it was before deletion.
+ */
+public record FamilyChangedEvent(Long familyId, Long husbandId, Long wifeId, List<Long> childIds, boolean deleted) {
+}
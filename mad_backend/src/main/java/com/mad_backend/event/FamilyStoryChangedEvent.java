@@ -0,0 +1,9 @@
+package com.mad_backend.event;
+
+/**
+ * Published when a family story is created, updated or deleted. {@code deleted} is set when the story
+ * is removed, in which case only {@code storyId} is meaningful.
+ */
+public record FamilyStoryChangedEvent(Long storyId, Long userId, String username, String title, String content,
+                                      boolean deleted) {
+}
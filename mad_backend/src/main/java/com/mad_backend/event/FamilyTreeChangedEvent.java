@@ -0,0 +1,7 @@
+package com.mad_backend.event;
+
+/**
+ * Published when a family tree's own fields or its list of families change, or when it is deleted.
+ */
+public record FamilyTreeChangedEvent(Long familyTreeId) {
+}
@@ -0,0 +1,10 @@
+package com.mad_backend.event;
+
+/**
+ * Published when a user or their profile is saved or deleted. {@code deleted} is set when the user is
+ * removed, in which case only {@code userId} is meaningful. Profile fields are null for users that
+ * have no profile yet.
+ */
+public record PersonChangedEvent(Long userId, Long profileId, String username, String firstName, String lastName,
+                                 String avatarUrl, boolean deleted) {
+}
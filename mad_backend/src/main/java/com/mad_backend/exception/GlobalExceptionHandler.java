@@ -1,11 +1,13 @@
 package com.mad_backend.exception;
 
 import com.mad_backend.dto.response.CommonResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -34,6 +36,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new CommonResponse<>(400, ex.getMessage(), null), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<CommonResponse<?>> handleConflict(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(new CommonResponse<>(409, ex.getMessage(), null), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<CommonResponse<?>> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        return new ResponseEntity<>(new CommonResponse<>(503, ex.getMessage(), null), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<CommonResponse<?>> handlePayloadTooLarge(MaxUploadSizeExceededException ex) {
+        return new ResponseEntity<>(new CommonResponse<>(413, ex.getMessage(), null), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<CommonResponse<?>> handleAllOtherExceptions(Exception ex) {
         ex.printStackTrace();
@@ -0,0 +1,7 @@
+package com.mad_backend.exception;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,288 @@
+package com.mad_backend.gedcom;
+
+import com.mad_backend.enums.FamilyStatus;
+import com.mad_backend.enums.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Writes chunks of GEDCOM INDI and FAM records with JDBC batches. Entities use IDENTITY keys, which
+ * stop Hibernate from batching inserts, so rows go straight through JDBC and the generated keys are
+ * read back once per batch. Individual cross-references are staged in {@code gedcom_import_xref} so
+ * families can be resolved with one lookup per chunk. Created families are staged in
+ * {@code gedcom_import_family}, so a failed import can be discarded with {@link #discard(long)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class GedcomBatchWriter {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, security_epoch, code, created_at, updated_at, is_deleted) " +
+            "VALUES (?, 0, ?, ?, ?, false)";
+    private static final String INSERT_ROLE = "INSERT INTO user_role (user_id, role_name) VALUES (?, ?)";
+    private static final String INSERT_PROFILE =
+            "INSERT INTO profiles (user_id, last_name, first_name, gender, birth_date, death_date, biography, address, " +
+            "avatar_url, is_profile_setting, code, created_at, updated_at, is_deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, ?, false)";
+    private static final String INSERT_XREF =
+            "INSERT INTO gedcom_import_xref (import_id, xref, user_id, surname) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_XREFS =
+            "SELECT xref, user_id, surname FROM gedcom_import_xref WHERE import_id = :importId AND xref IN (:xrefs)";
+    private static final String INSERT_FAMILY =
+            "INSERT INTO families (name, husband_id, wife_id, status, code, created_at, updated_at, is_deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, false)";
+    private static final String INSERT_CHILD = "INSERT INTO family_child_ids (family_id, child_ids) VALUES (?, ?)";
+    private static final String INSERT_MEMBER = "INSERT INTO user_family (family_id, user_id) VALUES (?, ?)";
+    private static final String INSERT_STAGED_FAMILY =
+            "INSERT INTO gedcom_import_family (import_id, family_id) VALUES (?, ?)";
+
+    private static final String STAGED_FAMILIES = "SELECT family_id FROM gedcom_import_family WHERE import_id = ?";
+    private static final String STAGED_USERS = "SELECT user_id FROM gedcom_import_xref WHERE import_id = ?";
+    private static final List<String> DISCARD = List.of(
+            "DELETE FROM user_family WHERE family_id IN (" + STAGED_FAMILIES + ")",
+            "DELETE FROM family_child_ids WHERE family_id IN (" + STAGED_FAMILIES + ")",
+            "DELETE FROM families WHERE id IN (" + STAGED_FAMILIES + ")",
+            "DELETE FROM user_family WHERE user_id IN (" + STAGED_USERS + ")",
+            "DELETE FROM profiles WHERE user_id IN (" + STAGED_USERS + ")",
+            "DELETE FROM user_role WHERE user_id IN (" + STAGED_USERS + ")",
+            "DELETE FROM users WHERE id IN (" + STAGED_USERS + ")");
+
+    private record Individual(String xref, String lastName, String firstName, String gender, LocalDate birthDate,
+                              LocalDate deathDate, String biography, String address, String avatarUrl) {
+    }
+
+    private record StagedUser(long userId, String surname) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public int writeIndividuals(long importId, List<GedcomRecord> records) {
+        List<Individual> individuals = records.stream()
+                .filter(record -> record.xref() != null)
+                .map(this::toIndividual)
+                .toList();
+        if (individuals.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] userIds = insertReturningKeys(INSERT_USER, individuals, (statement, individual) -> {
+            statement.setString(1, usernameOf(individual));
+            statement.setBytes(2, newCode());
+            statement.setTimestamp(3, now);
+            statement.setTimestamp(4, now);
+        });
+
+        List<Object[]> roles = new ArrayList<>(individuals.size());
+        List<Object[]> profiles = new ArrayList<>(individuals.size());
+        List<Object[]> xrefs = new ArrayList<>(individuals.size());
+        for (int i = 0; i < individuals.size(); i++) {
+            Individual individual = individuals.get(i);
+            long userId = userIds[i];
+            roles.add(new Object[]{userId, Role.USER.name()});
+            profiles.add(new Object[]{userId, individual.lastName(), individual.firstName(), individual.gender(),
+                    toSqlDate(individual.birthDate()), toSqlDate(individual.deathDate()), individual.biography(),
+                    individual.address(), individual.avatarUrl(), newCode(), now, now});
+            xrefs.add(new Object[]{importId, individual.xref(), userId, individual.lastName()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROLE, roles);
+        jdbcTemplate.batchUpdate(INSERT_PROFILE, profiles);
+        jdbcTemplate.batchUpdate(INSERT_XREF, xrefs);
+        return individuals.size();
+    }
+
+    public int writeFamilies(long importId, List<GedcomRecord> records) {
+        Map<String, StagedUser> staged = resolveXrefs(importId, records);
+        List<GedcomRecord> families = records.stream()
+                .filter(record -> record.first("HUSB") != null || record.first("WIFE") != null || !record.all("CHIL").isEmpty())
+                .toList();
+        if (families.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] familyIds = insertReturningKeys(INSERT_FAMILY, families, (statement, family) -> {
+            StagedUser husband = staged.get(family.first("HUSB"));
+            StagedUser wife = staged.get(family.first("WIFE"));
+            StagedUser namedAfter = husband != null ? husband : wife;
+            statement.setString(1, namedAfter != null && namedAfter.surname() != null
+                    ? namedAfter.surname() + " family" : family.xref());
+            setNullableLong(statement, 2, husband != null ? husband.userId() : null);
+            setNullableLong(statement, 3, wife != null ? wife.userId() : null);
+            statement.setInt(4, FamilyStatus.PENDING.ordinal());
+            statement.setBytes(5, newCode());
+            statement.setTimestamp(6, now);
+            statement.setTimestamp(7, now);
+        });
+
+        List<Object[]> children = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        List<Object[]> stagedFamilies = new ArrayList<>(families.size());
+        for (int i = 0; i < families.size(); i++) {
+            GedcomRecord family = families.get(i);
+            long familyId = familyIds[i];
+            stagedFamilies.add(new Object[]{importId, familyId});
+            Set<Long> memberIds = new LinkedHashSet<>();
+            for (String role : List.of("HUSB", "WIFE")) {
+                StagedUser spouse = staged.get(family.first(role));
+                if (spouse != null) {
+                    memberIds.add(spouse.userId());
+                }
+            }
+            for (String childXref : family.all("CHIL")) {
+                StagedUser child = staged.get(childXref);
+                if (child != null) {
+                    children.add(new Object[]{familyId, child.userId()});
+                    memberIds.add(child.userId());
+                }
+            }
+            memberIds.forEach(userId -> members.add(new Object[]{familyId, userId}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_CHILD, children);
+        jdbcTemplate.batchUpdate(INSERT_MEMBER, members);
+        jdbcTemplate.batchUpdate(INSERT_STAGED_FAMILY, stagedFamilies);
+        return families.size();
+    }
+
+    /**
+     * Deletes every user, profile and family the import has committed so far. Chunks commit on their
+     * own, so this is how a failed import is rolled back; it must run before {@link #clearStaging(long)}.
+     */
+    public void discard(long importId) {
+        for (String statement : DISCARD) {
+            jdbcTemplate.update(statement, importId);
+        }
+    }
+
+    public void clearStaging(long importId) {
+        jdbcTemplate.update("DELETE FROM gedcom_import_xref WHERE import_id = ?", importId);
+        jdbcTemplate.update("DELETE FROM gedcom_import_family WHERE import_id = ?", importId);
+    }
+
+    private Map<String, StagedUser> resolveXrefs(long importId, List<GedcomRecord> records) {
+        Set<String> xrefs = new HashSet<>();
+        for (GedcomRecord record : records) {
+            Optional.ofNullable(record.first("HUSB")).ifPresent(xrefs::add);
+            Optional.ofNullable(record.first("WIFE")).ifPresent(xrefs::add);
+            xrefs.addAll(record.all("CHIL"));
+        }
+        Map<String, StagedUser> staged = new HashMap<>();
+        if (xrefs.isEmpty()) {
+            return staged;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("importId", importId)
+                .addValue("xrefs", xrefs);
+        namedParameterJdbcTemplate.query(SELECT_XREFS, parameters, rs -> {
+            staged.put(rs.getString(1), new StagedUser(rs.getLong(2), rs.getString(3)));
+        });
+        return staged;
+    }
+
+    private Individual toIndividual(GedcomRecord record) {
+        String name = record.first("NAME");
+        String lastName = record.nested("NAME", "SURN");
+        String firstName = record.nested("NAME", "GIVN");
+        if (name != null) {
+            int slash = name.indexOf('/');
+            int closing = slash >= 0 ? name.indexOf('/', slash + 1) : -1;
+            if (lastName == null && closing > slash) {
+                lastName = name.substring(slash + 1, closing).trim();
+            }
+            if (firstName == null) {
+                firstName = (slash >= 0 ? name.substring(0, slash) : name).trim();
+            }
+        }
+
+        String note = record.first("NOTE");
+        String address = record.nested("RESI", "ADDR");
+        return new Individual(record.xref(), emptyToNull(lastName), emptyToNull(firstName), genderOf(record.first("SEX")),
+                GedcomDates.parse(record.nested("BIRT", "DATE")),
+                GedcomDates.parse(record.nested("DEAT", "DATE")),
+                note != null && !note.startsWith("@") ? emptyToNull(note) : null,
+                address != null ? address : emptyToNull(record.first("ADDR")),
+                record.nested("OBJE", "FILE"));
+    }
+
+    private String genderOf(String sex) {
+        if ("M".equals(sex)) {
+            return "male";
+        }
+        if ("F".equals(sex)) {
+            return "female";
+        }
+        return null;
+    }
+
+    private String usernameOf(Individual individual) {
+        String name = Objects.toString(individual.lastName(), "") + Objects.toString(individual.firstName(), "");
+        return Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+                .replaceAll("[đĐ]", "d")
+                .toLowerCase()
+                .replaceAll("\\s+", "");
+    }
+
+    private String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static java.sql.Date toSqlDate(LocalDate date) {
+        return date != null ? java.sql.Date.valueOf(date) : null;
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static byte[] newCode() {
+        UUID uuid = UUID.randomUUID();
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+
+    private <T> long[] insertReturningKeys(String sql, List<T> rows, RowBinder<T> binder) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T row : rows) {
+                    binder.bind(statement, row);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                long[] keys = new long[rows.size()];
+                try (ResultSet generated = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < keys.length; i++) {
+                        if (!generated.next()) {
+                            throw new SQLException("Expected " + keys.length + " generated keys, got " + i);
+                        }
+                        keys[i] = generated.getLong(1);
+                    }
+                }
+                return keys;
+            }
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.mad_backend.gedcom;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Converts between GEDCOM date values ({@code 12 MAR 1950}, {@code ABT 1950}, {@code BET 1940 AND 1945})
+ * and {@link LocalDate}. Approximate and ranged dates resolve to their first date; missing day or month
+ * defaults to the first.
+ */
+public final class GedcomDates {
+
+    private static final List<String> MONTHS = List.of(
+            "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC");
+    private static final Set<String> MODIFIERS = Set.of("ABT", "CAL", "EST", "BEF", "AFT", "BET", "FROM", "TO", "INT");
+
+    private GedcomDates() {
+    }
+
+    public static LocalDate parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Integer day = null;
+        Integer month = null;
+        Integer year = null;
+        for (String token : value.trim().toUpperCase(Locale.ROOT).split("\\s+")) {
+            if (MODIFIERS.contains(token)) {
+                continue;
+            }
+            if (token.equals("AND") || token.startsWith("(")) {
+                break;
+            }
+            int monthIndex = MONTHS.indexOf(token);
+            if (monthIndex >= 0) {
+                month = monthIndex + 1;
+                continue;
+            }
+            Integer number = parseNumber(token);
+            if (number == null) {
+                continue;
+            }
+            if (month == null && day == null && number <= 31 && !token.contains("/")) {
+                day = number;
+            } else {
+                year = number;
+                break;
+            }
+        }
+        if (year == null && day != null && month == null) {
+            year = day;
+            day = null;
+        }
+        if (year == null) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month != null ? month : 1, day != null && month != null ? day : 1);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static String format(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        return date.getDayOfMonth() + " " + MONTHS.get(date.getMonthValue() - 1) + " " + date.getYear();
+    }
+
+    // Dual years such as 1750/51 keep the first year.
+    private static Integer parseNumber(String token) {
+        int slash = token.indexOf('/');
+        String digits = slash > 0 ? token.substring(0, slash) : token;
+        if (digits.isEmpty() || digits.length() > 4 || !digits.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Integer.parseInt(digits);
+    }
+}
@@ -0,0 +1,220 @@
+package com.mad_backend.gedcom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams a family tree as GEDCOM. People and families are each read with one forward-only query whose
+ * rows arrive in fetch-size chunks (MySQL needs {@code useCursorFetch=true} for that, so on MySQL the
+ * exporter opens its own connections with the flag set and the shared pool keeps its defaults); rows
+ * are grouped by person or family as they arrive and the output is flushed after every chunk, so heap
+ * use does not depend on the size of the tree.
+ */
+@Component
+public class GedcomExporter {
+
+    private static final String TREE_NAME = "SELECT name FROM family_trees WHERE id = ?";
+
+    // A family listed twice in the tree yields duplicate rows; they sort next to each other and are skipped.
+    private static final String TREE_FAMILIES =
+            "FROM family_tree_family ftf JOIN families f ON f.id = ftf.family_id AND f.is_deleted = false ";
+
+    private static final String IN_TREE = "WHERE ftf.family_tree_id = ? AND ftf.is_deleted = false ";
+
+    private static final String PERSON_LINKS =
+            "SELECT l.person_id, l.link, l.family_id, p.first_name, p.last_name, p.gender, p.birth_date, p.death_date, " +
+            "p.address, p.biography, p.avatar_url " +
+            "FROM (" +
+            "SELECT f.husband_id AS person_id, 'FAMS' AS link, f.id AS family_id " + TREE_FAMILIES + IN_TREE +
+            "AND f.husband_id IS NOT NULL " +
+            "UNION ALL SELECT f.wife_id, 'FAMS', f.id " + TREE_FAMILIES + IN_TREE + "AND f.wife_id IS NOT NULL " +
+            "UNION ALL SELECT c.child_ids, 'FAMC', f.id " + TREE_FAMILIES +
+            "JOIN family_child_ids c ON c.family_id = f.id " + IN_TREE +
+            ") l " +
+            "JOIN users u ON u.id = l.person_id AND u.is_deleted = false " +
+            "LEFT JOIN profiles p ON p.user_id = u.id " +
+            "ORDER BY l.person_id, l.link, l.family_id";
+
+    private static final String FAMILY_MEMBERS =
+            "SELECT f.id, hu.id, wu.id, cu.id " + TREE_FAMILIES +
+            "LEFT JOIN users hu ON hu.id = f.husband_id AND hu.is_deleted = false " +
+            "LEFT JOIN users wu ON wu.id = f.wife_id AND wu.is_deleted = false " +
+            "LEFT JOIN family_child_ids c ON c.family_id = f.id " +
+            "LEFT JOIN users cu ON cu.id = c.child_ids AND cu.is_deleted = false " +
+            IN_TREE +
+            "ORDER BY f.id, cu.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    @Autowired
+    public GedcomExporter(DataSource dataSource, DataSourceProperties dataSourceProperties,
+                          @Value("${app.gedcom.export-fetch-size:1000}") int fetchSize) {
+        this(exportDataSource(dataSource, dataSourceProperties), fetchSize);
+    }
+
+    public GedcomExporter(DataSource dataSource, int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.fetchSize = fetchSize;
+    }
+
+    private static DataSource exportDataSource(DataSource dataSource, DataSourceProperties properties) {
+        String url = properties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:mysql:")) {
+            return dataSource;
+        }
+        return properties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .url(url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true")
+                .build();
+    }
+
+    public void export(long familyTreeId, OutputStream out) throws IOException {
+        GedcomWriter writer = new GedcomWriter(out);
+        String treeName = jdbcTemplate.query(TREE_NAME, rs -> rs.next() ? rs.getString(1) : null, familyTreeId);
+        writer.header("MAD_FAMILY_TREE", treeName);
+        try {
+            jdbcTemplate.query(PERSON_LINKS, new IndividualHandler(writer),
+                    familyTreeId, familyTreeId, familyTreeId);
+            jdbcTemplate.query(FAMILY_MEMBERS, new FamilyHandler(writer), familyTreeId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.trailer();
+        writer.flush();
+    }
+
+    /**
+     * Rows are ordered by person, so an INDI record is complete once the person id changes.
+     */
+    private final class IndividualHandler implements RowCallbackHandler {
+        private final GedcomWriter writer;
+        private long currentPerson = -1;
+        private String lastLink;
+        private int rows;
+
+        IndividualHandler(GedcomWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long personId = rs.getLong(1);
+                if (personId != currentPerson) {
+                    currentPerson = personId;
+                    lastLink = null;
+                    writeIndividual(rs, personId);
+                }
+                String link = rs.getString(2) + " @F" + rs.getLong(3) + "@";
+                if (!link.equals(lastLink)) {
+                    lastLink = link;
+                    writer.line(1, rs.getString(2), "@F" + rs.getLong(3) + "@");
+                }
+                if (++rows % fetchSize == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeIndividual(ResultSet rs, long personId) throws SQLException, IOException {
+            writer.record("@I" + personId + "@", "INDI");
+            String firstName = rs.getString(4);
+            String lastName = rs.getString(5);
+            if (firstName != null || lastName != null) {
+                String given = firstName != null ? firstName.replace("@", "@@").replace("/", "") : "";
+                String surname = lastName != null ? lastName.replace("@", "@@").replace("/", "") : "";
+                writer.line(1, "NAME", (given + " /" + surname + "/").trim());
+                writer.value(2, "GIVN", firstName);
+                writer.value(2, "SURN", lastName);
+            }
+            String gender = rs.getString(6);
+            if ("male".equalsIgnoreCase(gender)) {
+                writer.line(1, "SEX", "M");
+            } else if ("female".equalsIgnoreCase(gender)) {
+                writer.line(1, "SEX", "F");
+            }
+            writeEvent("BIRT", rs.getDate(7));
+            writeEvent("DEAT", rs.getDate(8));
+            String address = rs.getString(9);
+            if (address != null && !address.isBlank()) {
+                writer.line(1, "RESI", null);
+                writer.value(2, "ADDR", address);
+            }
+            writer.value(1, "NOTE", rs.getString(10));
+            String avatarUrl = rs.getString(11);
+            if (avatarUrl != null && !avatarUrl.isBlank()) {
+                writer.line(1, "OBJE", null);
+                writer.value(2, "FILE", avatarUrl);
+            }
+        }
+
+        private void writeEvent(String tag, Date date) throws IOException {
+            if (date != null) {
+                writer.line(1, tag, null);
+                writer.line(2, "DATE", GedcomDates.format(date.toLocalDate()));
+            }
+        }
+    }
+
+    /**
+     * Rows are ordered by family and carry one child each (or none), so HUSB and WIFE are written with
+     * the first row of a family and CHIL with every row.
+     */
+    private final class FamilyHandler implements RowCallbackHandler {
+        private final GedcomWriter writer;
+        private long currentFamily = -1;
+        private Long lastChild;
+        private int rows;
+
+        FamilyHandler(GedcomWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long familyId = rs.getLong(1);
+                if (familyId != currentFamily) {
+                    currentFamily = familyId;
+                    writer.record("@F" + familyId + "@", "FAM");
+                    writePointer("HUSB", rs.getObject(2, Long.class));
+                    writePointer("WIFE", rs.getObject(3, Long.class));
+                    lastChild = null;
+                }
+                Long childId = rs.getObject(4, Long.class);
+                if (childId != null && !childId.equals(lastChild)) {
+                    lastChild = childId;
+                    writePointer("CHIL", childId);
+                }
+                if (++rows % fetchSize == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writePointer(String tag, Long userId) throws IOException {
+            if (userId != null) {
+                writer.line(1, tag, "@I" + userId + "@");
+            }
+        }
+    }
+}
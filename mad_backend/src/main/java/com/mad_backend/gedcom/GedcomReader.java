@@ -0,0 +1,99 @@
+package com.mad_backend.gedcom;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull parser for GEDCOM 5.5.1 lines ({@code level [@xref@] tag [value]}). Only one record is held at a
+ * time, so memory stays constant however large the file is.
+ */
+public class GedcomReader implements Closeable {
+
+    private final BufferedReader reader;
+    private String[] pending;
+
+    public GedcomReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+    }
+
+    /**
+     * Returns the next level-0 record, or {@code null} at the end of the file.
+     */
+    public GedcomRecord next() throws IOException {
+        String[] head = pending != null ? pending : readLine();
+        pending = null;
+        while (head != null && !"0".equals(head[0])) {
+            head = readLine();
+        }
+        if (head == null) {
+            return null;
+        }
+
+        List<GedcomRecord.Line> lines = new ArrayList<>();
+        String headValue = head[3];
+        String[] line;
+        while ((line = readLine()) != null && !"0".equals(line[0])) {
+            boolean cont = line[2].equals("CONT");
+            if (cont || line[2].equals("CONC")) {
+                String continuation = (cont ? "\n" : "") + line[3];
+                if (lines.isEmpty()) {
+                    headValue += continuation;
+                } else {
+                    GedcomRecord.Line last = lines.get(lines.size() - 1);
+                    lines.set(lines.size() - 1, new GedcomRecord.Line(last.level(), last.tag(), last.value() + continuation));
+                }
+                continue;
+            }
+            lines.add(new GedcomRecord.Line(Integer.parseInt(line[0]), line[2], line[3]));
+        }
+        pending = line;
+
+        return new GedcomRecord(head[1], head[2], headValue, lines);
+    }
+
+    // Splits a line into {level, xref, tag, value}; blank lines are skipped.
+    private String[] readLine() throws IOException {
+        String raw;
+        do {
+            raw = reader.readLine();
+            if (raw == null) {
+                return null;
+            }
+            if (!raw.isEmpty() && raw.charAt(0) == '\uFEFF') {
+                raw = raw.substring(1);
+            }
+            raw = raw.stripLeading();
+        } while (raw.isBlank());
+
+        int levelEnd = raw.indexOf(' ');
+        if (levelEnd < 0) {
+            throw new IOException("Malformed GEDCOM line: " + raw);
+        }
+        String level = raw.substring(0, levelEnd);
+        String rest = raw.substring(levelEnd + 1).stripLeading();
+
+        String xref = null;
+        if (rest.startsWith("@")) {
+            int xrefEnd = rest.indexOf('@', 1);
+            if (xrefEnd < 0) {
+                throw new IOException("Malformed GEDCOM line: " + raw);
+            }
+            xref = rest.substring(0, xrefEnd + 1);
+            rest = rest.substring(xrefEnd + 1).stripLeading();
+        }
+
+        int tagEnd = rest.indexOf(' ');
+        String tag = tagEnd < 0 ? rest : rest.substring(0, tagEnd);
+        String value = tagEnd < 0 ? "" : rest.substring(tagEnd + 1);
+        return new String[]{level, xref, tag, value};
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
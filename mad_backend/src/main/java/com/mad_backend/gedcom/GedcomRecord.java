@@ -0,0 +1,51 @@
+package com.mad_backend.gedcom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One level-0 GEDCOM record with its subordinate lines. CONT/CONC continuation lines are already
+ * folded into the value of the line they continue.
+ */
+public record GedcomRecord(String xref, String tag, String value, List<Line> lines) {
+
+    public record Line(int level, String tag, String value) {
+    }
+
+    public String first(String tag) {
+        for (Line line : lines) {
+            if (line.level() == 1 && line.tag().equals(tag)) {
+                return line.value();
+            }
+        }
+        return null;
+    }
+
+    public List<String> all(String tag) {
+        List<String> values = new ArrayList<>();
+        for (Line line : lines) {
+            if (line.level() == 1 && line.tag().equals(tag)) {
+                values.add(line.value());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Value of the first {@code childTag} directly below the first level-1 {@code tag}, e.g. BIRT/DATE.
+     */
+    public String nested(String tag, String childTag) {
+        boolean inside = false;
+        for (Line line : lines) {
+            if (line.level() == 1) {
+                if (inside) {
+                    return null;
+                }
+                inside = line.tag().equals(tag);
+            } else if (inside && line.level() == 2 && line.tag().equals(childTag)) {
+                return line.value();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mad_backend.gedcom;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes GEDCOM 5.5.1 lines to a buffered UTF-8 stream. Values containing line breaks are split into
+ * CONT lines and long values into CONC lines; {@code @} inside values is escaped as {@code @@}.
+ */
+public class GedcomWriter implements Flushable, Closeable {
+
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    private final Writer writer;
+
+    public GedcomWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    public void header(String sourceName, String treeName) throws IOException {
+        line(0, "HEAD", null);
+        line(1, "SOUR", sourceName);
+        line(1, "SUBM", "@SUBM@");
+        line(1, "GEDC", null);
+        line(2, "VERS", "5.5.1");
+        line(2, "FORM", "LINEAGE-LINKED");
+        line(1, "CHAR", "UTF-8");
+        value(1, "NOTE", treeName);
+        record("@SUBM@", "SUBM");
+        line(1, "NAME", sourceName);
+    }
+
+    public void record(String xref, String tag) throws IOException {
+        writer.write("0 ");
+        writer.write(xref);
+        writer.write(' ');
+        writer.write(tag);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a pointer or keyword line as is.
+     */
+    public void line(int level, String tag, String value) throws IOException {
+        writer.write(Integer.toString(level));
+        writer.write(' ');
+        writer.write(tag);
+        if (value != null && !value.isEmpty()) {
+            writer.write(' ');
+            writer.write(value);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a free-text value, skipping it when blank.
+     */
+    public void value(int level, String tag, String value) throws IOException {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String[] paragraphs = value.replace("@", "@@").split("\r\n|\r|\n", -1);
+        for (int i = 0; i < paragraphs.length; i++) {
+            String paragraph = paragraphs[i];
+            int end = Math.min(paragraph.length(), MAX_VALUE_LENGTH);
+            line(i == 0 ? level : level + 1, i == 0 ? tag : "CONT", paragraph.substring(0, end));
+            for (int start = end; start < paragraph.length(); start += MAX_VALUE_LENGTH) {
+                line(level + 1, "CONC", paragraph.substring(start, Math.min(paragraph.length(), start + MAX_VALUE_LENGTH)));
+            }
+        }
+    }
+
+    public void trailer() throws IOException {
+        line(0, "TRLR", null);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,304 @@
+package com.mad_backend.index;
+
+import com.mad_backend.search.TextAnalyzer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Suggests families a user may belong to. Families are bucketed by the husband's folded surname and
+ * every member's families are indexed, so a request only walks the user's close kin in
+ * {@link GenealogyGraphIndex} and seeks into a single surname bucket; the total number of families never
+ * enters the cost. Families holding kin are scored by surname match, how many of the user's kin they
+ * contain and how close the nearest one is. Families that only share the surname all score
+ * {@link #SURNAME_SCORE} and follow in id order, which lets a page resume from a (score, id) position.
+ */
+@Component
+@RequiredArgsConstructor
+public class FamilySuggestionIndex {
+
+    public record Suggestion(long familyId, int score, boolean surnameMatch, int sharedMembers, int distance) {
+    }
+
+    public static final int SURNAME_SCORE = 100;
+    private static final int MEMBER_SCORE = 10;
+    private static final int PROXIMITY_SCORE = 5;
+    private static final int MAX_DISTANCE = 3;
+    // Bounds the kin walk for people at the centre of very large trees.
+    private static final int MAX_KIN = 512;
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingInt(Suggestion::score).reversed()
+            .thenComparingLong(Suggestion::familyId);
+
+    private final GenealogyGraphIndex genealogyGraphIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, long[]> membersOfFamily = new HashMap<>();
+    private Map<Long, Long> husbandOfFamily = new HashMap<>();
+    private Map<Long, Set<Long>> familiesOfMember = new HashMap<>();
+    private Map<Long, String> surnameOfUser = new HashMap<>();
+    private Map<String, NavigableSet<Long>> familiesBySurname = new HashMap<>();
+
+    public void applyFamily(long familyId, Long husbandId, Long wifeId, Collection<Long> childIds) {
+        lock.writeLock().lock();
+        try {
+            removeFamilyUnlocked(familyId);
+
+            Set<Long> members = new LinkedHashSet<>();
+            if (husbandId != null) {
+                members.add(husbandId);
+                husbandOfFamily.put(familyId, husbandId);
+                bucket(surnameOfUser.get(husbandId), familyId, true);
+            }
+            if (wifeId != null) {
+                members.add(wifeId);
+            }
+            if (childIds != null) {
+                childIds.stream().filter(Objects::nonNull).forEach(members::add);
+            }
+            membersOfFamily.put(familyId, members.stream().mapToLong(Long::longValue).toArray());
+            members.forEach(member -> familiesOfMember.computeIfAbsent(member, id -> new HashSet<>()).add(familyId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFamily(long familyId) {
+        lock.writeLock().lock();
+        try {
+            removeFamilyUnlocked(familyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void applySurname(long userId, String lastName) {
+        String surname = normalize(lastName);
+        lock.writeLock().lock();
+        try {
+            String previous = surname != null ? surnameOfUser.put(userId, surname) : surnameOfUser.remove(userId);
+            if (Objects.equals(previous, surname)) {
+                return;
+            }
+            for (long familyId : familiesOfMember.getOrDefault(userId, Set.of())) {
+                if (Objects.equals(husbandOfFamily.get(familyId), userId)) {
+                    bucket(previous, familyId, false);
+                    bucket(surname, familyId, true);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            membersOfFamily.clear();
+            husbandOfFamily.clear();
+            familiesOfMember.clear();
+            surnameOfUser.clear();
+            familiesBySurname.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes over the contents of an index built off to the side, so a reload never exposes a partially
+     * filled index. {@code rebuilt} must not be used afterwards.
+     */
+    public void replaceWith(FamilySuggestionIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            membersOfFamily = rebuilt.membersOfFamily;
+            husbandOfFamily = rebuilt.husbandOfFamily;
+            familiesOfMember = rebuilt.familiesOfMember;
+            surnameOfUser = rebuilt.surnameOfUser;
+            familiesBySurname = rebuilt.familiesBySurname;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return membersOfFamily.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every family whose husband shares the user's surname, in id order and including the user's own
+     * families. Backs the unranked suggestion list, which predates kin-based ranking.
+     */
+    public List<Long> familiesWithSurnameOf(long userId) {
+        lock.readLock().lock();
+        try {
+            String surname = surnameOfUser.get(userId);
+            NavigableSet<Long> bucket = surname != null ? familiesBySurname.get(surname) : null;
+            return bucket != null ? new ArrayList<>(bucket) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions ranked after the given position; {@code afterScore} and
+     * {@code afterFamilyId} are both null for the first page. Families the user already belongs to are
+     * never suggested.
+     */
+    public List<Suggestion> suggest(long userId, Integer afterScore, Long afterFamilyId, int limit) {
+        Map<Long, Integer> kin = kinOf(userId);
+
+        lock.readLock().lock();
+        try {
+            String surname = surnameOfUser.get(userId);
+            Set<Long> ownFamilies = familiesOfMember.getOrDefault(userId, Set.of());
+
+            Map<Long, int[]> related = new HashMap<>();
+            kin.forEach((relativeId, distance) -> {
+                for (long familyId : familiesOfMember.getOrDefault(relativeId, Set.of())) {
+                    if (ownFamilies.contains(familyId)) {
+                        continue;
+                    }
+                    int[] stats = related.computeIfAbsent(familyId, id -> new int[]{0, Integer.MAX_VALUE});
+                    stats[0]++;
+                    stats[1] = Math.min(stats[1], distance);
+                }
+            });
+
+            List<Suggestion> ranked = new ArrayList<>(related.size());
+            related.forEach((familyId, stats) -> {
+                boolean surnameMatch = surname != null && surname.equals(surnameOfUser.get(husbandOfFamily.get(familyId)));
+                int score = (surnameMatch ? SURNAME_SCORE : 0) + stats[0] * MEMBER_SCORE
+                        + (MAX_DISTANCE + 1 - stats[1]) * PROXIMITY_SCORE;
+                Suggestion suggestion = new Suggestion(familyId, score, surnameMatch, stats[0], stats[1]);
+                if (isAfter(suggestion.score(), familyId, afterScore, afterFamilyId)) {
+                    ranked.add(suggestion);
+                }
+            });
+            ranked.sort(RANKING);
+
+            Iterator<Long> sameSurname = surnameFamilies(surname, afterScore, afterFamilyId);
+            List<Suggestion> page = new ArrayList<>();
+            int next = 0;
+            Suggestion bucketHead = nextSurnameOnly(sameSurname, related, ownFamilies);
+            while (page.size() < limit && (next < ranked.size() || bucketHead != null)) {
+                if (bucketHead == null || (next < ranked.size() && RANKING.compare(ranked.get(next), bucketHead) < 0)) {
+                    page.add(ranked.get(next++));
+                } else {
+                    page.add(bucketHead);
+                    bucketHead = nextSurnameOnly(sameSurname, related, ownFamilies);
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Close kin of the user with their distance in parent, child and spouse steps; the user is excluded.
+    private Map<Long, Integer> kinOf(long userId) {
+        Map<Long, Integer> kin = new HashMap<>();
+        genealogyGraphIndex.readLock().lock();
+        try {
+            int start = genealogyGraphIndex.nodeOf(userId);
+            if (start == LongIntHashMap.MISSING) {
+                return kin;
+            }
+            GenealogyGraphIndex.VisitMarker visited = genealogyGraphIndex.visitMarker();
+            visited.mark(start);
+            List<Integer> frontier = List.of(start);
+            for (int distance = 1; distance <= MAX_DISTANCE && !frontier.isEmpty(); distance++) {
+                List<Integer> next = new ArrayList<>();
+                for (int node : frontier) {
+                    for (int[] neighbours : new int[][]{genealogyGraphIndex.parentsOf(node),
+                            genealogyGraphIndex.childrenOf(node), genealogyGraphIndex.spousesOf(node)}) {
+                        for (int neighbour : neighbours) {
+                            if (visited.mark(neighbour)) {
+                                kin.put(genealogyGraphIndex.userIdOf(neighbour), distance);
+                                next.add(neighbour);
+                                if (kin.size() == MAX_KIN) {
+                                    return kin;
+                                }
+                            }
+                        }
+                    }
+                }
+                frontier = next;
+            }
+            return kin;
+        } finally {
+            genealogyGraphIndex.readLock().unlock();
+        }
+    }
+
+    private Iterator<Long> surnameFamilies(String surname, Integer afterScore, Long afterFamilyId) {
+        NavigableSet<Long> bucket = surname != null ? familiesBySurname.get(surname) : null;
+        if (bucket == null || (afterScore != null && afterScore < SURNAME_SCORE)) {
+            return Collections.emptyIterator();
+        }
+        if (afterScore != null && afterScore == SURNAME_SCORE) {
+            return bucket.tailSet(afterFamilyId, false).iterator();
+        }
+        return bucket.iterator();
+    }
+
+    private Suggestion nextSurnameOnly(Iterator<Long> sameSurname, Map<Long, int[]> related, Set<Long> ownFamilies) {
+        while (sameSurname.hasNext()) {
+            long familyId = sameSurname.next();
+            if (!related.containsKey(familyId) && !ownFamilies.contains(familyId)) {
+                return new Suggestion(familyId, SURNAME_SCORE, true, 0, 0);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAfter(int score, long familyId, Integer afterScore, Long afterFamilyId) {
+        return afterScore == null || score < afterScore || (score == afterScore && familyId > afterFamilyId);
+    }
+
+    private void removeFamilyUnlocked(long familyId) {
+        long[] members = membersOfFamily.remove(familyId);
+        if (members == null) {
+            return;
+        }
+        Long husbandId = husbandOfFamily.remove(familyId);
+        if (husbandId != null) {
+            bucket(surnameOfUser.get(husbandId), familyId, false);
+        }
+        for (long member : members) {
+            Set<Long> families = familiesOfMember.get(member);
+            families.remove(familyId);
+            if (families.isEmpty()) {
+                familiesOfMember.remove(member);
+            }
+        }
+    }
+
+    private void bucket(String surname, long familyId, boolean add) {
+        if (surname == null) {
+            return;
+        }
+        if (add) {
+            familiesBySurname.computeIfAbsent(surname, key -> new TreeSet<>()).add(familyId);
+            return;
+        }
+        NavigableSet<Long> bucket = familiesBySurname.get(surname);
+        if (bucket != null && bucket.remove(familyId) && bucket.isEmpty()) {
+            familiesBySurname.remove(surname);
+        }
+    }
+
+    private static String normalize(String lastName) {
+        if (lastName == null || lastName.isBlank()) {
+            return null;
+        }
+        return String.join(" ", TextAnalyzer.terms(lastName)).intern();
+    }
+}
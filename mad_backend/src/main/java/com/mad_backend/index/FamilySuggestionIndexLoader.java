@@ -0,0 +1,75 @@
+package com.mad_backend.index;
+
+import com.mad_backend.event.FamilyChangedEvent;
+import com.mad_backend.event.PersonChangedEvent;
+import com.mad_backend.repository.FamilyRepository;
+import com.mad_backend.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link FamilySuggestionIndex} from profiles and families at startup and keeps it current as
+ * families change and people edit their last name. Surnames are loaded first so that each family
+ * lands in its husband's bucket on the way in. A full load fills a fresh index and swaps it in.
+ */
+@Component
+@RequiredArgsConstructor
+public class FamilySuggestionIndexLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FamilySuggestionIndexLoader.class);
+
+    private final FamilySuggestionIndex familySuggestionIndex;
+    private final GenealogyGraphIndex genealogyGraphIndex;
+    private final FamilyRepository familyRepository;
+    private final ProfileRepository profileRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        Map<Long, Long[]> spouses = new HashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+
+        FamilySuggestionIndex rebuilt = new FamilySuggestionIndex(genealogyGraphIndex);
+        try (Stream<Object[]> rows = profileRepository.streamSurnames()) {
+            rows.forEach(row -> rebuilt.applySurname((Long) row[0], (String) row[1]));
+        }
+        try (Stream<Object[]> rows = familyRepository.streamSpouseLinks()) {
+            rows.forEach(row -> spouses.put((Long) row[0], new Long[]{(Long) row[1], (Long) row[2]}));
+        }
+        try (Stream<Object[]> rows = familyRepository.streamChildLinks()) {
+            rows.forEach(row -> children.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]));
+        }
+        spouses.forEach((familyId, couple) ->
+                rebuilt.applyFamily(familyId, couple[0], couple[1], children.get(familyId)));
+        familySuggestionIndex.replaceWith(rebuilt);
+
+        LOGGER.info("Family suggestion index loaded: {} families in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFamilyChanged(FamilyChangedEvent event) {
+        if (event.deleted()) {
+            familySuggestionIndex.removeFamily(event.familyId());
+        } else {
+            familySuggestionIndex.applyFamily(event.familyId(), event.husbandId(), event.wifeId(), event.childIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonChanged(PersonChangedEvent event) {
+        if (!event.deleted()) {
+            familySuggestionIndex.applySurname(event.userId(), event.lastName());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.mad_backend.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kinship graph kept in memory as primitive adjacency arrays. Every user that appears in a family is
+ * a dense node index; parent, child and spouse edges are int arrays per node, so traversals never
+ * touch entities or boxed ids. Edges are owned by the family that declared them, which lets a family
+ * be replaced or removed incrementally.
+ */
+@Component
+public class GenealogyGraphIndex {
+
+    public record Relative(long userId, int depth) {
+    }
+
+    private record FamilyEdges(int husband, int wife, int[] children) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<VisitMarker> visitMarkers = ThreadLocal.withInitial(VisitMarker::new);
+
+    private LongIntHashMap nodeIndex = new LongIntHashMap(1024);
+    private long[] userIds = new long[1024];
+    private int nodeCount;
+
+    private Map<Long, FamilyEdges> families = new HashMap<>();
+    private Adjacency parents = new Adjacency();
+    private Adjacency children = new Adjacency();
+    private Adjacency spouses = new Adjacency();
+
+    public void applyFamily(long familyId, Long husbandId, Long wifeId, Collection<Long> childIds) {
+        lock.writeLock().lock();
+        try {
+            unlink(families.remove(familyId));
+
+            int husband = husbandId != null ? nodeFor(husbandId) : -1;
+            int wife = wifeId != null ? nodeFor(wifeId) : -1;
+            int[] childNodes = childIds == null ? new int[0] : childIds.stream()
+                    .filter(Objects::nonNull)
+                    .mapToInt(this::nodeFor)
+                    .toArray();
+
+            FamilyEdges edges = new FamilyEdges(husband, wife, childNodes);
+            link(edges);
+            families.put(familyId, edges);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeFamily(long familyId) {
+        lock.writeLock().lock();
+        try {
+            unlink(families.remove(familyId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            families.clear();
+            nodeIndex = new LongIntHashMap(1024);
+            nodeCount = 0;
+            parents.clear();
+            children.clear();
+            spouses.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes over the contents of an index built off to the side, so readers see either the old graph or
+     * the new one and never a partially loaded one. {@code rebuilt} must not be used afterwards.
+     */
+    public void replaceWith(GenealogyGraphIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            families = rebuilt.families;
+            nodeIndex = rebuilt.nodeIndex;
+            userIds = rebuilt.userIds;
+            nodeCount = rebuilt.nodeCount;
+            parents = rebuilt.parents;
+            children = rebuilt.children;
+            spouses = rebuilt.spouses;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Relative> ancestors(long userId, int maxDepth) {
+        return traverse(userId, maxDepth, parents);
+    }
+
+    public List<Relative> descendants(long userId, int maxDepth) {
+        return traverse(userId, maxDepth, children);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Relative> traverse(long userId, int maxDepth, Adjacency edges) {
+        lock.readLock().lock();
+        try {
+            int start = nodeIndex.get(userId);
+            if (start == LongIntHashMap.MISSING || maxDepth <= 0) {
+                return List.of();
+            }
+
+            VisitMarker visited = visitMarkers.get();
+            visited.begin(nodeCount);
+            visited.mark(start);
+
+            List<Relative> result = new ArrayList<>();
+            int[] frontier = {start};
+            int frontierSize = 1;
+            for (int depth = 1; depth <= maxDepth && frontierSize > 0; depth++) {
+                int[] next = new int[Math.max(4, frontierSize * 2)];
+                int nextSize = 0;
+                for (int i = 0; i < frontierSize; i++) {
+                    int node = frontier[i];
+                    int[] targets = edges.targets(node);
+                    for (int j = 0, count = edges.count(node); j < count; j++) {
+                        int target = targets[j];
+                        if (visited.mark(target)) {
+                            if (nextSize == next.length) {
+                                next = Arrays.copyOf(next, nextSize * 2);
+                            }
+                            next[nextSize++] = target;
+                            result.add(new Relative(userIds[target], depth));
+                        }
+                    }
+                }
+                frontier = next;
+                frontierSize = nextSize;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Accessors below are used by the kinship calculator and must be called under the read lock.
+
+    ReentrantReadWriteLock.ReadLock readLock() {
+        return lock.readLock();
+    }
+
+    int nodeOf(long userId) {
+        return nodeIndex.get(userId);
+    }
+
+    long userIdOf(int node) {
+        return userIds[node];
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    int[] parentsOf(int node) {
+        return parents.copy(node);
+    }
+
+    int[] spousesOf(int node) {
+        return spouses.copy(node);
+    }
+
+    int[] childrenOf(int node) {
+        return children.copy(node);
+    }
+
+    VisitMarker visitMarker() {
+        VisitMarker marker = visitMarkers.get();
+        marker.begin(nodeCount);
+        return marker;
+    }
+
+    private int nodeFor(long userId) {
+        int node = nodeIndex.get(userId);
+        if (node != LongIntHashMap.MISSING) {
+            return node;
+        }
+        node = nodeCount++;
+        if (node == userIds.length) {
+            userIds = Arrays.copyOf(userIds, node * 2);
+        }
+        userIds[node] = userId;
+        nodeIndex.put(userId, node);
+        parents.ensureCapacity(nodeCount);
+        children.ensureCapacity(nodeCount);
+        spouses.ensureCapacity(nodeCount);
+        return node;
+    }
+
+    private void link(FamilyEdges edges) {
+        if (edges.husband() >= 0 && edges.wife() >= 0) {
+            spouses.add(edges.husband(), edges.wife());
+            spouses.add(edges.wife(), edges.husband());
+        }
+        for (int child : edges.children()) {
+            if (edges.husband() >= 0) {
+                parents.add(child, edges.husband());
+                children.add(edges.husband(), child);
+            }
+            if (edges.wife() >= 0) {
+                parents.add(child, edges.wife());
+                children.add(edges.wife(), child);
+            }
+        }
+    }
+
+    private void unlink(FamilyEdges edges) {
+        if (edges == null) {
+            return;
+        }
+        if (edges.husband() >= 0 && edges.wife() >= 0) {
+            spouses.remove(edges.husband(), edges.wife());
+            spouses.remove(edges.wife(), edges.husband());
+        }
+        for (int child : edges.children()) {
+            if (edges.husband() >= 0) {
+                parents.remove(child, edges.husband());
+                children.remove(edges.husband(), child);
+            }
+            if (edges.wife() >= 0) {
+                parents.remove(child, edges.wife());
+                children.remove(edges.wife(), child);
+            }
+        }
+    }
+
+    /**
+     * Growable int adjacency lists. The same edge may be declared by two families, so lists are
+     * multisets and removal drops a single occurrence.
+     */
+    private static final class Adjacency {
+        private static final int[] EMPTY = new int[0];
+
+        private int[][] targets = new int[1024][];
+        private int[] counts = new int[1024];
+
+        void ensureCapacity(int nodes) {
+            if (nodes > targets.length) {
+                int capacity = Math.max(nodes, targets.length * 2);
+                targets = Arrays.copyOf(targets, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+        }
+
+        void add(int node, int target) {
+            int[] list = targets[node];
+            if (list == null) {
+                list = new int[2];
+                targets[node] = list;
+            } else if (counts[node] == list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+                targets[node] = list;
+            }
+            list[counts[node]++] = target;
+        }
+
+        void remove(int node, int target) {
+            int[] list = targets[node];
+            int count = counts[node];
+            for (int i = 0; i < count; i++) {
+                if (list[i] == target) {
+                    list[i] = list[count - 1];
+                    counts[node] = count - 1;
+                    return;
+                }
+            }
+        }
+
+        int[] targets(int node) {
+            int[] list = targets[node];
+            return list != null ? list : EMPTY;
+        }
+
+        int count(int node) {
+            return counts[node];
+        }
+
+        int[] copy(int node) {
+            return Arrays.copyOf(targets(node), counts[node]);
+        }
+
+        void clear() {
+            targets = new int[1024][];
+            counts = new int[1024];
+        }
+    }
+
+    /**
+     * Per-thread visited set over node indexes. Each traversal bumps the stamp instead of clearing.
+     */
+    static final class VisitMarker {
+        private int[] stamps = new int[0];
+        private int stamp;
+
+        void begin(int nodes) {
+            if (stamps.length < nodes) {
+                stamps = new int[Math.max(nodes, stamps.length * 2)];
+                stamp = 0;
+            }
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+        }
+
+        boolean mark(int node) {
+            if (stamps[node] == stamp) {
+                return false;
+            }
+            stamps[node] = stamp;
+            return true;
+        }
+
+        boolean isMarked(int node) {
+            return stamps[node] == stamp;
+        }
+    }
+}
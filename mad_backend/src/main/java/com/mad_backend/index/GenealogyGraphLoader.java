@@ -0,0 +1,62 @@
+package com.mad_backend.index;
+
+import com.mad_backend.event.FamilyChangedEvent;
+import com.mad_backend.repository.FamilyRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link GenealogyGraphIndex} from the families table at startup and keeps it current as
+ * families are created, updated or deleted. A full load builds a fresh graph and swaps it in, so
+ * readers keep the previous graph until the new one is complete.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenealogyGraphLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenealogyGraphLoader.class);
+
+    private final GenealogyGraphIndex genealogyGraphIndex;
+    private final FamilyRepository familyRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        Map<Long, Long[]> spouses = new HashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+
+        try (Stream<Object[]> rows = familyRepository.streamSpouseLinks()) {
+            rows.forEach(row -> spouses.put((Long) row[0], new Long[]{(Long) row[1], (Long) row[2]}));
+        }
+        try (Stream<Object[]> rows = familyRepository.streamChildLinks()) {
+            rows.forEach(row -> children.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]));
+        }
+
+        GenealogyGraphIndex rebuilt = new GenealogyGraphIndex();
+        spouses.forEach((familyId, couple) ->
+                rebuilt.applyFamily(familyId, couple[0], couple[1], children.get(familyId)));
+        genealogyGraphIndex.replaceWith(rebuilt);
+
+        LOGGER.info("Genealogy graph loaded: {} families, {} people in {} ms",
+                spouses.size(), rebuilt.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFamilyChanged(FamilyChangedEvent event) {
+        if (event.deleted()) {
+            genealogyGraphIndex.removeFamily(event.familyId());
+        } else {
+            genealogyGraphIndex.applyFamily(event.familyId(), event.husbandId(), event.wifeId(), event.childIds());
+        }
+    }
+}
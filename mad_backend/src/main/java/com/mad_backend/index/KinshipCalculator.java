@@ -0,0 +1,230 @@
+package com.mad_backend.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Works out how two people are related from {@link GenealogyGraphIndex}. Both sides walk up their
+ * ancestry breadth-first and the closest common ancestor (smallest combined distance) decides the
+ * relationship. Binary lifting assumes a single parent per node, which does not hold for a
+ * two-parent genealogy, so both ancestor sets are expanded instead; they stay small because every
+ * level only follows recorded parents.
+ */
+@Component
+@RequiredArgsConstructor
+public class KinshipCalculator {
+
+    public record Kinship(String label, int generationsUp, int generationsDown, boolean halfRelation,
+                          boolean inLaw, List<Long> path) {
+    }
+
+    private record Ancestry(Map<Integer, Integer> depths, Map<Integer, Integer> towardStart) {
+    }
+
+    private record Meeting(int ancestor, int up, int down) {
+    }
+
+    private static final String[] ORDINALS = {"zeroth", "first", "second", "third", "fourth", "fifth", "sixth",
+            "seventh", "eighth", "ninth", "tenth"};
+
+    private final GenealogyGraphIndex genealogyGraphIndex;
+
+    public Optional<Kinship> relate(long fromUserId, long toUserId, int maxDepth) {
+        genealogyGraphIndex.readLock().lock();
+        try {
+            int from = genealogyGraphIndex.nodeOf(fromUserId);
+            int to = genealogyGraphIndex.nodeOf(toUserId);
+            if (from == LongIntHashMap.MISSING || to == LongIntHashMap.MISSING) {
+                return Optional.empty();
+            }
+            if (from == to) {
+                return Optional.of(new Kinship("self", 0, 0, false, false, List.of(fromUserId)));
+            }
+
+            Optional<Kinship> blood = relateByBlood(from, to, maxDepth);
+            if (blood.isPresent()) {
+                return blood;
+            }
+            return relateByMarriage(from, to, maxDepth);
+        } finally {
+            genealogyGraphIndex.readLock().unlock();
+        }
+    }
+
+    private Optional<Kinship> relateByBlood(int from, int to, int maxDepth) {
+        Ancestry fromAncestry = ancestry(from, maxDepth);
+        Ancestry toAncestry = ancestry(to, maxDepth);
+
+        Meeting best = null;
+        for (Map.Entry<Integer, Integer> entry : fromAncestry.depths().entrySet()) {
+            Integer down = toAncestry.depths().get(entry.getKey());
+            if (down == null) {
+                continue;
+            }
+            int up = entry.getValue();
+            if (best == null || up + down < best.up() + best.down()
+                    || (up + down == best.up() + best.down() && Math.max(up, down) < Math.max(best.up(), best.down()))) {
+                best = new Meeting(entry.getKey(), up, down);
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+
+        boolean half = best.up() > 0 && best.down() > 0 && !sharesBothParents(best, fromAncestry, toAncestry);
+        String label = (half ? "half-" : "") + bloodLabel(best.up(), best.down());
+        return Optional.of(new Kinship(label, best.up(), best.down(), half, false,
+                path(best.ancestor(), fromAncestry, toAncestry)));
+    }
+
+    private Optional<Kinship> relateByMarriage(int from, int to, int maxDepth) {
+        for (int spouse : genealogyGraphIndex.spousesOf(from)) {
+            if (spouse == to) {
+                return Optional.of(new Kinship("spouse", 0, 0, false, true,
+                        List.of(genealogyGraphIndex.userIdOf(from), genealogyGraphIndex.userIdOf(to))));
+            }
+            Optional<Kinship> viaSpouse = relateByBlood(spouse, to, maxDepth);
+            if (viaSpouse.isPresent()) {
+                Kinship kinship = viaSpouse.get();
+                return Optional.of(inLaw(kinship, spouseInLawLabel(kinship), genealogyGraphIndex.userIdOf(from), true));
+            }
+        }
+        for (int spouse : genealogyGraphIndex.spousesOf(to)) {
+            Optional<Kinship> viaSpouse = relateByBlood(from, spouse, maxDepth);
+            if (viaSpouse.isPresent()) {
+                Kinship kinship = viaSpouse.get();
+                return Optional.of(inLaw(kinship, relativeSpouseLabel(kinship), genealogyGraphIndex.userIdOf(to), false));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Kinship inLaw(Kinship blood, String label, long extraUserId, boolean prepend) {
+        List<Long> path = new ArrayList<>(blood.path().size() + 1);
+        if (prepend) {
+            path.add(extraUserId);
+        }
+        path.addAll(blood.path());
+        if (!prepend) {
+            path.add(extraUserId);
+        }
+        return new Kinship(label, blood.generationsUp(), blood.generationsDown(), blood.halfRelation(), true, path);
+    }
+
+    private Ancestry ancestry(int start, int maxDepth) {
+        Map<Integer, Integer> depths = new HashMap<>();
+        Map<Integer, Integer> towardStart = new HashMap<>();
+        depths.put(start, 0);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int depth = depths.get(node);
+            if (depth == maxDepth) {
+                continue;
+            }
+            for (int parent : genealogyGraphIndex.parentsOf(node)) {
+                if (!depths.containsKey(parent)) {
+                    depths.put(parent, depth + 1);
+                    towardStart.put(parent, node);
+                    queue.add(parent);
+                }
+            }
+        }
+        return new Ancestry(depths, towardStart);
+    }
+
+    // A half relation descends from the common ancestor through children that share only one parent.
+    private boolean sharesBothParents(Meeting meeting, Ancestry fromAncestry, Ancestry toAncestry) {
+        int fromChild = fromAncestry.towardStart().get(meeting.ancestor());
+        int toChild = toAncestry.towardStart().get(meeting.ancestor());
+        if (fromChild == toChild) {
+            return true;
+        }
+        int[] fromParents = genealogyGraphIndex.parentsOf(fromChild);
+        int[] toParents = genealogyGraphIndex.parentsOf(toChild);
+        Arrays.sort(fromParents);
+        Arrays.sort(toParents);
+        return Arrays.equals(Arrays.stream(fromParents).distinct().toArray(), Arrays.stream(toParents).distinct().toArray());
+    }
+
+    private List<Long> path(int ancestor, Ancestry fromAncestry, Ancestry toAncestry) {
+        LinkedList<Long> path = new LinkedList<>();
+        for (Integer node = ancestor; node != null; node = fromAncestry.towardStart().get(node)) {
+            path.addFirst(genealogyGraphIndex.userIdOf(node));
+        }
+        for (Integer node = toAncestry.towardStart().get(ancestor); node != null; node = toAncestry.towardStart().get(node)) {
+            path.addLast(genealogyGraphIndex.userIdOf(node));
+        }
+        return path;
+    }
+
+    static String bloodLabel(int up, int down) {
+        if (up == 0) {
+            return lineal(down, "child", "grandchild");
+        }
+        if (down == 0) {
+            return lineal(up, "parent", "grandparent");
+        }
+        if (up == 1 && down == 1) {
+            return "sibling";
+        }
+        if (up == 1) {
+            return collateral(down - 1, "nephew/niece");
+        }
+        if (down == 1) {
+            return collateral(up - 1, "uncle/aunt");
+        }
+
+        int degree = Math.min(up, down) - 1;
+        int removal = Math.abs(up - down);
+        String cousin = ordinal(degree) + " cousin";
+        if (removal == 0) {
+            return cousin;
+        }
+        return cousin + " " + switch (removal) {
+            case 1 -> "once removed";
+            case 2 -> "twice removed";
+            default -> removal + " times removed";
+        };
+    }
+
+    private static String lineal(int generations, String first, String second) {
+        if (generations == 1) {
+            return first;
+        }
+        return "great-".repeat(generations - 2) + second;
+    }
+
+    private static String collateral(int generations, String base) {
+        if (generations == 1) {
+            return base;
+        }
+        return "great-".repeat(generations - 2) + "grand-" + base;
+    }
+
+    private static String ordinal(int value) {
+        return value < ORDINALS.length ? ORDINALS[value] : value + "th";
+    }
+
+    private static String spouseInLawLabel(Kinship spouseRelative) {
+        return switch (spouseRelative.label()) {
+            case "parent" -> "parent-in-law";
+            case "sibling", "half-sibling" -> "sibling-in-law";
+            case "child" -> "stepchild";
+            default -> "spouse's " + spouseRelative.label();
+        };
+    }
+
+    private static String relativeSpouseLabel(Kinship relative) {
+        return switch (relative.label()) {
+            case "child" -> "child-in-law";
+            case "sibling", "half-sibling" -> "sibling-in-law";
+            case "parent" -> "step-parent";
+            default -> relative.label() + "'s spouse";
+        };
+    }
+}
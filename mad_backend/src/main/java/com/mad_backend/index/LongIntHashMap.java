@@ -0,0 +1,82 @@
+package com.mad_backend.index;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code long} keys to {@code int} values without boxing. Used to translate
+ * database ids into dense array indexes for the in-memory indexes.
+ */
+public class LongIntHashMap {
+
+    public static final int MISSING = -1;
+
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        mask = capacity - 1;
+    }
+
+    public int get(long key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Unsupported key: " + key);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY_KEY);
+        mask = keys.length - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
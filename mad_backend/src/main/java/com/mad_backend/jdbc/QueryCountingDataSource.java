@@ -0,0 +1,86 @@
+package com.mad_backend.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so every statement execution is timed and recorded in the calling thread's
+ * {@link QueryStatistics}. Threads without statistics, such as schedulers and loaders, pay only a
+ * thread-local lookup per execution.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrap(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> wrap(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> wrap(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private static Object wrap(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            QueryStatistics statistics = QueryStatistics.current();
+            if (statistics == null || !method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                statistics.record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
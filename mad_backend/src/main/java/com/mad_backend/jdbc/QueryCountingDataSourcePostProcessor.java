@@ -0,0 +1,22 @@
+package com.mad_backend.jdbc;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link QueryCountingDataSource} in front of the application's data source, so Hibernate and
+ * JdbcTemplate statements are both counted.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
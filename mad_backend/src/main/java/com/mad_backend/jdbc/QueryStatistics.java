@@ -0,0 +1,76 @@
+package com.mad_backend.jdbc;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements executed on the current thread between {@link #begin()} and {@link #end()}. Statements are
+ * grouped by their shape, with literals and IN lists collapsed, so the same select issued once per row
+ * shows up as one shape with a high count.
+ */
+public class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+
+    private int count;
+    private long nanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    public static QueryStatistics begin() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+        if (sql != null) {
+            shapes.merge(shapeOf(sql), 1, Integer::sum);
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public double millis() {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Statement shapes executed at least {@code threshold} times, most repeated first.
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+}
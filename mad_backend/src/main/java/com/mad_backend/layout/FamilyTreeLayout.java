@@ -0,0 +1,98 @@
+package com.mad_backend.layout;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Immutable layout of one family tree version. Nodes are kept sorted by generation and x, with an
+ * index of where each generation row starts, so a viewport slice is one binary search per row.
+ */
+@Getter
+public class FamilyTreeLayout {
+
+    public record Node(long familyId, Long husbandId, Long wifeId, int generation, double x,
+                       List<Long> parentFamilyIds) {
+    }
+
+    private static final Comparator<Node> ROW_ORDER = Comparator.comparingInt(Node::generation)
+            .thenComparingDouble(Node::x);
+
+    private final long familyTreeId;
+    private final long version;
+    private final int nodeCount;
+    private final double width;
+    private final int minGeneration;
+    private final int maxGeneration;
+
+    @Getter(AccessLevel.NONE)
+    private final Node[] nodes;
+    @Getter(AccessLevel.NONE)
+    private final int[] rowGenerations;
+    @Getter(AccessLevel.NONE)
+    private final int[] rowStarts;
+
+    FamilyTreeLayout(long familyTreeId, long version, List<Node> nodes) {
+        this.familyTreeId = familyTreeId;
+        this.version = version;
+        this.nodes = nodes.toArray(new Node[0]);
+        Arrays.sort(this.nodes, ROW_ORDER);
+        this.nodeCount = this.nodes.length;
+
+        int rows = 0;
+        double maxX = 0;
+        for (int i = 0; i < this.nodes.length; i++) {
+            if (i == 0 || this.nodes[i].generation() != this.nodes[i - 1].generation()) {
+                rows++;
+            }
+            maxX = Math.max(maxX, this.nodes[i].x());
+        }
+        this.rowGenerations = new int[rows];
+        this.rowStarts = new int[rows + 1];
+        for (int i = 0, row = -1; i < this.nodes.length; i++) {
+            if (i == 0 || this.nodes[i].generation() != this.nodes[i - 1].generation()) {
+                row++;
+                rowGenerations[row] = this.nodes[i].generation();
+                rowStarts[row] = i;
+            }
+        }
+        rowStarts[rows] = this.nodes.length;
+        this.width = maxX;
+        this.minGeneration = rows > 0 ? rowGenerations[0] : 0;
+        this.maxGeneration = rows > 0 ? rowGenerations[rows - 1] : 0;
+    }
+
+    public List<Node> slice(double minX, double maxX, int fromGeneration, int toGeneration) {
+        List<Node> visible = new ArrayList<>();
+        int row = Arrays.binarySearch(rowGenerations, fromGeneration);
+        for (row = row >= 0 ? row : -row - 1; row < rowGenerations.length && rowGenerations[row] <= toGeneration; row++) {
+            for (int i = firstAtOrAfter(row, minX); i < rowStarts[row + 1] && nodes[i].x() <= maxX; i++) {
+                visible.add(nodes[i]);
+            }
+        }
+        return visible;
+    }
+
+    public Set<Long> familyIds() {
+        Set<Long> familyIds = new HashSet<>(nodes.length * 2);
+        for (Node node : nodes) {
+            familyIds.add(node.familyId());
+        }
+        return familyIds;
+    }
+
+    private int firstAtOrAfter(int row, double x) {
+        int low = rowStarts[row];
+        int high = rowStarts[row + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (nodes[mid].x() < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,154 @@
+package com.mad_backend.layout;
+
+import com.mad_backend.event.FamilyChangedEvent;
+import com.mad_backend.event.FamilyTreeChangedEvent;
+import com.mad_backend.repository.FamilyTreeFamilyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes and caches {@link FamilyTreeLayout}s. Each cached tree has a version that changes whenever
+ * the tree is saved or one of its families is edited; only the trees containing an edited family
+ * are dropped, and they are laid out again on the next request.
+ */
+@Component
+@RequiredArgsConstructor
+public class FamilyTreeLayoutCache {
+
+    private final FamilyTreeFamilyRepository familyTreeFamilyRepository;
+
+    private final Map<Long, FamilyTreeLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> treesByFamily = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    @Value("${app.tree-layout.cache-size:256}")
+    private int maxSize;
+
+    public FamilyTreeLayout get(long familyTreeId) {
+        long version = versions.computeIfAbsent(familyTreeId, id -> versionSequence.incrementAndGet());
+        FamilyTreeLayout cached = layouts.get(familyTreeId);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+
+        FamilyTreeLayout layout = build(familyTreeId, version);
+        if (layouts.size() >= maxSize) {
+            evict();
+        }
+        // A concurrent invalidation bumps the version first, so a layout built from older rows is not kept.
+        layouts.compute(familyTreeId, (id, previous) -> {
+            if (!Objects.equals(versions.get(id), version)) {
+                return previous;
+            }
+            layout.familyIds().forEach(familyId ->
+                    treesByFamily.computeIfAbsent(familyId, key -> ConcurrentHashMap.newKeySet()).add(id));
+            return layout;
+        });
+        return layout;
+    }
+
+    public void invalidate(long familyTreeId) {
+        versions.computeIfPresent(familyTreeId, (id, version) -> versionSequence.incrementAndGet());
+        unindex(layouts.remove(familyTreeId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFamilyTreeChanged(FamilyTreeChangedEvent event) {
+        invalidate(event.familyTreeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFamilyChanged(FamilyChangedEvent event) {
+        Set<Long> familyTreeIds = treesByFamily.get(event.familyId());
+        if (familyTreeIds != null) {
+            List.copyOf(familyTreeIds).forEach(this::invalidate);
+        }
+    }
+
+    private FamilyTreeLayout build(long familyTreeId, long version) {
+        List<Object[]> rows = familyTreeFamilyRepository.findLayoutRowsByFamilyTreeId(familyTreeId);
+        Map<Long, Integer> nodeOfFamily = new HashMap<>();
+        List<Object[]> families = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            // A family listed under several generations is drawn once, at its earliest generation.
+            if (nodeOfFamily.putIfAbsent((Long) row[0], families.size()) == null) {
+                families.add(row);
+            }
+        }
+
+        Map<Long, List<Integer>> familiesOfChild = new HashMap<>();
+        for (Object[] link : familyTreeFamilyRepository.findChildLinksByFamilyTreeId(familyTreeId)) {
+            Integer node = nodeOfFamily.get((Long) link[0]);
+            if (node != null) {
+                familiesOfChild.computeIfAbsent((Long) link[1], id -> new ArrayList<>(2)).add(node);
+            }
+        }
+
+        int[] generations = new int[families.size()];
+        int[] parents = new int[families.size()];
+        for (int node = 0; node < families.size(); node++) {
+            Integer generation = (Integer) families.get(node)[1];
+            generations[node] = generation != null ? generation : 0;
+            parents[node] = -1;
+        }
+        List<List<Long>> parentFamilyIds = new ArrayList<>(families.size());
+        for (int node = 0; node < families.size(); node++) {
+            Object[] family = families.get(node);
+            List<Long> parentIds = new ArrayList<>(2);
+            for (Long spouseId : new Long[]{(Long) family[2], (Long) family[3]}) {
+                for (int parent : familiesOfChild.getOrDefault(spouseId, List.of())) {
+                    if (generations[parent] >= generations[node] || parentIds.contains((Long) families.get(parent)[0])) {
+                        continue;
+                    }
+                    // The tree edge goes to the nearest parent generation, husband's side first.
+                    if (parents[node] < 0 || generations[parent] > generations[parents[node]]) {
+                        parents[node] = parent;
+                    }
+                    parentIds.add((Long) families.get(parent)[0]);
+                }
+            }
+            if (parents[node] >= 0) {
+                parentIds.remove(families.get(parents[node])[0]);
+                parentIds.add(0, (Long) families.get(parents[node])[0]);
+            }
+            parentFamilyIds.add(parentIds);
+        }
+
+        double[] xs = TidyTreeLayout.place(generations, parents);
+        List<FamilyTreeLayout.Node> nodes = new ArrayList<>(families.size());
+        for (int node = 0; node < families.size(); node++) {
+            Object[] family = families.get(node);
+            nodes.add(new FamilyTreeLayout.Node((Long) family[0], (Long) family[2], (Long) family[3],
+                    generations[node], xs[node], parentFamilyIds.get(node)));
+        }
+        return new FamilyTreeLayout(familyTreeId, version, nodes);
+    }
+
+    private void evict() {
+        Iterator<Long> iterator = layouts.keySet().iterator();
+        while (layouts.size() >= maxSize && iterator.hasNext()) {
+            Long familyTreeId = iterator.next();
+            versions.remove(familyTreeId);
+            unindex(layouts.remove(familyTreeId));
+        }
+    }
+
+    private void unindex(FamilyTreeLayout layout) {
+        if (layout == null) {
+            return;
+        }
+        for (Long familyId : layout.familyIds()) {
+            treesByFamily.computeIfPresent(familyId, (id, familyTreeIds) -> {
+                familyTreeIds.remove(layout.getFamilyTreeId());
+                return familyTreeIds.isEmpty() ? null : familyTreeIds;
+            });
+        }
+    }
+}
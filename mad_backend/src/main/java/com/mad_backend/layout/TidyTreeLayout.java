@@ -0,0 +1,247 @@
+package com.mad_backend.layout;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Reingold-Tilford tidy layout over a forest whose rows are generations. Subtrees are laid out
+ * bottom-up and pushed apart by comparing their contours (leftmost and rightmost x per generation),
+ * then each parent is centred over its first and last child. Contours carry a lazy shift and the
+ * smaller one is merged into the larger, so deep or wide trees stay close to linear.
+ */
+final class TidyTreeLayout {
+
+    static final double NODE_SEPARATION = 1.0;
+
+    private TidyTreeLayout() {
+    }
+
+    /**
+     * @param generations row of every node
+     * @param parents     index of each node's parent, or -1 for roots; a parent must sit on a lower
+     *                    generation than its children
+     * @return x coordinate of every node, with the leftmost node at 0. Siblings and roots keep their
+     * index order from left to right.
+     */
+    static double[] place(int[] generations, int[] parents) {
+        int nodeCount = generations.length;
+        int[] childStart = new int[nodeCount + 1];
+        for (int parent : parents) {
+            if (parent >= 0) {
+                childStart[parent + 1]++;
+            }
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        int[] childList = new int[childStart[nodeCount]];
+        int[] fill = Arrays.copyOf(childStart, nodeCount);
+        int rootCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (parents[node] >= 0) {
+                childList[fill[parents[node]]++] = node;
+            } else {
+                rootCount++;
+            }
+        }
+        int[] roots = new int[rootCount];
+        for (int node = 0, r = 0; node < nodeCount; node++) {
+            if (parents[node] < 0) {
+                roots[r++] = node;
+            }
+        }
+
+        double[] offsets = new double[nodeCount];
+        Contour[] contours = new Contour[nodeCount];
+        for (int node : postOrder(roots, childStart, childList)) {
+            int from = childStart[node];
+            int to = childStart[node + 1];
+            Contour contour;
+            if (from == to) {
+                contour = new Contour();
+            } else {
+                contour = placeSiblings(childList, from, to, contours, offsets);
+                double centre = (offsets[childList[from]] + offsets[childList[to - 1]]) / 2;
+                for (int i = from; i < to; i++) {
+                    offsets[childList[i]] -= centre;
+                }
+                contour.shift -= centre;
+            }
+            contour.include(generations[node], 0);
+            contours[node] = contour;
+            for (int i = from; i < to; i++) {
+                contours[childList[i]] = null;
+            }
+        }
+
+        if (rootCount > 0) {
+            placeSiblings(roots, 0, rootCount, contours, offsets);
+        }
+
+        double[] xs = new double[nodeCount];
+        double minX = Double.POSITIVE_INFINITY;
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int root : roots) {
+            xs[root] = offsets[root];
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            minX = Math.min(minX, xs[node]);
+            for (int i = childStart[node]; i < childStart[node + 1]; i++) {
+                int child = childList[i];
+                xs[child] = xs[node] + offsets[child];
+                stack.push(child);
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            xs[node] -= minX;
+        }
+        return xs;
+    }
+
+    // Children before parents, so every subtree contour exists before its parent needs it.
+    private static int[] postOrder(int[] roots, int[] childStart, int[] childList) {
+        int[] order = new int[childList.length + roots.length];
+        int size = 0;
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int root : roots) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            order[size++] = node;
+            for (int i = childStart[node]; i < childStart[node + 1]; i++) {
+                stack.push(childList[i]);
+            }
+        }
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    // Places siblings left to right relative to the first one and returns their combined contour.
+    private static Contour placeSiblings(int[] nodes, int from, int to, Contour[] contours, double[] offsets) {
+        Contour combined = contours[nodes[from]];
+        offsets[nodes[from]] = 0;
+        for (int i = from + 1; i < to; i++) {
+            Contour next = contours[nodes[i]];
+            double offset = Math.max(offsets[nodes[i - 1]] + NODE_SEPARATION, combined.separationFrom(next));
+            offsets[nodes[i]] = offset;
+            next.shift += offset;
+            combined = Contour.merge(combined, next);
+        }
+        return combined;
+    }
+
+    /**
+     * Leftmost and rightmost x per generation of a subtree. Rows live in a double-ended array so
+     * both ancestors (above) and deeper descendants (below) can be added in amortised O(1).
+     */
+    private static final class Contour {
+        private double[] left = new double[4];
+        private double[] right = new double[4];
+        private int start = 2;
+        private int firstGeneration;
+        private int rowCount;
+        private double shift;
+
+        int lastGeneration() {
+            return firstGeneration + rowCount - 1;
+        }
+
+        double left(int generation) {
+            return left[start + generation - firstGeneration] + shift;
+        }
+
+        double right(int generation) {
+            return right[start + generation - firstGeneration] + shift;
+        }
+
+        boolean has(int generation) {
+            return rowCount > 0 && generation >= firstGeneration && generation <= lastGeneration()
+                    && !Double.isNaN(left[start + generation - firstGeneration]);
+        }
+
+        // Smallest extra shift for other that keeps it clear of this contour on every shared row.
+        double separationFrom(Contour other) {
+            double offset = Double.NEGATIVE_INFINITY;
+            int from = Math.max(firstGeneration, other.firstGeneration);
+            int to = Math.min(lastGeneration(), other.lastGeneration());
+            for (int generation = from; generation <= to; generation++) {
+                if (has(generation) && other.has(generation)) {
+                    offset = Math.max(offset, right(generation) - other.left(generation) + NODE_SEPARATION);
+                }
+            }
+            return offset;
+        }
+
+        void include(int generation, double x) {
+            ensureRow(generation);
+            int index = start + generation - firstGeneration;
+            double stored = x - shift;
+            if (Double.isNaN(left[index])) {
+                left[index] = stored;
+                right[index] = stored;
+            } else {
+                left[index] = Math.min(left[index], stored);
+                right[index] = Math.max(right[index], stored);
+            }
+        }
+
+        static Contour merge(Contour a, Contour b) {
+            Contour into = a.rowCount >= b.rowCount ? a : b;
+            Contour from = into == a ? b : a;
+            for (int generation = from.firstGeneration; generation <= from.lastGeneration(); generation++) {
+                if (from.has(generation)) {
+                    into.include(generation, from.left(generation));
+                    into.include(generation, from.right(generation));
+                }
+            }
+            return into;
+        }
+
+        private void ensureRow(int generation) {
+            if (rowCount == 0) {
+                firstGeneration = generation;
+                rowCount = 1;
+                left[start] = Double.NaN;
+                right[start] = Double.NaN;
+                return;
+            }
+            while (generation < firstGeneration) {
+                if (start == 0) {
+                    grow();
+                }
+                start--;
+                firstGeneration--;
+                rowCount++;
+                left[start] = Double.NaN;
+                right[start] = Double.NaN;
+            }
+            while (generation > lastGeneration()) {
+                if (start + rowCount == left.length) {
+                    grow();
+                }
+                left[start + rowCount] = Double.NaN;
+                right[start + rowCount] = Double.NaN;
+                rowCount++;
+            }
+        }
+
+        private void grow() {
+            int capacity = left.length * 2;
+            int newStart = (capacity - rowCount) / 2;
+            double[] newLeft = new double[capacity];
+            double[] newRight = new double[capacity];
+            System.arraycopy(left, start, newLeft, newStart, rowCount);
+            System.arraycopy(right, start, newRight, newStart, rowCount);
+            left = newLeft;
+            right = newRight;
+            start = newStart;
+        }
+    }
+}
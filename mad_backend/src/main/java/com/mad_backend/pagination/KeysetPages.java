@@ -0,0 +1,35 @@
+package com.mad_backend.pagination;
+
+import com.mad_backend.dto.response.CursorSliceResponse;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the keyset-paged endpoints. Queries fetch one row more than the page size; that
+ * extra row only signals that another page exists, so no COUNT query is ever needed.
+ */
+public final class KeysetPages {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPages() {
+    }
+
+    public static int pageSize(int requested) {
+        return Math.min(Math.max(requested, 1), MAX_PAGE_SIZE);
+    }
+
+    public static Limit probeLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static <E, T> CursorSliceResponse<T> slice(List<E> rows, int pageSize, Function<E, SeekCursor> cursorOf,
+                                                      Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorSliceResponse<>(page.stream().map(mapper).toList(), page.size(), hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,84 @@
+package com.mad_backend.pagination;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a keyset page: the sort key (a name, a number or a timestamp) plus the
+ * row id as a tie-breaker. Clients get it as an opaque URL-safe token and send it back unchanged; a
+ * token that does not decode, or whose key is missing or of the wrong type, fails with the same
+ * "Invalid cursor" {@link IllegalArgumentException}.
+ */
+public record SeekCursor(String key, long id) {
+
+    /** Later than any stored timestamp, so a newest-first listing starts before it. */
+    public static final LocalDateTime LATEST_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /** Position before the first page of a listing ordered by (timestamp, id) descending. */
+    public static final SeekCursor NEWEST_FIRST = new SeekCursor(LATEST_TIMESTAMP.toString(), Long.MAX_VALUE);
+
+    private static final byte FORMAT = 1;
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeBoolean(key != null);
+            if (key != null) {
+                out.writeUTF(key);
+            }
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static SeekCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != FORMAT) {
+                throw invalid(null);
+            }
+            String key = in.readBoolean() ? in.readUTF() : null;
+            SeekCursor cursor = new SeekCursor(key, in.readLong());
+            if (in.available() > 0) {
+                throw invalid(null);
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalid(e);
+        }
+    }
+
+    /** The key as written by {@link LocalDateTime#toString()}. */
+    public LocalDateTime timestampKey() {
+        return parseKey(LocalDateTime::parse);
+    }
+
+    /** The key as written by {@link LocalDate#toString()}. */
+    public LocalDate dayKey() {
+        return parseKey(LocalDate::parse);
+    }
+
+    public int intKey() {
+        return parseKey(Integer::parseInt);
+    }
+
+    private <T> T parseKey(Function<String, T> parser) {
+        if (key == null) {
+            throw invalid(null);
+        }
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw invalid(e);
+        }
+    }
+
+    private static IllegalArgumentException invalid(Exception cause) {
+        return new IllegalArgumentException("Invalid cursor", cause);
+    }
+}
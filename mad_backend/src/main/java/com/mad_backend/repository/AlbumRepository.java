@@ -9,4 +9,5 @@ import java.util.Optional;
 public interface AlbumRepository extends JpaRepository<Album, Long> {
     List<Album> findByFamily_IdAndIsDeletedFalse(Long familyId);
     Optional<Album> findByIdAndIsDeletedFalse(Long id);
+    boolean existsByIdAndIsDeletedFalse(Long id);
 }
@@ -0,0 +1,38 @@
+package com.mad_backend.repository;
+
+import com.mad_backend.dto.entity.AncestorDescendant;
+import com.mad_backend.dto.entity.AncestorDescendantId;
+import com.mad_backend.dto.response.LineageResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AncestorDescendantRepository extends JpaRepository<AncestorDescendant, AncestorDescendantId> {
+    @Query("SELECT new com.mad_backend.dto.response.LineageResponse(ad.id.descendantId, MIN(ad.id.depth)) " +
+            "FROM AncestorDescendant ad " +
+            "WHERE ad.id.ancestorId = :ancestorId AND ad.id.depth BETWEEN 1 AND :maxDepth " +
+            "GROUP BY ad.id.descendantId ORDER BY MIN(ad.id.depth), ad.id.descendantId")
+    List<LineageResponse> findDescendants(@Param("ancestorId") Long ancestorId, @Param("maxDepth") int maxDepth);
+
+    @Query("SELECT new com.mad_backend.dto.response.LineageResponse(ad.id.ancestorId, MIN(ad.id.depth)) " +
+            "FROM AncestorDescendant ad " +
+            "WHERE ad.id.descendantId = :descendantId AND ad.id.depth BETWEEN 1 AND :maxDepth " +
+            "GROUP BY ad.id.ancestorId ORDER BY MIN(ad.id.depth), ad.id.ancestorId")
+    List<LineageResponse> findAncestors(@Param("descendantId") Long descendantId, @Param("maxDepth") int maxDepth);
+
+    @Query("SELECT DISTINCT ad.id.descendantId FROM AncestorDescendant ad " +
+            "WHERE ad.id.ancestorId = :ancestorId AND ad.id.depth > 0 " +
+            "AND EXISTS (SELECT 1 FROM Image i JOIN i.family f JOIN f.users u " +
+            "WHERE u.id = ad.id.descendantId AND i.isDeleted = false AND f.isDeleted = false)")
+    List<Long> findDescendantIdsWithImages(@Param("ancestorId") Long ancestorId);
+
+    @Query("SELECT DISTINCT ad.id.ancestorId FROM AncestorDescendant ad JOIN Profile p ON p.user.id = ad.id.ancestorId " +
+            "WHERE ad.id.descendantId = :descendantId AND ad.id.depth > 0 AND LOWER(p.lastName) = LOWER(:lastName)")
+    List<Long> findAncestorIdsByLastName(@Param("descendantId") Long descendantId, @Param("lastName") String lastName);
+
+    @Query("SELECT COUNT(ad) > 0 FROM AncestorDescendant ad " +
+            "WHERE ad.id.ancestorId = :ancestorId AND ad.id.descendantId = :descendantId AND ad.id.depth > 0")
+    boolean isAncestor(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+}
@@ -0,0 +1,26 @@
+package com.mad_backend.repository;
+
+import com.mad_backend.dto.entity.EmailOutbox;
+import com.mad_backend.enums.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    // lock.timeout = -2 makes Hibernate add SKIP LOCKED, so parallel dispatchers never pick the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<EmailOutbox> findDueForDispatch(@Param("statuses") Collection<EmailOutboxStatus> statuses,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+}
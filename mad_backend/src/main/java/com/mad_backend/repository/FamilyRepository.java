@@ -1,20 +1,63 @@
 package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.Family;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FamilyRepository extends JpaRepository<Family, Long>, JpaSpecificationExecutor<Family> {
     @Query("SELECT f FROM Family f WHERE f.id = :id AND f.isDeleted = false")
     Optional<Family> findFamilyByIdAndIsDeletedFalse(@Param("id") Long id);
 
+    @EntityGraph(attributePaths = {"husband.profile", "wife.profile"})
+    Optional<Family> findDetailById(Long id);
+
+    @EntityGraph(attributePaths = {"husband.profile", "wife.profile"})
     Page<Family> findByNameContaining(String name, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"husband.profile", "wife.profile"})
+    Page<Family> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"husband.profile", "wife.profile"})
+    Page<Family> findAll(Specification<Family> spec, Pageable pageable);
+
+    // Ascending order puts NULL names first, so a NULL cursor name still has named rows after it.
+    @EntityGraph(attributePaths = {"husband.profile", "wife.profile"})
+    @Query("SELECT f FROM Family f WHERE f.isDeleted = false AND (:name IS NULL OR f.name LIKE %:name%) " +
+            "AND ((:afterName IS NULL AND (f.name IS NOT NULL OR f.id > :afterId)) " +
+            "OR f.name > :afterName OR (f.name = :afterName AND f.id > :afterId)) " +
+            "ORDER BY f.name, f.id")
+    List<Family> findByNameAfter(@Param("name") String name, @Param("afterName") String afterName,
+                                 @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT f.id, h.id, w.id FROM Family f LEFT JOIN f.husband h LEFT JOIN f.wife w WHERE f.isDeleted = false")
+    Stream<Object[]> streamSpouseLinks();
+
+    @Query("SELECT f.id, c FROM Family f JOIN f.childIds c WHERE f.isDeleted = false")
+    Stream<Object[]> streamChildLinks();
+
+    @Query("SELECT f.id, f.name FROM Family f WHERE f.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT f.id, h.id, w.id FROM Family f LEFT JOIN f.husband h LEFT JOIN f.wife w LEFT JOIN f.childIds c " +
+            "WHERE f.isDeleted = false AND (h.id IN :userIds OR w.id IN :userIds OR c IN :userIds)")
+    List<Object[]> findSpouseLinksByMemberIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT f.id, c FROM Family f JOIN f.childIds c WHERE f.id IN :familyIds")
+    List<Object[]> findChildLinksByFamilyIdIn(@Param("familyIds") Collection<Long> familyIds);
 }
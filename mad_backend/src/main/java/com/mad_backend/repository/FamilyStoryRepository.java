@@ -1,6 +1,7 @@
 package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.FamilyStory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,7 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FamilyStoryRepository extends JpaRepository<FamilyStory, Long> {
@@ -27,4 +30,26 @@ public interface FamilyStoryRepository extends JpaRepository<FamilyStory, Long>
     Page<FamilyStory> searchFamilyStories(@Param("username") String username,
                                     @Param("title") String title,
                                     Pageable pageable);
+
+    @Query("SELECT s FROM FamilyStory s WHERE " +
+            "(:username IS NULL OR s.user.username LIKE %:username%) AND " +
+            "(:title IS NULL OR s.title LIKE %:title%) AND " +
+            "(s.createdAt < :beforeCreatedAt OR (s.createdAt = :beforeCreatedAt AND s.id < :beforeId)) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<FamilyStory> searchStoriesBefore(@Param("username") String username,
+                                          @Param("title") String title,
+                                          @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                          @Param("beforeId") long beforeId,
+                                          Limit limit);
+
+    @Query("SELECT s.id, u.id, u.username, s.title, s.content FROM FamilyStory s LEFT JOIN s.user u " +
+            "WHERE s.isDeleted = false")
+    Stream<Object[]> streamSearchDocuments();
+
+    @Query("SELECT s.id, u.id, u.username, s.title, s.content FROM FamilyStory s LEFT JOIN s.user u " +
+            "WHERE s.isDeleted = false AND (s.updatedAt >= :since OR u.updatedAt >= :since)")
+    List<Object[]> findSearchDocumentsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT s.id FROM FamilyStory s WHERE s.isDeleted = false")
+    List<Long> findLiveIds();
 }
@@ -2,6 +2,8 @@ package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.FamilyTreeFamily;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,13 @@ public interface FamilyTreeFamilyRepository extends JpaRepository<FamilyTreeFami
     List<FamilyTreeFamily> findByFamilyTreeId(Long familyTreeId);
 
     boolean existsByFamilyIdAndFamilyTreeIdAndGeneration(Long familyId, Long familyTreeId, Integer generation);
+
+    @Query("SELECT f.id, ftf.generation, h.id, w.id FROM FamilyTreeFamily ftf JOIN ftf.family f " +
+            "LEFT JOIN f.husband h LEFT JOIN f.wife w " +
+            "WHERE ftf.familyTree.id = :familyTreeId AND f.isDeleted = false ORDER BY ftf.generation, f.id")
+    List<Object[]> findLayoutRowsByFamilyTreeId(@Param("familyTreeId") Long familyTreeId);
+
+    @Query("SELECT f.id, c FROM FamilyTreeFamily ftf JOIN ftf.family f JOIN f.childIds c " +
+            "WHERE ftf.familyTree.id = :familyTreeId AND f.isDeleted = false")
+    List<Object[]> findChildLinksByFamilyTreeId(@Param("familyTreeId") Long familyTreeId);
 }
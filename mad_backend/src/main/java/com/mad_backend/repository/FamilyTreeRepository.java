@@ -1,6 +1,7 @@
 package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.FamilyTree;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,9 +12,13 @@ import java.util.Optional;
 
 @Repository
 public interface FamilyTreeRepository extends JpaRepository<FamilyTree,Long> {
+    @EntityGraph(attributePaths = "familyTreeFamilies")
     @Query("SELECT f FROM FamilyTree f WHERE (:name IS NULL OR f.name = :name) AND (:age IS NULL OR f.age = :age) AND f.isDeleted = FALSE ")
     List<FamilyTree> findFamilyTreesByAgeAndName(@Param("name") String name, @Param("age") Integer age);
 
+    @EntityGraph(attributePaths = "familyTreeFamilies")
     Optional<FamilyTree> findByIdAndIsDeletedFalse(Long id);
 
+    boolean existsByIdAndIsDeletedFalse(Long id);
+
 }
@@ -0,0 +1,10 @@
+package com.mad_backend.repository;
+
+import com.mad_backend.dto.entity.GedcomImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface GedcomImportRepository extends JpaRepository<GedcomImport, Long> {
+    Optional<GedcomImport> findByIdAndIsDeletedFalse(Long id);
+}
@@ -2,10 +2,15 @@ package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.Image;
 import com.mad_backend.dto.response.ImageResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +18,61 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
     @Query("SELECT new com.mad_backend.dto.response.ImageResponse(i.id, i.url, i.createdAt) " +
             "FROM Image i WHERE i.family.id = :familyId AND i.isDeleted = false")
     List<ImageResponse> findImagesByFamilyId(@Param("familyId") Long familyId);
+
+    // Answered from idx_images_family_created_at alone and limited to a page of days, so no image row
+    // is read and nothing is counted before the page's oldest day is known.
+    @Query("SELECT DISTINCT CAST(i.createdAt AS LocalDate) FROM Image i " +
+            "WHERE i.family.id = :familyId AND i.isDeleted = false AND i.createdAt < :before " +
+            "ORDER BY CAST(i.createdAt AS LocalDate) DESC")
+    List<LocalDate> findImageDaysBefore(@Param("familyId") Long familyId,
+                                        @Param("before") LocalDateTime before,
+                                        Limit limit);
+
+    // Bounded on both sides, so it is a range scan over just the days of one page.
+
+    @Query("SELECT new com.mad_backend.dto.response.ImageResponse(i.id, i.url, i.createdAt) FROM Image i " +
+            "WHERE i.family.id = :familyId AND i.isDeleted = false AND i.createdAt >= :from AND i.createdAt < :to " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<ImageResponse> findImagesCreatedBetween(@Param("familyId") Long familyId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.mad_backend.dto.response.ImageResponse(i.id, i.url, i.createdAt) " +
+            "FROM Album a JOIN a.images i " +
+            "WHERE a.id = :albumId AND a.isDeleted = false AND i.isDeleted = false AND " +
+            "(i.createdAt < :beforeCreatedAt OR (i.createdAt = :beforeCreatedAt AND i.id < :beforeId)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<ImageResponse> findAlbumImagesBefore(@Param("albumId") Long albumId,
+                                              @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                              @Param("beforeId") long beforeId,
+                                              Limit limit);
+
+    // Anti-join on album_image rather than loading the album's images and filtering the family's in memory.
+    @Query("SELECT new com.mad_backend.dto.response.ImageResponse(i.id, i.url, i.createdAt) " +
+            "FROM Image i, Album a " +
+            "WHERE a.id = :albumId AND a.isDeleted = false AND i.family.id = :familyId AND i.isDeleted = false AND " +
+            "NOT EXISTS (SELECT 1 FROM a.images member WHERE member.id = i.id) AND " +
+            "(i.createdAt < :beforeCreatedAt OR (i.createdAt = :beforeCreatedAt AND i.id < :beforeId)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<ImageResponse> findImagesNotInAlbumBefore(@Param("familyId") Long familyId,
+                                                   @Param("albumId") Long albumId,
+                                                   @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                   @Param("beforeId") long beforeId,
+                                                   Limit limit);
+
+    @Query("SELECT new com.mad_backend.dto.response.ImageResponse(i.id, i.url, i.createdAt) FROM Image i " +
+            "WHERE i.family.id = :familyId AND i.isDeleted = false AND " +
+            "(i.createdAt < :beforeCreatedAt OR (i.createdAt = :beforeCreatedAt AND i.id < :beforeId)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<ImageResponse> findFamilyImagesBefore(@Param("familyId") Long familyId,
+                                               @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                               @Param("beforeId") long beforeId,
+                                               Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Image i SET i.isDeleted = true, i.updatedAt = :now WHERE i.id IN :ids AND i.isDeleted = false")
+    int softDeleteByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
     Optional<Image> findByIdAndIsDeletedFalse(Long id);
     List<Image> findAllByIdInAndIsDeletedFalse(List<Long> ids);
 }
@@ -1,11 +1,30 @@
 package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.Profile;
+import com.mad_backend.dto.response.ProfileResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByIdAndIsDeletedFalse(Long id);
     Optional<Profile> findByUserIdAndIsDeletedFalse(Long userId);
+
+    @Query("SELECT new com.mad_backend.dto.response.ProfileResponse(p.id, u.id, p.lastName, p.firstName, p.gender, " +
+            "p.avatarUrl, p.birthDate, p.deathDate) " +
+            "FROM User u LEFT JOIN u.profile p WHERE u.id IN :userIds AND u.isDeleted = false")
+    List<ProfileResponse> findSummariesByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT new com.mad_backend.dto.response.ProfileResponse(p.id, u.id, p.lastName, p.firstName, p.gender, " +
+            "p.avatarUrl, p.birthDate, p.deathDate) " +
+            "FROM User u JOIN u.families f LEFT JOIN u.profile p WHERE f.id = :familyId AND u.isDeleted = false")
+    List<ProfileResponse> findSummariesByFamilyId(@Param("familyId") Long familyId);
+
+    @Query("SELECT p.user.id, p.lastName FROM Profile p WHERE p.isDeleted = false AND p.lastName IS NOT NULL")
+    Stream<Object[]> streamSurnames();
 }
@@ -1,26 +1,52 @@
 package com.mad_backend.repository;
 
 import com.mad_backend.dto.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+    // Authentication runs before the request opens a persistence context, so roles load with the user.
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmailAndIsDeletedFalse(String email);
     Optional<User> findByUsernameAndIsDeletedFalse(String username);
 
+    @EntityGraph(attributePaths = "profile")
     List<User> findAllByIsDeletedFalse();
 
+    @EntityGraph(attributePaths = "profile")
     Optional<User> findByIdAndIsDeletedFalse(Long id);
 
+    @EntityGraph(attributePaths = "profile")
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false AND u.families IS EMPTY")
+    List<User> findAllWithoutFamily();
+
+    @Override
+    @EntityGraph(attributePaths = "profile")
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
+
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
 
     List<User> findByFamilies_IdAndIsDeletedFalse(Long familyId);
     List<User> findAllByIdInAndIsDeletedFalse(List<Long> id);
+
+    @Query("SELECT COALESCE(u.securityEpoch, 0) FROM User u WHERE u.id = :id AND u.isDeleted = false")
+    Optional<Long> findSecurityEpochById(@Param("id") Long id);
+
+    @Query("SELECT u.id, p.id, u.username, p.firstName, p.lastName, p.avatarUrl " +
+            "FROM User u LEFT JOIN u.profile p ON p.isDeleted = false WHERE u.isDeleted = false")
+    Stream<Object[]> streamAutocompleteEntries();
 }
@@ -0,0 +1,327 @@
+package com.mad_backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over family stories, ranked with BM25. Title, author and content are
+ * scored as one weighted field (a title hit counts three times, an author hit twice), which keeps a
+ * single postings list per term. Documents occupy reusable slots so a story can be replaced or
+ * removed without rebuilding anything else.
+ */
+@Component
+public class FamilyStorySearchIndex {
+
+    public record StoryDocument(long storyId, Long userId, String username, String title, String content) {
+    }
+
+    public record Hit(StoryDocument story, double score, String highlightedTitle, String snippet) {
+    }
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int USERNAME_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SNIPPET_LEAD = 60;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotOfStory = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+    private StoryDocument[] documents = new StoryDocument[1024];
+    private String[][] documentTerms = new String[1024][];
+    private int[] lengths = new int[1024];
+    private int slotCount;
+    private long totalLength;
+
+    public void put(StoryDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(document.storyId());
+            addUnlocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long storyId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(storyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes the stories of a user whose username changed. Returns whether any story was affected.
+     */
+    public boolean renameAuthor(long userId, String username) {
+        lock.writeLock().lock();
+        try {
+            List<StoryDocument> renamed = new ArrayList<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                StoryDocument document = documents[slot];
+                if (document != null && document.userId() != null && document.userId() == userId
+                        && !Objects.equals(document.username(), username)) {
+                    renamed.add(new StoryDocument(document.storyId(), userId, username, document.title(), document.content()));
+                }
+            }
+            for (StoryDocument document : renamed) {
+                removeUnlocked(document.storyId());
+                addUnlocked(document);
+            }
+            return !renamed.isEmpty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<StoryDocument> replacement) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotOfStory.clear();
+            freeSlots.clear();
+            documents = new StoryDocument[Math.max(1024, replacement.size())];
+            documentTerms = new String[documents.length][];
+            lengths = new int[documents.length];
+            slotCount = 0;
+            totalLength = 0;
+            replacement.forEach(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<StoryDocument> documents() {
+        lock.readLock().lock();
+        try {
+            List<StoryDocument> live = new ArrayList<>(slotOfStory.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (documents[slot] != null) {
+                    live.add(documents[slot]);
+                }
+            }
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> storyIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(slotOfStory.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotOfStory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Map.Entry<StoryDocument, Double>> ranked = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = slotOfStory.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            Map<Integer, double[]> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    int frequency = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * lengths[slot] / averageLength);
+                    scores.computeIfAbsent(slot, key -> new double[1])[0] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+
+            PriorityQueue<Map.Entry<Integer, double[]>> top = new PriorityQueue<>(
+                    Comparator.comparingDouble((Map.Entry<Integer, double[]> entry) -> entry.getValue()[0])
+                            .thenComparing(entry -> -documents[entry.getKey()].storyId()));
+            for (Map.Entry<Integer, double[]> entry : scores.entrySet()) {
+                top.add(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            while (!top.isEmpty()) {
+                Map.Entry<Integer, double[]> entry = top.poll();
+                ranked.add(Map.entry(documents[entry.getKey()], entry.getValue()[0]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Collections.reverse(ranked);
+        List<Hit> hits = new ArrayList<>(ranked.size());
+        for (Map.Entry<StoryDocument, Double> entry : ranked) {
+            StoryDocument story = entry.getKey();
+            hits.add(new Hit(story, entry.getValue(), highlight(story.title(), queryTerms, 0, lengthOf(story.title())),
+                    snippet(story.content(), queryTerms)));
+        }
+        return hits;
+    }
+
+    private void addUnlocked(StoryDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(frequencies, document.title(), TITLE_WEIGHT)
+                + count(frequencies, document.username(), USERNAME_WEIGHT)
+                + count(frequencies, document.content(), CONTENT_WEIGHT);
+
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        if (slot == documents.length) {
+            documents = Arrays.copyOf(documents, slot * 2);
+            documentTerms = Arrays.copyOf(documentTerms, slot * 2);
+            lengths = Arrays.copyOf(lengths, slot * 2);
+        }
+        documents[slot] = document;
+        documentTerms[slot] = frequencies.keySet().toArray(new String[0]);
+        lengths[slot] = length;
+        totalLength += length;
+        slotOfStory.put(document.storyId(), slot);
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new Postings()).add(slot, frequency));
+    }
+
+    private void removeUnlocked(long storyId) {
+        Integer slot = slotOfStory.remove(storyId);
+        if (slot == null) {
+            return;
+        }
+        for (String term : documentTerms[slot]) {
+            Postings list = postings.get(term);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[slot];
+        documents[slot] = null;
+        documentTerms[slot] = null;
+        lengths[slot] = 0;
+        freeSlots.push(slot);
+    }
+
+    private static int count(Map<String, Integer> frequencies, String text, int weight) {
+        int length = 0;
+        for (String term : TextAnalyzer.terms(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+            length += weight;
+        }
+        return length;
+    }
+
+    private static String snippet(String content, Set<String> queryTerms) {
+        if (content == null || content.isEmpty()) {
+            return content;
+        }
+        int firstMatch = 0;
+        for (TextAnalyzer.Token token : TextAnalyzer.tokenize(content)) {
+            if (queryTerms.contains(token.term())) {
+                firstMatch = token.start();
+                break;
+            }
+        }
+        int start = Math.max(0, firstMatch - SNIPPET_LEAD);
+        if (start > 0) {
+            int space = content.indexOf(' ', start);
+            start = space >= 0 && space < firstMatch ? space + 1 : start;
+        }
+        int end = Math.min(content.length(), start + SNIPPET_LENGTH);
+        if (end < content.length()) {
+            int space = content.lastIndexOf(' ', end);
+            end = space > firstMatch ? space : end;
+        }
+        return (start > 0 ? "…" : "") + highlight(content, queryTerms, start, end) + (end < content.length() ? "…" : "");
+    }
+
+    // Wraps matching tokens in <em> and escapes everything else, so the result is safe to render as HTML.
+    private static String highlight(String text, Set<String> queryTerms, int from, int to) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(to - from + 16);
+        int position = from;
+        for (TextAnalyzer.Token token : TextAnalyzer.tokenize(text.substring(from, to))) {
+            if (!queryTerms.contains(token.term())) {
+                continue;
+            }
+            escape(result, text, position, from + token.start());
+            result.append("<em>");
+            escape(result, text, from + token.start(), from + token.end());
+            result.append("</em>");
+            position = from + token.end();
+        }
+        escape(result, text, position, to);
+        return result.toString();
+    }
+
+    private static void escape(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static int lengthOf(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.mad_backend.search;
+
+import com.mad_backend.event.FamilyStoryChangedEvent;
+import com.mad_backend.event.PersonChangedEvent;
+import com.mad_backend.repository.FamilyStoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link FamilyStorySearchIndex} at startup and keeps it current. A snapshot on local disk is
+ * preferred over reading every story from MySQL: after loading it, only stories updated since the
+ * snapshot was taken, or whose author was renamed since, are re-read, and ids that no longer exist are
+ * dropped. Changes made through the API, including author renames, are applied as they commit, and a
+ * fresh snapshot is written periodically and on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+public class FamilyStorySearchIndexLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FamilyStorySearchIndexLoader.class);
+
+    // Allows for clock differences between application instances writing updated_at.
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    private final FamilyStorySearchIndex familyStorySearchIndex;
+    private final FamilyStoryRepository familyStoryRepository;
+
+    @Value("${app.story-search.snapshot-path:data/story-search.snapshot}")
+    private Path snapshotPath;
+
+    private volatile boolean dirty;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        Optional<FamilyStorySearchSnapshot> snapshot = readSnapshot();
+        if (snapshot.isPresent()) {
+            familyStorySearchIndex.replaceAll(snapshot.get().documents());
+            LocalDateTime since = LocalDateTime.ofInstant(snapshot.get().takenAt().minus(CATCH_UP_MARGIN), ZoneId.systemDefault());
+            List<Object[]> updated = familyStoryRepository.findSearchDocumentsUpdatedSince(since);
+            updated.forEach(row -> familyStorySearchIndex.put(toDocument(row)));
+
+            Set<Long> removed = familyStorySearchIndex.storyIds();
+            removed.removeAll(familyStoryRepository.findLiveIds());
+            removed.forEach(familyStorySearchIndex::remove);
+            dirty = !updated.isEmpty() || !removed.isEmpty();
+            LOGGER.info("Story search index restored from {}: {} stories, {} updated, {} removed in {} ms",
+                    snapshotPath, familyStorySearchIndex.size(), updated.size(), removed.size(),
+                    System.currentTimeMillis() - startedAt);
+            return;
+        }
+
+        Instant takenAt = Instant.now();
+        List<FamilyStorySearchIndex.StoryDocument> documents = new ArrayList<>();
+        try (Stream<Object[]> rows = familyStoryRepository.streamSearchDocuments()) {
+            rows.forEach(row -> documents.add(toDocument(row)));
+        }
+        familyStorySearchIndex.replaceAll(documents);
+        writeSnapshot(takenAt);
+        LOGGER.info("Story search index built from the database: {} stories in {} ms",
+                documents.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFamilyStoryChanged(FamilyStoryChangedEvent event) {
+        if (event.deleted()) {
+            familyStorySearchIndex.remove(event.storyId());
+        } else {
+            familyStorySearchIndex.put(new FamilyStorySearchIndex.StoryDocument(event.storyId(), event.userId(),
+                    event.username(), event.title(), event.content()));
+        }
+        dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonChanged(PersonChangedEvent event) {
+        if (!event.deleted() && event.userId() != null
+                && familyStorySearchIndex.renameAuthor(event.userId(), event.username())) {
+            dirty = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.story-search.snapshot-interval-ms:60000}",
+            initialDelayString = "${app.story-search.snapshot-interval-ms:60000}")
+    public void snapshotIfDirty() {
+        if (dirty) {
+            writeSnapshot(Instant.now());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshotIfDirty();
+    }
+
+    private synchronized void writeSnapshot(Instant takenAt) {
+        // Cleared before copying, so a change that lands during the write marks the next snapshot as needed.
+        dirty = false;
+        try {
+            new FamilyStorySearchSnapshot(takenAt, familyStorySearchIndex.documents()).write(snapshotPath);
+        } catch (IOException e) {
+            dirty = true;
+            LOGGER.warn("Could not write story search snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private Optional<FamilyStorySearchSnapshot> readSnapshot() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(FamilyStorySearchSnapshot.read(snapshotPath));
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable story search snapshot {}: {}", snapshotPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static FamilyStorySearchIndex.StoryDocument toDocument(Object[] row) {
+        return new FamilyStorySearchIndex.StoryDocument((Long) row[0], (Long) row[1], (String) row[2],
+                (String) row[3], (String) row[4]);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mad_backend.search;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * On-disk copy of the story index documents. The file is written next to its final location and
+ * moved into place, so a crash mid-write leaves the previous snapshot intact.
+ */
+public record FamilyStorySearchSnapshot(Instant takenAt, List<FamilyStorySearchIndex.StoryDocument> documents) {
+
+    private static final int MAGIC = 0x46535331;
+    private static final int FORMAT = 1;
+
+    public void write(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(takenAt.toEpochMilli());
+                out.writeInt(documents.size());
+                for (FamilyStorySearchIndex.StoryDocument document : documents) {
+                    out.writeLong(document.storyId());
+                    out.writeLong(document.userId() != null ? document.userId() : -1L);
+                    writeString(out, document.username());
+                    writeString(out, document.title());
+                    writeString(out, document.content());
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static FamilyStorySearchSnapshot read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                throw new IOException("Unsupported story index snapshot: " + path);
+            }
+            Instant takenAt = Instant.ofEpochMilli(in.readLong());
+            int count = in.readInt();
+            List<FamilyStorySearchIndex.StoryDocument> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long storyId = in.readLong();
+                long userId = in.readLong();
+                documents.add(new FamilyStorySearchIndex.StoryDocument(storyId, userId >= 0 ? userId : null,
+                        readString(in), readString(in), readString(in)));
+            }
+            return new FamilyStorySearchSnapshot(takenAt, documents);
+        }
+    }
+
+    // Length-prefixed UTF-8; writeUTF would cap story content at 64 KB.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
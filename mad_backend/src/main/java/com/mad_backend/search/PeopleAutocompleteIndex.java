@@ -0,0 +1,453 @@
+package com.mad_backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete over people by username and profile first and last name, folded with
+ * {@link TextAnalyzer} so "nguyen" finds "Nguyễn". Distinct terms live in a sorted dictionary for
+ * prefix lookups and in a trigram index for matches inside a term; each term has a dense id and
+ * points at the person slots that use it. The query token with the fewest postings drives the
+ * candidate set and the other tokens are checked against each candidate's handful of term ids.
+ * Matching terms are visited best first, so the scan stops as soon as no remaining term can beat the
+ * current top k; among equally scored people the first found win, which keeps a bare surname from
+ * walking every namesake.
+ */
+@Component
+public class PeopleAutocompleteIndex {
+
+    public record Person(long userId, Long profileId, String username, String firstName, String lastName,
+                         String avatarUrl) {
+
+        public String fullName() {
+            if (lastName == null && firstName == null) {
+                return username;
+            }
+            return lastName == null ? firstName : firstName == null ? lastName : lastName + " " + firstName;
+        }
+    }
+
+    public record Suggestion(Person person, int score) {
+    }
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+    // One- and two-letter prefixes can match much of the dictionary; only the closest terms are used.
+    private static final int MAX_MATCHED_TERMS = 256;
+    private static final int MAX_CANDIDATES = 2048;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<Long, TermList> termsByTrigram = new HashMap<>();
+    private final Map<Long, Integer> slotOfUser = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private final ArrayDeque<Integer> freeTermIds = new ArrayDeque<>();
+
+    private Person[] people = new Person[1024];
+    private int[][] personTerms = new int[1024][];
+    private int[] nameLengths = new int[1024];
+    private int slotCount;
+    private Postings[] termsById = new Postings[1024];
+    private int termCount;
+
+    public void put(Person person) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(person.userId());
+            addUnlocked(person);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<Person> replacement) {
+        lock.writeLock().lock();
+        try {
+            dictionary.clear();
+            termsByTrigram.clear();
+            slotOfUser.clear();
+            freeSlots.clear();
+            freeTermIds.clear();
+            people = new Person[Math.max(1024, replacement.size())];
+            personTerms = new int[people.length][];
+            nameLengths = new int[people.length];
+            slotCount = 0;
+            termsById = new Postings[1024];
+            termCount = 0;
+            replacement.forEach(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotOfUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        List<String> tokens = TextAnalyzer.terms(query).stream().distinct().toList();
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            TermMatches[] matches = new TermMatches[tokens.size()];
+            int driver = 0;
+            long driverPostings = Long.MAX_VALUE;
+            int bestPossible = 0;
+            for (int t = 0; t < matches.length; t++) {
+                TermMatches matched = matchTerms(tokens.get(t));
+                if (matched.size == 0) {
+                    return List.of();
+                }
+                bestPossible += matched.qualities[0];
+                if (matched.postingsCount < driverPostings) {
+                    driver = t;
+                    driverPostings = matched.postingsCount;
+                }
+                matches[t] = matched;
+            }
+
+            TopSlots top = new TopSlots(limit);
+            TermMatches driving = matches[driver];
+            int otherBest = bestPossible - driving.qualities[0];
+            int candidates = 0;
+            scan:
+            for (int order = 0; order < driving.size; order++) {
+                Postings postings = driving.terms[order];
+                int bound = otherBest + driving.qualities[order];
+                for (int i = 0; i < postings.size; i++) {
+                    if (candidates == MAX_CANDIDATES || (top.isFull() && top.lowestScore() >= bound)) {
+                        break scan;
+                    }
+                    int slot = postings.slots[i];
+                    // A person with several matching terms is scored once, from its first matching term.
+                    if (firstMatchOrder(slot, driving) != order) {
+                        continue;
+                    }
+                    candidates++;
+                    int score = score(slot, matches);
+                    if (score > 0) {
+                        top.offer(slot, score, nameLengths[slot], people[slot].userId());
+                    }
+                }
+            }
+
+            List<Suggestion> suggestions = new ArrayList<>(top.size);
+            for (int i = 0; i < top.size; i++) {
+                suggestions.add(new Suggestion(people[top.slots[i]], top.scores[i]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called under the read lock. Terms come back best first: the exact term, prefix matches in
+    // dictionary order, then matches inside a term.
+    private TermMatches matchTerms(String token) {
+        TermMatches matched = new TermMatches();
+        for (Postings postings : dictionary.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            matched.add(postings, postings.term.length() == token.length() ? EXACT : PREFIX);
+            if (matched.size == MAX_MATCHED_TERMS) {
+                return matched;
+            }
+        }
+        if (token.length() < 3) {
+            return matched;
+        }
+
+        TermList smallest = null;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            TermList withTrigram = termsByTrigram.get(trigram(token, i));
+            if (withTrigram == null) {
+                return matched;
+            }
+            if (smallest == null || withTrigram.size < smallest.size) {
+                smallest = withTrigram;
+            }
+        }
+        for (int i = 0; i < smallest.size && matched.size < MAX_MATCHED_TERMS; i++) {
+            Postings postings = smallest.terms[i];
+            if (postings.term.contains(token) && matched.order(postings.termId) < 0) {
+                matched.add(postings, INFIX);
+            }
+        }
+        return matched;
+    }
+
+    private int firstMatchOrder(int slot, TermMatches matched) {
+        int first = Integer.MAX_VALUE;
+        for (int termId : personTerms[slot]) {
+            int order = matched.order(termId);
+            if (order >= 0) {
+                first = Math.min(first, order);
+            }
+        }
+        return first;
+    }
+
+    private int score(int slot, TermMatches[] matches) {
+        int score = 0;
+        for (TermMatches matched : matches) {
+            int best = 0;
+            for (int termId : personTerms[slot]) {
+                int order = matched.order(termId);
+                if (order >= 0) {
+                    best = Math.max(best, matched.qualities[order]);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private void addUnlocked(Person person) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(TextAnalyzer.terms(person.username()));
+        terms.addAll(TextAnalyzer.terms(person.lastName()));
+        terms.addAll(TextAnalyzer.terms(person.firstName()));
+
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        if (slot == people.length) {
+            people = Arrays.copyOf(people, slot * 2);
+            personTerms = Arrays.copyOf(personTerms, slot * 2);
+            nameLengths = Arrays.copyOf(nameLengths, slot * 2);
+        }
+        String fullName = person.fullName();
+        people[slot] = person;
+        nameLengths[slot] = fullName != null ? fullName.length() : 0;
+        slotOfUser.put(person.userId(), slot);
+
+        int[] termIds = new int[terms.size()];
+        int index = 0;
+        for (String term : terms) {
+            Postings postings = dictionary.get(term);
+            if (postings == null) {
+                postings = newTerm(term);
+            }
+            postings.add(slot);
+            termIds[index++] = postings.termId;
+        }
+        personTerms[slot] = termIds;
+    }
+
+    private void removeUnlocked(long userId) {
+        Integer slot = slotOfUser.remove(userId);
+        if (slot == null) {
+            return;
+        }
+        for (int termId : personTerms[slot]) {
+            Postings postings = termsById[termId];
+            postings.remove(slot);
+            if (postings.size == 0) {
+                dropTerm(postings);
+            }
+        }
+        people[slot] = null;
+        personTerms[slot] = null;
+        nameLengths[slot] = 0;
+        freeSlots.push(slot);
+    }
+
+    private Postings newTerm(String term) {
+        int termId = freeTermIds.isEmpty() ? termCount++ : freeTermIds.pop();
+        if (termId == termsById.length) {
+            termsById = Arrays.copyOf(termsById, termId * 2);
+        }
+        Postings postings = new Postings(term, termId);
+        termsById[termId] = postings;
+        dictionary.put(term, postings);
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            termsByTrigram.computeIfAbsent(trigram(term, i), key -> new TermList()).add(postings);
+        }
+        return postings;
+    }
+
+    private void dropTerm(Postings postings) {
+        String term = postings.term;
+        dictionary.remove(term);
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            long key = trigram(term, i);
+            TermList withTrigram = termsByTrigram.get(key);
+            withTrigram.remove(postings);
+            if (withTrigram.size == 0) {
+                termsByTrigram.remove(key);
+            }
+        }
+        termsById[postings.termId] = null;
+        freeTermIds.push(postings.termId);
+    }
+
+    private static long trigram(String term, int from) {
+        return ((long) term.charAt(from) << 32) | ((long) term.charAt(from + 1) << 16) | term.charAt(from + 2);
+    }
+
+    private static final class Postings {
+        private final String term;
+        private final int termId;
+        private int[] slots = new int[2];
+        private int size;
+
+        Postings(String term, int termId) {
+            this.term = term;
+            this.termId = termId;
+        }
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class TermList {
+        private Postings[] terms = new Postings[2];
+        private int size;
+
+        void add(Postings postings) {
+            if (size == terms.length) {
+                terms = Arrays.copyOf(terms, size * 2);
+            }
+            terms[size++] = postings;
+        }
+
+        void remove(Postings postings) {
+            for (int i = 0; i < size; i++) {
+                if (terms[i] == postings) {
+                    terms[i] = terms[--size];
+                    terms[size] = null;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Terms matched by one query token in the order they were found, with an open-addressing table from
+     * term id to that order so candidates can be checked without touching strings.
+     */
+    private static final class TermMatches {
+        private static final int TABLE_BITS = 10;
+        private static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+        private final Postings[] terms = new Postings[MAX_MATCHED_TERMS];
+        private final int[] qualities = new int[MAX_MATCHED_TERMS];
+        private final int[] keys = new int[TABLE_SIZE];
+        private final int[] orders = new int[TABLE_SIZE];
+        private int size;
+        private long postingsCount;
+
+        void add(Postings postings, int quality) {
+            int slot = slotOf(postings.termId);
+            keys[slot] = postings.termId + 1;
+            orders[slot] = size;
+            terms[size] = postings;
+            qualities[size] = quality;
+            postingsCount += postings.size;
+            size++;
+        }
+
+        int order(int termId) {
+            int slot = slotOf(termId);
+            return keys[slot] == 0 ? -1 : orders[slot];
+        }
+
+        // Keys are stored as term id + 1 so that zero marks an empty table entry.
+        private int slotOf(int termId) {
+            int slot = (termId * 0x9E3779B9) >>> (32 - TABLE_BITS);
+            while (keys[slot] != 0 && keys[slot] != termId + 1) {
+                slot = (slot + 1) & (TABLE_SIZE - 1);
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Best {@code limit} slots kept sorted by score, then shorter name, then lower user id. Most
+     * candidates lose to the current last place and are rejected with one comparison.
+     */
+    private static final class TopSlots {
+        private final int[] slots;
+        private final int[] scores;
+        private final int[] lengths;
+        private final long[] userIds;
+        private int size;
+
+        TopSlots(int limit) {
+            slots = new int[limit];
+            scores = new int[limit];
+            lengths = new int[limit];
+            userIds = new long[limit];
+        }
+
+        boolean isFull() {
+            return size == slots.length;
+        }
+
+        int lowestScore() {
+            return scores[size - 1];
+        }
+
+        void offer(int slot, int score, int length, long userId) {
+            int position = size;
+            while (position > 0 && before(score, length, userId, position - 1)) {
+                position--;
+            }
+            if (position == slots.length) {
+                return;
+            }
+            int moved = Math.min(size, slots.length - 1) - position;
+            System.arraycopy(slots, position, slots, position + 1, moved);
+            System.arraycopy(scores, position, scores, position + 1, moved);
+            System.arraycopy(lengths, position, lengths, position + 1, moved);
+            System.arraycopy(userIds, position, userIds, position + 1, moved);
+            slots[position] = slot;
+            scores[position] = score;
+            lengths[position] = length;
+            userIds[position] = userId;
+            size = Math.min(size + 1, slots.length);
+        }
+
+        private boolean before(int score, int length, long userId, int index) {
+            if (score != scores[index]) {
+                return score > scores[index];
+            }
+            if (length != lengths[index]) {
+                return length < lengths[index];
+            }
+            return userId < userIds[index];
+        }
+    }
+}
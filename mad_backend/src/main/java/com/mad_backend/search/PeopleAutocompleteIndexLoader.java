@@ -0,0 +1,54 @@
+package com.mad_backend.search;
+
+import com.mad_backend.event.PersonChangedEvent;
+import com.mad_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link PeopleAutocompleteIndex} from users and their profiles at startup and keeps it current
+ * as users and profiles are saved or deleted.
+ */
+@Component
+@RequiredArgsConstructor
+public class PeopleAutocompleteIndexLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PeopleAutocompleteIndexLoader.class);
+
+    private final PeopleAutocompleteIndex peopleAutocompleteIndex;
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        List<PeopleAutocompleteIndex.Person> people = new ArrayList<>();
+        try (Stream<Object[]> rows = userRepository.streamAutocompleteEntries()) {
+            rows.forEach(row -> people.add(new PeopleAutocompleteIndex.Person((Long) row[0], (Long) row[1],
+                    (String) row[2], (String) row[3], (String) row[4], (String) row[5])));
+        }
+        peopleAutocompleteIndex.replaceAll(people);
+        LOGGER.info("People autocomplete index loaded: {} people in {} ms",
+                people.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonChanged(PersonChangedEvent event) {
+        if (event.deleted()) {
+            peopleAutocompleteIndex.remove(event.userId());
+        } else {
+            peopleAutocompleteIndex.put(new PeopleAutocompleteIndex.Person(event.userId(), event.profileId(),
+                    event.username(), event.firstName(), event.lastName(), event.avatarUrl()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mad_backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into search terms folded the same way usernames are: NFD, combining marks stripped,
+ * đ to d, lower case. "Nguyễn Đức" and "nguyen duc" therefore produce the same terms. Tokens keep
+ * their offsets in the original text so matches can be highlighted.
+ */
+public final class TextAnalyzer {
+
+    public record Token(String term, int start, int end) {
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    private TextAnalyzer() {
+    }
+
+    public static String fold(String text) {
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'd')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (!isWordPart(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            int start = i;
+            while (i < length && isWordPart(codePoint = text.codePointAt(i))) {
+                i += Character.charCount(codePoint);
+            }
+            String term = fold(text.substring(start, i));
+            if (!term.isEmpty()) {
+                tokens.add(new Token(term, start, i));
+            }
+        }
+        return tokens;
+    }
+
+    public static List<String> terms(String text) {
+        return tokenize(text).stream().map(Token::term).toList();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Text stored already decomposed keeps its combining marks inside the word.
+    private static boolean isWordPart(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) || Character.getType(codePoint) == Character.NON_SPACING_MARK;
+    }
+}
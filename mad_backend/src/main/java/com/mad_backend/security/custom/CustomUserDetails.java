@@ -18,6 +18,7 @@ public class CustomUserDetails implements UserDetails {
     private String email;
     private String password;
     private List<Role> roles;
+    private long securityEpoch;
     private Collection<? extends GrantedAuthority> authorities;
 
     @Override
@@ -6,6 +6,8 @@ import com.mad_backend.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
@@ -15,20 +17,43 @@ import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final SecurityEpochRegistry securityEpochRegistry;
 
     @Override
     public CustomUserDetails loadUserByUsername(String email) {
         User user = userRepository.findByEmailAndIsDeletedFalse(email)
                 .orElseThrow(() -> new EntityNotFoundException("User not found/deleted!"));
-        List<Role> roles = user.getRoles();
+        securityEpochRegistry.prime(user);
+        return toUserDetails(user.getId(), user.getEmail(), user.getPassword(), user.getRoles(),
+                SecurityEpochRegistry.epochOf(user));
+    }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored hash was
+     * created with a lower BCrypt strength than the one currently configured.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmailAndIsDeletedFalse(userDetails.getUsername()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            userRepository.save(user);
+        });
+        CustomUserDetails customUserDetails = (CustomUserDetails) userDetails;
+        customUserDetails.setPassword(newPassword);
+        return customUserDetails;
+    }
+
+    public static CustomUserDetails toUserDetails(Long userId, String email, String password, List<Role> roles,
+                                                  long securityEpoch) {
         return new CustomUserDetails(
-                user.getId(),
-                user.getEmail(),
-                user.getPassword(),
+                userId,
+                email,
+                password,
                 roles,
+                securityEpoch,
                 roles.stream()
                         .map(role -> new SimpleGrantedAuthority("ROLE_"+role))
                         .collect(Collectors.toList())
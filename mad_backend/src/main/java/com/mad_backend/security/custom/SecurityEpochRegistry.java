@@ -0,0 +1,70 @@
+package com.mad_backend.security.custom;
+
+import com.mad_backend.dto.entity.User;
+import com.mad_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of each user's security epoch. Tokens carry the epoch they were issued under and
+ * stop being accepted as soon as the epoch is rotated (password or role change) or revoked
+ * (user deleted), without a database round trip per request. Rotations and revocations made inside
+ * a transaction only reach the map once it commits, so a rollback leaves the stored epoch and the
+ * accepted tokens in agreement.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecurityEpochRegistry {
+
+    public static final long REVOKED = -1L;
+
+    private final UserRepository userRepository;
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    public long currentEpoch(Long userId) {
+        return epochs.computeIfAbsent(userId, id -> userRepository.findSecurityEpochById(id).orElse(REVOKED));
+    }
+
+    public boolean isCurrent(Long userId, long epoch) {
+        return epoch != REVOKED && currentEpoch(userId) == epoch;
+    }
+
+    public void prime(User user) {
+        epochs.put(user.getId(), epochOf(user));
+    }
+
+    public void rotate(User user) {
+        long epoch = epochOf(user) + 1;
+        user.setSecurityEpoch(epoch);
+        Long userId = user.getId();
+        if (userId != null) {
+            afterCommit(() -> epochs.put(userId, epoch));
+        }
+    }
+
+    public void revoke(Long userId) {
+        afterCommit(() -> epochs.put(userId, REVOKED));
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public static long epochOf(User user) {
+        return user.getSecurityEpoch() != null ? user.getSecurityEpoch() : 0L;
+    }
+}
@@ -3,6 +3,7 @@ package com.mad_backend.security.jwt;
 import com.mad_backend.repository.UserRepository;
 import com.mad_backend.security.custom.CustomUserDetails;
 import com.mad_backend.security.custom.CustomUserDetailsService;
+import com.mad_backend.security.custom.SecurityEpochRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -28,6 +29,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private JwtTokenProvider jwtTokenProvider;
     private CustomUserDetailsService customUserDetailsService;
+    private SecurityEpochRegistry securityEpochRegistry;
 
     private static final List<String> WHITELIST_PATHS = List.of(
             LOGIN_URI,
@@ -48,18 +50,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getJwtFromRequest(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Boolean needToReset = (Boolean) jwtTokenProvider.getCheckResetClaim(token);
+        JwtClaims claims = token != null ? jwtTokenProvider.parseToken(token).orElse(null) : null;
 
-            if (Boolean.TRUE.equals(needToReset) &&
+        if (claims != null) {
+            if (claims.needToReset() &&
                     !path.equals(CHANGE_PASSWORD_URI) &&
                     !path.equals(CURRENT_USER_URI)) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN, "Password reset required to use this feature");
                 return;
             }
 
-            String email = jwtTokenProvider.getUsernameFromToken(token);
-            CustomUserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            CustomUserDetails userDetails = resolveUserDetails(claims);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -70,6 +75,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private CustomUserDetails resolveUserDetails(JwtClaims claims) {
+        if (!claims.isSelfContained()) {
+            return customUserDetailsService.loadUserByUsername(claims.email());
+        }
+        if (!securityEpochRegistry.isCurrent(claims.userId(), claims.securityEpoch())) {
+            return null;
+        }
+        return CustomUserDetailsService.toUserDetails(claims.userId(), claims.email(), null, claims.roles(),
+                claims.securityEpoch());
+    }
+
     private Cookie getCookieByName(HttpServletRequest request, String name) {
         Cookie[] cookies = request.getCookies();
         if (cookies != null) {
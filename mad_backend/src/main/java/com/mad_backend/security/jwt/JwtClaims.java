@@ -0,0 +1,39 @@
+package com.mad_backend.security.jwt;
+
+import com.mad_backend.enums.Role;
+import io.jsonwebtoken.Claims;
+
+import java.util.List;
+
+public record JwtClaims(String email, Long userId, List<Role> roles, long securityEpoch,
+                        boolean needToReset, long expiresAtMillis) {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    static final String EPOCH_CLAIM = "epoch";
+
+    static JwtClaims from(Claims claims, String resetClaim) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number epoch = claims.get(EPOCH_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return new JwtClaims(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                roles != null ? roles.stream().map(role -> Role.valueOf(role.toString())).toList() : List.of(),
+                epoch != null ? epoch.longValue() : 0L,
+                Boolean.TRUE.equals(claims.get(resetClaim, Boolean.class)),
+                claims.getExpiration().getTime()
+        );
+    }
+
+    /**
+     * Tokens issued before the user id and roles were embedded still need a database lookup.
+     */
+    public boolean isSelfContained() {
+        return userId != null;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
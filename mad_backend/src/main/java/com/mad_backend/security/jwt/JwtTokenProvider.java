@@ -1,7 +1,12 @@
 package com.mad_backend.security.jwt;
 
+import com.mad_backend.enums.Role;
 import com.mad_backend.security.custom.CustomUserDetails;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -10,20 +15,35 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
+
     @Value("${app.jwt-secret}")
     private String jwtSecret;
 
     @Value("${app.jwt-expiration}")
     private Long jwtExpiration;
 
+    @Value("${app.jwt-cache-size:10000}")
+    private int jwtCacheSize;
+
     private static final String RESET_CLAIM = "needToReset";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokenCache = new VerifiedTokenCache(jwtCacheSize);
     }
 
     public String generateToken(Authentication authentication) {
@@ -32,50 +52,54 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtClaims.USER_ID_CLAIM, userDetails.getUserId());
+        claims.put(JwtClaims.ROLES_CLAIM, userDetails.getRoles().stream().map(Role::name).toList());
+        claims.put(JwtClaims.EPOCH_CLAIM, userDetails.getSecurityEpoch());
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    /**
+     * Verifies the token once and returns its claims, or empty when the token is invalid or expired.
+     * Tokens verified earlier are served from the cache without repeating the signature check.
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        JwtClaims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            JwtClaims claims = JwtClaims.from(jwtParser.parseClaimsJws(token).getBody(), RESET_CLAIM);
+            verifiedTokenCache.put(token, claims);
+            return Optional.of(claims);
         } catch (ExpiredJwtException ex) {
             System.out.println("Token đã hết hạn: " + ex.getMessage());
         } catch (MalformedJwtException ex) {
             System.out.println("Token không hợp lệ: " + ex.getMessage());
+        } catch (SignatureException ex) {
+            LOGGER.debug("Chữ ký token không hợp lệ: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
             System.out.println("Token không được hỗ trợ: " + ex.getMessage());
         } catch (IllegalArgumentException ex) {
             System.out.println("Chuỗi JWT trống hoặc không hợp lệ: " + ex.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
-    public Object getCheckResetClaim(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get(RESET_CLAIM);
+    public String getUsernameFromToken(String token) {
+        return parseToken(token)
+                .map(JwtClaims::email)
+                .orElse(null);
+    }
+
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
     }
 }
@@ -0,0 +1,75 @@
+package com.mad_backend.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by the SHA-256 digest
+ * of the raw token so the cache never holds the bearer credential itself. Entries are dropped once
+ * the token expires.
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxSize;
+    private final Map<ByteBuffer, JwtClaims> entries;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, maxSize));
+    }
+
+    JwtClaims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        JwtClaims claims = entries.get(key);
+        if (claims != null && claims.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String token, JwtClaims claims) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest(token), claims);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(claims -> claims.isExpired(now));
+
+        Iterator<ByteBuffer> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.mad_backend.security.password;
+
+import com.mad_backend.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a small dedicated pool so bursts of logins cannot occupy every Tomcat thread.
+ * When the pool and its queue are full the call is rejected immediately and surfaces as a 503.
+ * Only the hash itself runs on the pool; callers do their database work on their own thread, and
+ * should hash before opening a transaction so a queued task does not hold a pooled connection.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${app.password-hashing.bcrypt-strength:10}") int bcryptStrength,
+                                   @Value("${app.password-hashing.threads:0}") int threads,
+                                   @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.password-hashing.timeout-ms:10000}") long timeoutMillis) {
+        this(new BCryptPasswordEncoder(bcryptStrength), meterRegistry, threads, queueCapacity, timeoutMillis);
+    }
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   int threads,
+                                   int queueCapacity,
+                                   long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full or timed out")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return execute("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Compares cost factors only, so it runs on the caller's thread.
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer timer = Timer.builder("auth.password.hashing.duration")
+                .description("Time spent running a password hashing task, excluding queue wait")
+                .tag("operation", operation)
+                .register(meterRegistry);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException("Server is busy, please try again later");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException("Server is busy, please try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,32 @@
+package com.mad_backend.security.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The application's {@link PasswordEncoder}: every hash and comparison runs on the
+ * {@link PasswordHashingExecutor} pool. The authentication provider looks the user up and rehashes
+ * old passwords on the request thread and only hands the BCrypt calls to the pool.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    public PooledPasswordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingExecutor.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingExecutor.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordHashingExecutor.upgradeEncoding(encodedPassword);
+    }
+}
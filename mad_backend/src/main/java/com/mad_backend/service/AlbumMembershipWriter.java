@@ -0,0 +1,161 @@
+package com.mad_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Changes album membership straight on {@code album_image} with set semantics. Requested ids are
+ * deduplicated, checked against the album's family in one IN query, ids already in the album are
+ * skipped and the rest are inserted as one JDBC batch; removals are a single DELETE. Album rows are
+ * locked first, so concurrent changes to one album queue up instead of inserting the same row twice.
+ * Must run inside the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlbumMembershipWriter {
+
+    private static final String LOCK_ALBUM =
+            "SELECT family_id FROM albums WHERE id = ? AND is_deleted = false FOR UPDATE";
+    private static final String SELECT_LIVE_IMAGES =
+            "SELECT id FROM images WHERE family_id = :familyId AND is_deleted = false AND id IN (:imageIds)";
+    private static final String SELECT_MEMBERS =
+            "SELECT image_id FROM album_image WHERE album_id = :albumId AND image_id IN (:imageIds)";
+    private static final String INSERT_MEMBER = "INSERT INTO album_image (album_id, image_id) VALUES (?, ?)";
+    private static final String DELETE_MEMBERS =
+            "DELETE FROM album_image WHERE album_id = :albumId AND image_id IN (:imageIds)";
+    private static final String DETACH_IMAGES = "DELETE FROM album_image WHERE image_id IN (:imageIds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Adds the images to the album and returns how many were not in it yet. Every id must be a live
+     * image of the album's family.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int add(long albumId, Collection<Long> imageIds) {
+        long familyId = lockAlbum(albumId);
+        Set<Long> requested = distinct(imageIds);
+        if (requested.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> live = new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_LIVE_IMAGES,
+                new MapSqlParameterSource("familyId", familyId).addValue("imageIds", requested), Long.class));
+        if (live.size() < requested.size()) {
+            String missing = requested.stream()
+                    .filter(id -> !live.contains(id))
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            throw new NoSuchElementException("Image not found with id: " + missing);
+        }
+
+        requested.removeAll(members(albumId, requested));
+        insert(albumId, requested);
+        return requested.size();
+    }
+
+    /**
+     * Removes the images from the album and returns how many were in it; ids that are not are ignored.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int remove(long albumId, Collection<Long> imageIds) {
+        lockAlbum(albumId);
+        Set<Long> requested = distinct(imageIds);
+        if (requested.isEmpty()) {
+            return 0;
+        }
+        Set<Long> present = members(albumId, requested);
+        delete(albumId, present);
+        return present.size();
+    }
+
+    /**
+     * Moves the images that are in the source album to the target album of the same family and returns
+     * how many moved. Images the target already holds are only taken out of the source.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int move(long sourceAlbumId, long targetAlbumId, Collection<Long> imageIds) {
+        if (sourceAlbumId == targetAlbumId) {
+            throw new IllegalArgumentException("Source and target album must differ");
+        }
+        // Lock in id order so two opposite moves cannot deadlock.
+        long firstFamilyId = lockAlbum(Math.min(sourceAlbumId, targetAlbumId));
+        long secondFamilyId = lockAlbum(Math.max(sourceAlbumId, targetAlbumId));
+        if (firstFamilyId != secondFamilyId) {
+            throw new IllegalArgumentException("Images can only be moved between albums of the same family");
+        }
+        Set<Long> requested = distinct(imageIds);
+        if (requested.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> moving = members(sourceAlbumId, requested);
+        if (moving.isEmpty()) {
+            return 0;
+        }
+        delete(sourceAlbumId, moving);
+        Set<Long> missingFromTarget = new LinkedHashSet<>(moving);
+        missingFromTarget.removeAll(members(targetAlbumId, moving));
+        insert(targetAlbumId, missingFromTarget);
+        return moving.size();
+    }
+
+    /**
+     * Takes the images out of every album that holds them, for images that are being deleted. Album rows
+     * are not locked: the images are gone either way, so there is nothing for concurrent changes to race on.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int detach(Collection<Long> imageIds) {
+        if (imageIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(DETACH_IMAGES, new MapSqlParameterSource("imageIds", imageIds));
+    }
+
+    private long lockAlbum(long albumId) {
+        List<Long> familyIds = jdbcTemplate.queryForList(LOCK_ALBUM, Long.class, albumId);
+        if (familyIds.isEmpty()) {
+            throw new NoSuchElementException("Album not found!");
+        }
+        return familyIds.get(0) != null ? familyIds.get(0) : 0L;
+    }
+
+    private Set<Long> members(long albumId, Set<Long> imageIds) {
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_MEMBERS,
+                new MapSqlParameterSource("albumId", albumId).addValue("imageIds", imageIds), Long.class));
+    }
+
+    private void insert(long albumId, Set<Long> imageIds) {
+        if (imageIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_MEMBER, imageIds.stream()
+                .map(imageId -> new Object[]{albumId, imageId})
+                .toList());
+    }
+
+    private void delete(long albumId, Set<Long> imageIds) {
+        if (imageIds.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(DELETE_MEMBERS,
+                new MapSqlParameterSource("albumId", albumId).addValue("imageIds", imageIds));
+    }
+
+    private static Set<Long> distinct(Collection<Long> imageIds) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if (imageIds != null) {
+            imageIds.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
+}
@@ -19,5 +19,11 @@ public interface AlbumService {
 
     long deleteImagesOfAlbum(Long albumId, List<ImageRequest> listImage);
 
+    int addImagesToAlbum(Long albumId, List<ImageRequest> listImage);
+
+    int removeImagesFromAlbum(Long albumId, List<ImageRequest> listImage);
+
+    int moveImagesToAlbum(Long albumId, Long targetAlbumId, List<ImageRequest> listImage);
+
     void deleteAlbum(Long albumId);
 }
@@ -0,0 +1,166 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.entity.EmailOutbox;
+import com.mad_backend.enums.EmailOutboxStatus;
+import com.mad_backend.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox in batches. Each batch goes out through a single
+ * {@link JavaMailSender#send(MimeMessage...)} call, which reuses one SMTP connection for the whole
+ * batch. Failed messages are retried with exponential backoff and marked DEAD after the last attempt.
+ *
+ * <p>A batch is claimed in a short transaction that marks it SENDING with a lease in
+ * {@code nextAttemptAt}; the SMTP exchange runs outside any transaction and the outcome is recorded in
+ * a second one. Row locks and the connection are therefore never held while the mail server is slow,
+ * and a batch whose dispatcher died mid-send is picked up again once its lease expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final List<EmailOutboxStatus> DISPATCHABLE = List.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender javaMailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username}")
+    private String from;
+
+    @Value("${app.mail-outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.mail-outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail-outbox.base-backoff-ms:30000}")
+    private long baseBackoffMillis;
+
+    @Value("${app.mail-outbox.lease-ms:300000}")
+    private long leaseMillis;
+
+    @Scheduled(fixedDelayString = "${app.mail-outbox.poll-interval-ms:5000}")
+    public void drain() {
+        int claimed;
+        do {
+            List<EmailOutbox> batch = transactionTemplate.execute(status -> claimNextBatch());
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            dispatch(batch);
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+            claimed = batch.size();
+        } while (claimed == batchSize);
+    }
+
+    private List<EmailOutbox> claimNextBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.findDueForDispatch(DISPATCHABLE, now, PageRequest.of(0, batchSize));
+        for (EmailOutbox email : batch) {
+            email.setStatus(EmailOutboxStatus.SENDING);
+            email.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMillis)));
+        }
+        return emailOutboxRepository.saveAll(batch);
+    }
+
+    public void dispatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                markFailed(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            messages.values().forEach(this::markSent);
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                // No per-message detail, so nothing is known to have gone out.
+                messages.values().forEach(email -> markFailed(email, e));
+                return;
+            }
+            messages.forEach((message, email) -> {
+                Exception failure = failedMessages.get(message);
+                if (failure != null) {
+                    markFailed(email, failure);
+                } else {
+                    markSent(email);
+                }
+            });
+        } catch (MailException e) {
+            messages.values().forEach(email -> markFailed(email, e));
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true);
+
+        messageHelper.setTo(email.getRecipient());
+        messageHelper.setSubject(email.getSubject());
+        messageHelper.setText(email.getBody(), true);
+        messageHelper.setFrom(from);
+
+        return mimeMessage;
+    }
+
+    private void markSent(EmailOutbox email) {
+        email.setStatus(EmailOutboxStatus.SENT);
+        email.setAttempts(email.getAttempts() + 1);
+        email.setSentAt(LocalDateTime.now());
+        email.setLastError(null);
+    }
+
+    private void markFailed(EmailOutbox email, Exception failure) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.DEAD);
+            LOGGER.warn("Email {} to {} moved to dead letter after {} attempts: {}",
+                    email.getId(), email.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+
+        email.setStatus(EmailOutboxStatus.PENDING);
+        Duration backoff = Duration.ofMillis(baseBackoffMillis * (1L << Math.min(attempts - 1, 20)));
+        email.setNextAttemptAt(LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= 1000) {
+            return message;
+        }
+        return message.substring(0, 1000);
+    }
+}
@@ -1,31 +1,33 @@
 package com.mad_backend.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.mad_backend.dto.entity.EmailOutbox;
+import com.mad_backend.enums.EmailOutboxStatus;
+import com.mad_backend.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    @Value("${spring.mail.username}")
-    private String email;
-
-    private final JavaMailSender javaMailSender;
-
-    public void sendEmail(String to, String subject, String body) throws MessagingException {
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true);
+    private final EmailOutboxRepository emailOutboxRepository;
 
-        messageHelper.setTo(to);
-        messageHelper.setSubject(subject);
-        messageHelper.setText(body, true);
-        messageHelper.setFrom(email);
+    /**
+     * Stores the email in the outbox; {@link EmailOutboxDispatcher} delivers it in the background.
+     */
+    @Transactional
+    public void sendEmail(String to, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setAttempts(0);
+        email.setNextAttemptAt(LocalDateTime.now());
 
-        javaMailSender.send(mimeMessage);
+        emailOutboxRepository.save(email);
     }
 }
@@ -1,7 +1,9 @@
 package com.mad_backend.service;
 
 import com.mad_backend.dto.request.FamilyRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyResponse;
+import com.mad_backend.dto.response.FamilySuggestionResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,7 +22,10 @@ public interface FamilyService {
 
     Page<FamilyResponse> searchFamiliesByName(String name, Pageable pageable);
 
+    CursorSliceResponse<FamilyResponse> searchFamiliesByName(String name, String cursor, int size);
+
     FamilyResponse getFamilyById(Long id);
 
     List<String> suggestFamiliesForUser(Long userId);
+    CursorSliceResponse<FamilySuggestionResponse> suggestFamilies(Long userId, String cursor, int size);
 }
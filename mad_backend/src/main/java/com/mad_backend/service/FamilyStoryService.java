@@ -2,8 +2,10 @@ package com.mad_backend.service;
 
 import com.mad_backend.dto.entity.FamilyStory;
 import com.mad_backend.dto.request.FamilyStoryRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyResponse;
 import com.mad_backend.dto.response.FamilyStoryResponse;
+import com.mad_backend.dto.response.FamilyStorySearchHitResponse;
 import com.mad_backend.service.impl.FamilyStoryServiceImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,4 +35,8 @@ public interface FamilyStoryService {
     Page<FamilyStoryResponse> searchStories(String username, String title, int page, int size);
 
     Page<FamilyStoryResponse> getAllFamilyStories(int page, int size);
+
+    CursorSliceResponse<FamilyStoryResponse> searchStories(String username, String title, String cursor, int size);
+
+    List<FamilyStorySearchHitResponse> fullTextSearch(String query, int limit);
 }
\ No newline at end of file
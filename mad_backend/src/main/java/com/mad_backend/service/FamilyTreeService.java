@@ -3,6 +3,7 @@ package com.mad_backend.service;
 import com.mad_backend.dto.entity.FamilyTree;
 import com.mad_backend.dto.request.FamilyTreeRequest;
 import com.mad_backend.dto.response.CommonResponse;
+import com.mad_backend.dto.response.FamilyTreeLayoutResponse;
 import com.mad_backend.dto.response.FamilyTreeResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -20,4 +21,6 @@ public interface FamilyTreeService {
     List<FamilyTreeResponse> saveAllFamilyTrees(List<FamilyTreeRequest> requests);
 
     void deleteFamilyTree(Long id);
+
+    FamilyTreeLayoutResponse getFamilyTreeLayout(Long id, Double minX, Double maxX, Integer minGeneration, Integer maxGeneration);
 }
@@ -0,0 +1,244 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.request.FamilyTreeFamilyRequest;
+import com.mad_backend.dto.request.FamilyTreeRequest;
+import com.mad_backend.dto.response.FamilyTreeFamilyResponse;
+import com.mad_backend.dto.response.FamilyTreeResponse;
+import com.mad_backend.index.LongIntHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes a family tree and its family list straight through JDBC. The requested and stored
+ * {@code (family, generation)} pairs are packed into {@code long} keys and diffed through hash maps,
+ * so only the rows that actually changed are deleted or inserted, each side as one batch. The tree
+ * row's {@code version} is checked and bumped in the same UPDATE, which also locks the tree until
+ * the caller's transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class FamilyTreeSynchronizer {
+
+    private static final String UPDATE_TREE =
+            "UPDATE family_trees SET name = ?, age = ?, avatar_url = ?, generation_numbers = ?, updated_at = ?, " +
+            "version = version + 1 WHERE id = ? AND is_deleted = false";
+    private static final String AT_VERSION = " AND version = ?";
+    private static final String SELECT_VERSION = "SELECT version FROM family_trees WHERE id = ? AND is_deleted = false";
+    private static final String INSERT_TREE =
+            "INSERT INTO family_trees (name, age, avatar_url, generation_numbers, version, code, created_at, updated_at, is_deleted) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?, ?, false)";
+    private static final String SELECT_ENTRIES =
+            "SELECT id, family_id, generation FROM family_tree_family WHERE family_tree_id = ?";
+    private static final String DELETE_ENTRY = "DELETE FROM family_tree_family WHERE id = ?";
+    private static final String INSERT_ENTRY =
+            "INSERT INTO family_tree_family (family_tree_id, family_id, generation, code, created_at, updated_at, is_deleted) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false)";
+
+    private static final int NULL_GENERATION = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public FamilyTreeResponse sync(FamilyTreeRequest request) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long familyTreeId;
+        long version;
+        Long storedVersion = request.getId() != null ? updateTree(request, now) : null;
+        if (storedVersion != null) {
+            familyTreeId = request.getId();
+            version = storedVersion;
+        } else {
+            familyTreeId = insertTree(request, now);
+            version = 0;
+        }
+
+        FamilyTreeResponse response = new FamilyTreeResponse();
+        response.setId(familyTreeId);
+        response.setName(request.getName());
+        response.setAge(request.getAge());
+        response.setAvatarUrl(request.getAvatarUrl());
+        response.setGenerationNumbers(request.getGenerationNumbers());
+        response.setVersion(version);
+        response.setFamilies(syncEntries(familyTreeId, request.getFamily(), now));
+        return response;
+    }
+
+    // Returns the new version, or null when there is no live tree with that id and the request carries no
+    // version, in which case a new tree is created. A versioned request for a missing or deleted tree fails
+    // the version check like any other stale write.
+    private Long updateTree(FamilyTreeRequest request, Timestamp now) {
+        int updated = request.getVersion() == null
+                ? jdbcTemplate.update(UPDATE_TREE, request.getName(), request.getAge(), request.getAvatarUrl(),
+                        request.getGenerationNumbers(), now, request.getId())
+                : jdbcTemplate.update(UPDATE_TREE + AT_VERSION, request.getName(), request.getAge(), request.getAvatarUrl(),
+                        request.getGenerationNumbers(), now, request.getId(), request.getVersion());
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION, Long.class, request.getId());
+        if (versions.isEmpty()) {
+            if (request.getVersion() != null) {
+                throw new OptimisticLockingFailureException("Family tree " + request.getId() + " was deleted concurrently: expected version "
+                        + request.getVersion());
+            }
+            return null;
+        }
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException("Family tree " + request.getId() + " was modified concurrently: expected version "
+                    + request.getVersion() + " but found " + versions.get(0));
+        }
+        return versions.get(0);
+    }
+
+    private long insertTree(FamilyTreeRequest request, Timestamp now) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TREE, Statement.RETURN_GENERATED_KEYS)) {
+                statement.setString(1, request.getName());
+                statement.setObject(2, request.getAge(), Types.INTEGER);
+                statement.setString(3, request.getAvatarUrl());
+                statement.setObject(4, request.getGenerationNumbers(), Types.INTEGER);
+                statement.setBytes(5, newCode());
+                statement.setTimestamp(6, now);
+                statement.setTimestamp(7, now);
+                statement.executeUpdate();
+                try (ResultSet generated = statement.getGeneratedKeys()) {
+                    generated.next();
+                    return generated.getLong(1);
+                }
+            }
+        });
+    }
+
+    private List<FamilyTreeFamilyResponse> syncEntries(long familyTreeId, List<FamilyTreeFamilyRequest> requested, Timestamp now) {
+        List<long[]> stored = new ArrayList<>();
+        jdbcTemplate.query(SELECT_ENTRIES, rs -> {
+            int generation = rs.getInt(3);
+            stored.add(new long[]{rs.getLong(1), rs.getLong(2), rs.wasNull() ? NULL_GENERATION : generation});
+        }, familyTreeId);
+
+        LongIntHashMap storedByKey = new LongIntHashMap(stored.size());
+        List<Object[]> deletes = new ArrayList<>();
+        for (int i = 0; i < stored.size(); i++) {
+            long key = key(stored.get(i)[1], (int) stored.get(i)[2]);
+            if (storedByKey.get(key) == LongIntHashMap.MISSING) {
+                storedByKey.put(key, i);
+            } else {
+                deletes.add(new Object[]{stored.get(i)[0]});
+            }
+        }
+
+        List<FamilyTreeFamilyResponse> families = new ArrayList<>();
+        if (requested == null) {
+            // No family list in the request leaves the stored one untouched.
+            jdbcTemplate.batchUpdate(DELETE_ENTRY, deletes);
+            for (int i = 0; i < stored.size(); i++) {
+                long[] entry = stored.get(i);
+                if (storedByKey.get(key(entry[1], (int) entry[2])) == i) {
+                    families.add(entryResponse(entry[0], entry[1], (int) entry[2]));
+                }
+            }
+            return families;
+        }
+
+        LongIntHashMap requestedKeys = new LongIntHashMap(requested.size());
+        List<long[]> inserts = new ArrayList<>();
+        for (FamilyTreeFamilyRequest entry : requested) {
+            if (entry.getFamily() == null || entry.getFamily().getId() == null) {
+                throw new IllegalArgumentException("Every family tree entry needs a family id");
+            }
+            long familyId = entry.getFamily().getId();
+            int generation = entry.getGeneration() != null ? entry.getGeneration() : NULL_GENERATION;
+            long key = key(familyId, generation);
+            if (requestedKeys.get(key) != LongIntHashMap.MISSING) {
+                continue;
+            }
+            requestedKeys.put(key, families.size());
+            int storedIndex = storedByKey.get(key);
+            if (storedIndex != LongIntHashMap.MISSING) {
+                families.add(entryResponse(stored.get(storedIndex)[0], familyId, generation));
+            } else {
+                inserts.add(new long[]{families.size(), familyId, generation});
+                families.add(null);
+            }
+        }
+        for (int i = 0; i < stored.size(); i++) {
+            long[] entry = stored.get(i);
+            long key = key(entry[1], (int) entry[2]);
+            if (storedByKey.get(key) == i && requestedKeys.get(key) == LongIntHashMap.MISSING) {
+                deletes.add(new Object[]{entry[0]});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_ENTRY, deletes);
+        long[] insertedIds = insertEntries(familyTreeId, inserts, now);
+        for (int i = 0; i < inserts.size(); i++) {
+            long[] insert = inserts.get(i);
+            families.set((int) insert[0], entryResponse(insertedIds[i], insert[1], (int) insert[2]));
+        }
+        return families;
+    }
+
+    private long[] insertEntries(long familyTreeId, List<long[]> inserts, Timestamp now) {
+        if (inserts.isEmpty()) {
+            return new long[0];
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ENTRY, Statement.RETURN_GENERATED_KEYS)) {
+                for (long[] insert : inserts) {
+                    statement.setLong(1, familyTreeId);
+                    statement.setLong(2, insert[1]);
+                    if (insert[2] == NULL_GENERATION) {
+                        statement.setNull(3, Types.INTEGER);
+                    } else {
+                        statement.setInt(3, (int) insert[2]);
+                    }
+                    statement.setBytes(4, newCode());
+                    statement.setTimestamp(5, now);
+                    statement.setTimestamp(6, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                long[] keys = new long[inserts.size()];
+                try (ResultSet generated = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < keys.length; i++) {
+                        if (!generated.next()) {
+                            throw new SQLException("Expected " + keys.length + " generated keys, got " + i);
+                        }
+                        keys[i] = generated.getLong(1);
+                    }
+                }
+                return keys;
+            }
+        });
+    }
+
+    private static FamilyTreeFamilyResponse entryResponse(long id, long familyId, int generation) {
+        FamilyTreeFamilyResponse dto = new FamilyTreeFamilyResponse();
+        dto.setId(id);
+        dto.setFamilyId(familyId);
+        dto.setGeneration(generation != NULL_GENERATION ? generation : null);
+        return dto;
+    }
+
+    // Family ids come from an auto-increment column and fit in the upper 32 bits.
+    private static long key(long familyId, int generation) {
+        return familyId << 32 | (generation & 0xFFFFFFFFL);
+    }
+
+    private static byte[] newCode() {
+        UUID uuid = UUID.randomUUID();
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,16 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.response.GedcomImportResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@Service
+public interface GedcomService {
+    GedcomImportResponse startImport(String fileName, InputStream body);
+
+    GedcomImportResponse getImport(Long importId);
+
+    StreamingResponseBody exportFamilyTree(Long familyTreeId);
+}
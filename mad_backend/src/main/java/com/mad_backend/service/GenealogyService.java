@@ -0,0 +1,16 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.response.KinshipResponse;
+import com.mad_backend.dto.response.LineageResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface GenealogyService {
+    List<LineageResponse> getAncestors(Long userId, Integer maxDepth);
+
+    List<LineageResponse> getDescendants(Long userId, Integer maxDepth);
+
+    KinshipResponse getRelationship(Long fromUserId, Long toUserId, Integer maxDepth);
+}
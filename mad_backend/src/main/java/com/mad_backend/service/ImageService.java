@@ -1,6 +1,8 @@
 package com.mad_backend.service;
 
 import com.mad_backend.dto.request.ImageRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
+import com.mad_backend.dto.response.ImageDayResponse;
 import com.mad_backend.dto.response.ImageResponse;
 import org.springframework.stereotype.Service;
 
@@ -13,8 +15,13 @@ public interface ImageService {
 
     Map<String, List<ImageResponse>> getListImage(Long familyId);
 
+    CursorSliceResponse<ImageDayResponse> getImageTimeline(Long familyId, String cursor, int size);
+
     List<ImageResponse> getListImageForAlbum(Long familyId, Long albumId, Boolean isInAlbum);
 
+    CursorSliceResponse<ImageResponse> getPageImageForAlbum(Long familyId, Long albumId, Boolean isInAlbum,
+                                                            String cursor, int size);
+
     ImageResponse getDetailImage(Long imageId);
 
     int deleteImages(List<ImageRequest> imageRequests);
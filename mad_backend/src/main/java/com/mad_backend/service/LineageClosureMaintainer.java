@@ -0,0 +1,181 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.entity.Family;
+import com.mad_backend.repository.AncestorDescendantRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Keeps the {@code ancestor_descendant} closure table in step with family changes. Every family
+ * contributes parent-child edges (husband and wife to each child); adding or removing an edge
+ * multiplies the ancestors of the parent with the descendants of the child in one set-based query
+ * and applies the resulting path counts as a JDBC batch. Must run inside the caller's transaction.
+ * An edge that would close a cycle is rejected, which rolls the family write back.
+ */
+@Component
+@RequiredArgsConstructor
+public class LineageClosureMaintainer {
+
+    public record ParentEdge(long parentId, long childId) {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LineageClosureMaintainer.class);
+
+    private static final String INSERT_SELF =
+            "INSERT IGNORE INTO ancestor_descendant (ancestor_id, descendant_id, depth, path_count) VALUES (?, ?, 0, 1)";
+
+    private static final String SELECT_PATHS_THROUGH_EDGE =
+            "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1, SUM(a.path_count * d.path_count) " +
+            "FROM ancestor_descendant a JOIN ancestor_descendant d ON a.descendant_id = ? AND d.ancestor_id = ? " +
+            "GROUP BY a.ancestor_id, d.descendant_id, a.depth + d.depth + 1";
+
+    private static final String ADD_PATHS =
+            "INSERT INTO ancestor_descendant (ancestor_id, descendant_id, depth, path_count) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE path_count = path_count + VALUES(path_count)";
+
+    private static final String REMOVE_PATHS =
+            "UPDATE ancestor_descendant SET path_count = path_count - ? " +
+            "WHERE ancestor_id = ? AND descendant_id = ? AND depth = ?";
+
+    private static final String EDGE_EXISTS =
+            "SELECT COUNT(*) FROM ancestor_descendant WHERE ancestor_id = ? AND descendant_id = ? AND depth = 1";
+
+    private static final String DELETE_EXHAUSTED =
+            "DELETE FROM ancestor_descendant WHERE ancestor_id = ? AND descendant_id = ? AND depth = ? AND path_count <= 0";
+
+    private static final String PARENT_EDGES =
+            "SELECT f.husband_id AS parent_id, c.child_ids AS child_id FROM families f " +
+            "JOIN family_child_ids c ON c.family_id = f.id WHERE f.is_deleted = false AND f.husband_id IS NOT NULL " +
+            "UNION ALL " +
+            "SELECT f.wife_id, c.child_ids FROM families f " +
+            "JOIN family_child_ids c ON c.family_id = f.id WHERE f.is_deleted = false AND f.wife_id IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AncestorDescendantRepository ancestorDescendantRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.lineage-closure.max-depth:1000}")
+    private int maxRebuildDepth;
+
+    public static List<ParentEdge> edgesOf(Family family) {
+        List<ParentEdge> edges = new ArrayList<>();
+        if (family.getChildIds() == null) {
+            return edges;
+        }
+        for (Long childId : family.getChildIds()) {
+            if (childId == null) {
+                continue;
+            }
+            if (family.getHusband() != null) {
+                edges.add(new ParentEdge(family.getHusband().getId(), childId));
+            }
+            if (family.getWife() != null) {
+                edges.add(new ParentEdge(family.getWife().getId(), childId));
+            }
+        }
+        return edges;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceEdges(List<ParentEdge> before, List<ParentEdge> after) {
+        List<ParentEdge> removed = new ArrayList<>(before);
+        List<ParentEdge> added = new ArrayList<>();
+        for (ParentEdge edge : after) {
+            if (!removed.remove(edge)) {
+                added.add(edge);
+            }
+        }
+        removed.forEach(this::removeEdge);
+        added.forEach(this::addEdge);
+    }
+
+    private void addEdge(ParentEdge edge) {
+        if (edge.parentId() == edge.childId() || ancestorDescendantRepository.isAncestor(edge.childId(), edge.parentId())) {
+            throw new IllegalArgumentException("User " + edge.childId() + " cannot be a child of user " + edge.parentId()
+                    + ": it would make a person their own ancestor");
+        }
+        jdbcTemplate.update(INSERT_SELF, edge.parentId(), edge.parentId());
+        jdbcTemplate.update(INSERT_SELF, edge.childId(), edge.childId());
+
+        List<Object[]> paths = pathsThrough(edge);
+        jdbcTemplate.batchUpdate(ADD_PATHS, paths);
+    }
+
+    private void removeEdge(ParentEdge edge) {
+        // Edges written before the closure existed, or cut short by a rebuild, never added their paths.
+        Integer recorded = jdbcTemplate.queryForObject(EDGE_EXISTS, Integer.class, edge.parentId(), edge.childId());
+        if (recorded == null || recorded == 0) {
+            LOGGER.debug("Parent edge {} -> {} is not in the closure; nothing to remove", edge.parentId(), edge.childId());
+            return;
+        }
+        List<Object[]> paths = pathsThrough(edge);
+        if (paths.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(REMOVE_PATHS, paths.stream()
+                .map(path -> new Object[]{path[3], path[0], path[1], path[2]})
+                .toList());
+        jdbcTemplate.batchUpdate(DELETE_EXHAUSTED, paths.stream()
+                .map(path -> new Object[]{path[0], path[1], path[2]})
+                .toList());
+    }
+
+    private List<Object[]> pathsThrough(ParentEdge edge) {
+        return jdbcTemplate.query(SELECT_PATHS_THROUGH_EDGE, (rs, rowNum) -> new Object[]{
+                rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getLong(4)
+        }, edge.parentId(), edge.childId());
+    }
+
+    /**
+     * Recomputes the whole table from the families, one generation per statement: depth 0 for
+     * everyone on an edge, then every row at depth k extended by one edge becomes a row at depth k + 1.
+     */
+    @Scheduled(cron = "${app.lineage-closure.rebuild-cron:-}")
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> rebuildTable());
+    }
+
+    private void rebuildTable() {
+        long startedAt = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM ancestor_descendant");
+        jdbcTemplate.update("INSERT INTO ancestor_descendant (ancestor_id, descendant_id, depth, path_count) " +
+                "SELECT person_id, person_id, 0, 1 FROM (" +
+                "SELECT e.parent_id AS person_id FROM (" + PARENT_EDGES + ") e " +
+                "UNION SELECT e.child_id FROM (" + PARENT_EDGES + ") e) people");
+
+        int depth = 0;
+        int inserted;
+        do {
+            inserted = jdbcTemplate.update("INSERT INTO ancestor_descendant (ancestor_id, descendant_id, depth, path_count) " +
+                    "SELECT ad.ancestor_id, e.child_id, ad.depth + 1, SUM(ad.path_count) " +
+                    "FROM ancestor_descendant ad JOIN (" + PARENT_EDGES + ") e ON e.parent_id = ad.descendant_id " +
+                    "WHERE ad.depth = ? GROUP BY ad.ancestor_id, e.child_id, ad.depth + 1", depth);
+            depth++;
+        } while (inserted > 0 && depth < maxRebuildDepth);
+
+        if (inserted > 0) {
+            LOGGER.warn("Lineage closure rebuild stopped at depth {}; the family data likely contains a cycle", depth);
+        }
+        LOGGER.info("Lineage closure rebuilt: {} rows, {} generations in {} ms",
+                ancestorDescendantRepository.count(), depth, System.currentTimeMillis() - startedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (ancestorDescendantRepository.count() == 0) {
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.response.ProfileResponse;
+import com.mad_backend.repository.FamilyRepository;
+import com.mad_backend.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Builds the {@code relations} map of profile responses for a batch of users with a fixed number of
+ * queries: the families the users belong to, the children of those families and one profile projection
+ * for every related person. A person who is a child in one family and a spouse in others keeps all of
+ * them: children are merged across marriages and every spouse is listed under {@code spouses}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileRelationLoader {
+
+    private record FamilyLinks(Long husbandId, Long wifeId, List<Long> childIds) {
+    }
+
+    private final FamilyRepository familyRepository;
+    private final ProfileRepository profileRepository;
+
+    public Map<Long, Map<String, Object>> loadRelations(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, FamilyLinks> families = loadFamilies(userIds);
+        Set<Long> relatedIds = new HashSet<>();
+        for (FamilyLinks family : families.values()) {
+            if (family.husbandId() != null) {
+                relatedIds.add(family.husbandId());
+            }
+            if (family.wifeId() != null) {
+                relatedIds.add(family.wifeId());
+            }
+            relatedIds.addAll(family.childIds());
+        }
+        Map<Long, ProfileResponse> profiles = loadProfiles(relatedIds);
+
+        Map<Long, Map<String, Object>> relations = new HashMap<>();
+        for (Long userId : userIds) {
+            relations.put(userId, assemble(userId, families.values(), profiles));
+        }
+        return relations;
+    }
+
+    public Map<Long, ProfileResponse> loadProfiles(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, ProfileResponse> profiles = new HashMap<>();
+        for (ProfileResponse profile : profileRepository.findSummariesByUserIdIn(userIds)) {
+            if (profile.getId() != null) {
+                profiles.put(profile.getUserId(), profile);
+            }
+        }
+        return profiles;
+    }
+
+    private Map<Long, FamilyLinks> loadFamilies(Collection<Long> userIds) {
+        Map<Long, FamilyLinks> families = new TreeMap<>();
+        for (Object[] row : familyRepository.findSpouseLinksByMemberIdIn(userIds)) {
+            families.put((Long) row[0], new FamilyLinks((Long) row[1], (Long) row[2], new ArrayList<>()));
+        }
+        if (!families.isEmpty()) {
+            for (Object[] row : familyRepository.findChildLinksByFamilyIdIn(families.keySet())) {
+                families.get((Long) row[0]).childIds().add((Long) row[1]);
+            }
+        }
+        return families;
+    }
+
+    private Map<String, Object> assemble(Long userId, Collection<FamilyLinks> families, Map<Long, ProfileResponse> profiles) {
+        Map<String, Object> relations = new HashMap<>();
+        List<ProfileResponse> spouses = new ArrayList<>();
+        Map<Long, ProfileResponse> children = new LinkedHashMap<>();
+        boolean married = false;
+
+        for (FamilyLinks family : families) {
+            if (family.childIds().contains(userId)) {
+                putFirst(relations, "father", profiles.get(family.husbandId()));
+                putFirst(relations, "mother", profiles.get(family.wifeId()));
+                continue;
+            }
+
+            boolean isHusband = userId.equals(family.husbandId());
+            if (!isHusband && !userId.equals(family.wifeId())) {
+                continue;
+            }
+            married = true;
+
+            ProfileResponse spouse = profiles.get(isHusband ? family.wifeId() : family.husbandId());
+            if (spouse != null) {
+                putFirst(relations, isHusband ? "wife" : "husband", spouse);
+                spouses.add(spouse);
+            }
+            for (Long childId : family.childIds()) {
+                ProfileResponse child = profiles.get(childId);
+                if (child != null) {
+                    children.putIfAbsent(childId, child);
+                }
+            }
+        }
+
+        if (married) {
+            relations.put("children", new ArrayList<>(children.values()));
+        }
+        if (spouses.size() > 1) {
+            relations.put("spouses", spouses);
+        }
+        return relations;
+    }
+
+    private void putFirst(Map<String, Object> relations, String key, ProfileResponse profile) {
+        if (profile != null) {
+            relations.putIfAbsent(key, profile);
+        }
+    }
+}
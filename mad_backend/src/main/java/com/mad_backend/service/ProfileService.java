@@ -11,7 +11,7 @@ import java.util.List;
 public interface ProfileService {
     ProfileResponse createProfile(ProfileRequest profileRequest);
 
-    List<ProfileResponse> getListProfile(Long familyId);
+    List<ProfileResponse> getListProfile(Long familyId, boolean withRelations);
 
     ProfileResponse getDetailProfile(Long profileId);
 
@@ -2,6 +2,8 @@ package com.mad_backend.service;
 
 import com.mad_backend.dto.entity.User;
 import com.mad_backend.dto.request.UserRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
+import com.mad_backend.dto.response.PersonSuggestionResponse;
 import com.mad_backend.dto.response.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,5 +18,7 @@ public interface UserService {
     UserResponse saveUser(UserRequest userRequest);
     void deleteUserById(Long id);
     Page<UserResponse> searchUsers(String userName, Pageable pageable);
+    CursorSliceResponse<UserResponse> searchUsers(String userName, String cursor, int size);
     List<UserResponse> getUsersWithoutFamily();
+    List<PersonSuggestionResponse> autocomplete(String query, int limit);
 }
@@ -10,14 +10,15 @@ import com.mad_backend.dto.response.ImageResponse;
 import com.mad_backend.repository.AlbumRepository;
 import com.mad_backend.repository.FamilyRepository;
 import com.mad_backend.repository.ImageRepository;
+import com.mad_backend.service.AlbumMembershipWriter;
 import com.mad_backend.service.AlbumService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +27,7 @@ public class AlbumServiceImpl implements AlbumService {
     private final AlbumRepository albumRepository;
     private final ImageRepository imageRepository;
     private final FamilyRepository familyRepository;
+    private final AlbumMembershipWriter albumMembershipWriter;
 
     public AlbumResponse createAlbum(Long familyId, AlbumRequest albumRequest) {
         Album album = new Album();
@@ -36,13 +38,7 @@ public class AlbumServiceImpl implements AlbumService {
                 .orElseThrow(() -> new NoSuchElementException("Family not found!"));
         album.setFamily(family);
 
-        List<Image> images = new ArrayList<>();
-        for (AlbumRequest.AlbumImageRequest imageRequest : albumRequest.getImages()) {
-            Image image = imageRepository.findByIdAndIsDeletedFalse(imageRequest.getId())
-                    .orElseThrow(() -> new NoSuchElementException("Image not found with id: " + imageRequest.getId()));
-            images.add(image);
-        }
-        album.setImages(images);
+        album.setImages(new ArrayList<>(findImages(albumRequest.getImages())));
 
         Album savedAlbum = albumRepository.save(album);
 
@@ -89,15 +85,15 @@ public class AlbumServiceImpl implements AlbumService {
         }
         if (albumRequest.getImages() != null && !albumRequest.getImages().isEmpty()) {
             List<Image> images = album.getImages();
-            for (AlbumRequest.AlbumImageRequest imageRequest : albumRequest.getImages()) {
-                Image image = imageRepository.findByIdAndIsDeletedFalse(imageRequest.getId())
-                        .orElseThrow(() -> new NoSuchElementException("Image not found with id: " + imageRequest.getId()));
-                if (images.contains(image)) {
+            Set<Long> albumImageIds = images.stream()
+                    .map(Image::getId)
+                    .collect(Collectors.toSet());
+            for (Image image : findImages(albumRequest.getImages())) {
+                if (!albumImageIds.add(image.getId())) {
                     throw new IllegalArgumentException("Image with id " + image.getId() + " already exists in the album.");
                 }
                 images.add(image);
             }
-            album.setImages(images);
         }
 
         Album updatedAlbum = albumRepository.save(album);
@@ -105,30 +101,58 @@ public class AlbumServiceImpl implements AlbumService {
         return new AlbumResponse(updatedAlbum);
     }
 
+    @Transactional
     public long deleteImagesOfAlbum(Long albumId, List<ImageRequest> imageRequests) {
-        List<Long> imageIds = imageRequests.stream()
-                .map(ImageRequest::getId)
-                .toList();
-
-        Album album = albumRepository.findByIdAndIsDeletedFalse(albumId)
-                .orElseThrow(() -> new NoSuchElementException("Album not found!"));
-
-        List<Image> images = album.getImages();
-
-        long deletedCount = images.stream()
-                .filter(image -> imageIds.contains(image.getId()))
-                .count();
+        int deletedCount = albumMembershipWriter.remove(albumId, idsOf(imageRequests));
 
         if (deletedCount == 0) {
             throw new NoSuchElementException("No images found in this album to delete!");
         }
 
-        images.removeIf(image -> imageIds.contains(image.getId()));
-        albumRepository.save(album);
-
         return deletedCount;
     }
 
+    @Transactional
+    public int addImagesToAlbum(Long albumId, List<ImageRequest> imageRequests) {
+        return albumMembershipWriter.add(albumId, idsOf(imageRequests));
+    }
+
+    @Transactional
+    public int removeImagesFromAlbum(Long albumId, List<ImageRequest> imageRequests) {
+        return albumMembershipWriter.remove(albumId, idsOf(imageRequests));
+    }
+
+    @Transactional
+    public int moveImagesToAlbum(Long albumId, Long targetAlbumId, List<ImageRequest> imageRequests) {
+        return albumMembershipWriter.move(albumId, targetAlbumId, idsOf(imageRequests));
+    }
+
+    // One IN query for all requested images, returned in request order with repeated ids kept so updateAlbum
+    // still rejects them; an unknown or deleted id fails the call.
+    private List<Image> findImages(List<AlbumRequest.AlbumImageRequest> imageRequests) {
+        List<Long> imageIds = imageRequests == null ? List.of() : imageRequests.stream()
+                .map(AlbumRequest.AlbumImageRequest::getId)
+                .toList();
+        Map<Long, Image> imagesById = imageRepository.findAllByIdInAndIsDeletedFalse(imageIds).stream()
+                .collect(Collectors.toMap(Image::getId, Function.identity()));
+
+        List<Image> images = new ArrayList<>(imageIds.size());
+        for (Long imageId : imageIds) {
+            Image image = imagesById.get(imageId);
+            if (image == null) {
+                throw new NoSuchElementException("Image not found with id: " + imageId);
+            }
+            images.add(image);
+        }
+        return images;
+    }
+
+    private static List<Long> idsOf(List<ImageRequest> imageRequests) {
+        return imageRequests == null ? List.of() : imageRequests.stream()
+                .map(ImageRequest::getId)
+                .toList();
+    }
+
     public void deleteAlbum(Long albumId) {
         Album album = albumRepository.findByIdAndIsDeletedFalse(albumId)
                 .orElseThrow(() -> new NoSuchElementException("Album not found!"));
@@ -6,14 +6,17 @@ import com.mad_backend.dto.request.*;
 import com.mad_backend.dto.response.CommonResponse;
 import com.mad_backend.dto.response.UserResponse;
 import com.mad_backend.enums.Role;
+import com.mad_backend.event.PersonChangedEvent;
 import com.mad_backend.security.custom.CustomUserDetails;
 import com.mad_backend.security.custom.CustomUserDetailsService;
+import com.mad_backend.security.custom.SecurityEpochRegistry;
 import com.mad_backend.security.jwt.JwtTokenProvider;
+import com.mad_backend.security.password.PasswordHashingExecutor;
 import com.mad_backend.service.AuthService;
 import com.mad_backend.service.EmailService;
 import com.mad_backend.service.ProfileService;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,9 +24,9 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -38,12 +41,16 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userService;
-    private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final ProfileService profileService;
+    private final SecurityEpochRegistry securityEpochRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public String login(AuthRequest authRequest) {
+        // The password encoder runs the BCrypt comparison on the hashing pool; the lookup stays here.
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
         );
@@ -51,16 +58,21 @@ public class AuthServiceImpl implements AuthService {
         return jwtTokenProvider.generateToken(authentication);
     }
 
-    @Transactional
+    // Hashing waits on the hashing pool, so it happens before the transaction takes a connection.
     @Override
     public String register(RegisterRequest registerRequest) {
+        String encodedPassword = passwordHashingExecutor.encode(registerRequest.getPassword());
+        return transactionTemplate.execute(status -> registerUser(registerRequest, encodedPassword));
+    }
+
+    private String registerUser(RegisterRequest registerRequest, String encodedPassword) {
         if (userService.findByEmail(registerRequest.getEmail()).isPresent()) {
             throw new IllegalArgumentException("Email already exists!");
         }
 
         User newUser = new User();
         newUser.setUsername(registerRequest.getUsername());
-        newUser.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        newUser.setPassword(encodedPassword);
         newUser.setEmail(registerRequest.getEmail());
         newUser.setRoles(List.of(Role.USER));
         newUser.setFamilies(new ArrayList<>());
@@ -83,11 +95,14 @@ public class AuthServiceImpl implements AuthService {
         newUser.setProfile(profile);
 
         profileService.save(profile);
+        eventPublisher.publishEvent(new PersonChangedEvent(newUser.getId(), profile.getId(), newUser.getUsername(),
+                profile.getFirstName(), profile.getLastName(), profile.getAvatarUrl(), false));
 
         return "User registered successfully!";
     }
 
 
+    @Transactional
     @Override
     public String forgotPassword(ForgotPasswordRequest request) {
         if (userService.findByEmail(request.getEmail()).isEmpty()) {
@@ -96,13 +111,9 @@ public class AuthServiceImpl implements AuthService {
 
         String otp = generateOTP();
 
-        try {
-            String subject = "OTP for Password Reset";
-            String body = "<p>Your OTP for resetting your password is: <b>" + otp + "</b></p>";
-            emailService.sendEmail(request.getEmail(), subject, body);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Error while sending email: " + e.getMessage());
-        }
+        String subject = "OTP for Password Reset";
+        String body = "<p>Your OTP for resetting your password is: <b>" + otp + "</b></p>";
+        emailService.sendEmail(request.getEmail(), subject, body);
 
         return otp;
     }
@@ -128,17 +139,22 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public String resetPassword(ResetPasswordRequest request) {
-        Optional<User> userOptional = userService.findByEmail(request.getEmail());
-        if (userOptional.isEmpty()) {
-            throw new IllegalArgumentException("Email not found!");
-        }
-
-        User user = userOptional.get();
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        userService.saveUser(user);
-        return "Successfully";
+        String encodedPassword = passwordHashingExecutor.encode(request.getPassword());
+        return transactionTemplate.execute(status -> {
+            Optional<User> userOptional = userService.findByEmail(request.getEmail());
+            if (userOptional.isEmpty()) {
+                throw new IllegalArgumentException("Email not found!");
+            }
+
+            User user = userOptional.get();
+            user.setPassword(encodedPassword);
+            securityEpochRegistry.rotate(user);
+            userService.saveUser(user);
+            return "Successfully";
+        });
     }
 
+    // The old password check needs the stored hash, so only the write runs in a transaction.
     @Override
     public String changePassword(ChangePasswordRequest request) {
         Optional<User> userOptional = userService.findByEmail(request.getEmail());
@@ -147,13 +163,17 @@ public class AuthServiceImpl implements AuthService {
         }
 
         User user = userOptional.get();
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingExecutor.matches(request.getOldPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Old password is incorrect!");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userService.saveUser(user);
-        return "Successfully";
+        String encodedPassword = passwordHashingExecutor.encode(request.getNewPassword());
+        return transactionTemplate.execute(status -> {
+            user.setPassword(encodedPassword);
+            securityEpochRegistry.rotate(user);
+            userService.saveUser(user);
+            return "Successfully";
+        });
     }
 
     private UserResponse getUserResponse(CustomUserDetails principal) {
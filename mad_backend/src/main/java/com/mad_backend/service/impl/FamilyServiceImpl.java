@@ -4,10 +4,16 @@ import com.mad_backend.dto.entity.*;
 import com.mad_backend.dto.request.*;
 import com.mad_backend.dto.response.*;
 import com.mad_backend.enums.FamilyStatus;
+import com.mad_backend.event.FamilyChangedEvent;
+import com.mad_backend.index.FamilySuggestionIndex;
+import com.mad_backend.pagination.KeysetPages;
+import com.mad_backend.pagination.SeekCursor;
 import com.mad_backend.repository.FamilyRepository;
 import com.mad_backend.repository.UserRepository;
 import com.mad_backend.service.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,12 +27,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FamilyServiceImpl implements FamilyService {
 
+    private static final int NAME_CHUNK_SIZE = 1000;
+
     private final FamilyRepository familyRepository;
     private final FamilyTreeService familyTreeService;
     private final UserService userService;
     private final UserRepository userRepository;
     private final ImageService imageService;
     private final AlbumService albumService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LineageClosureMaintainer lineageClosureMaintainer;
+    private final FamilySuggestionIndex familySuggestionIndex;
 
     @Override
     public Page<FamilyResponse> searchFamilies(Long familyTreeId, Long generation, Long familyId, Pageable pageable) {
@@ -47,12 +58,15 @@ public class FamilyServiceImpl implements FamilyService {
 
     @Override
     @Transactional
+    @Timed(value = "service.family.create", description = "Creating a family with its members, images and albums")
     public FamilyResponse createFamily(FamilyRequest request) {
         Family family = buildNewFamilyFromRequest(request);
         familyRepository.save(family);
+        lineageClosureMaintainer.replaceEdges(List.of(), LineageClosureMaintainer.edgesOf(family));
 
         createImageFromRequest(family, request.getImages());
         createAlbumFromRequest(family, request.getAlbums());
+        publishFamilyChanged(family, false);
 
         return FamilyResponse.fromEntity(family);
     }
@@ -115,12 +129,16 @@ public class FamilyServiceImpl implements FamilyService {
     }
 
     @Override
+    @Transactional
     public FamilyResponse updateFamily(Long familyId, FamilyRequest request) {
         Family family = familyRepository.findFamilyByIdAndIsDeletedFalse(familyId)
                 .orElseThrow(() -> new RuntimeException("Family not found with ID: " + familyId));
 
+        List<LineageClosureMaintainer.ParentEdge> previousEdges = LineageClosureMaintainer.edgesOf(family);
         updateFamilyFromRequest(family, request);
         familyRepository.save(family);
+        lineageClosureMaintainer.replaceEdges(previousEdges, LineageClosureMaintainer.edgesOf(family));
+        publishFamilyChanged(family, false);
 
         return FamilyResponse.fromEntity(family);
     }
@@ -149,10 +167,25 @@ public class FamilyServiceImpl implements FamilyService {
     }
 
     @Override
+    @Transactional
     public void deleteFamily(Long familyId) {
         Family family = familyRepository.findById(familyId)
                 .orElseThrow(() -> new RuntimeException("Family not found with ID: " + familyId));
+        List<LineageClosureMaintainer.ParentEdge> previousEdges = family.isDeleted()
+                ? List.of() : LineageClosureMaintainer.edgesOf(family);
         familyRepository.delete(family);
+        lineageClosureMaintainer.replaceEdges(previousEdges, List.of());
+        publishFamilyChanged(family, true);
+    }
+
+    private void publishFamilyChanged(Family family, boolean deleted) {
+        eventPublisher.publishEvent(new FamilyChangedEvent(
+                family.getId(),
+                family.getHusband() != null ? family.getHusband().getId() : null,
+                family.getWife() != null ? family.getWife().getId() : null,
+                family.getChildIds() != null ? new ArrayList<>(family.getChildIds()) : new ArrayList<>(),
+                deleted
+        ));
     }
 
     @Override
@@ -163,27 +196,56 @@ public class FamilyServiceImpl implements FamilyService {
         return familyRepository.findByNameContaining(name, pageable).map(FamilyResponse::fromEntity);
     }
 
+    @Override
+    public CursorSliceResponse<FamilyResponse> searchFamiliesByName(String name, String cursor, int size) {
+        int pageSize = KeysetPages.pageSize(size);
+        SeekCursor after = cursor != null ? SeekCursor.decode(cursor) : new SeekCursor(null, 0);
+        List<Family> families = familyRepository.findByNameAfter(name == null || name.isBlank() ? null : name,
+                after.key(), after.id(), KeysetPages.probeLimit(pageSize));
+        return KeysetPages.slice(families, pageSize, family -> new SeekCursor(family.getName(), family.getId()),
+                FamilyResponse::fromEntity);
+    }
+
     @Override
     public FamilyResponse getFamilyById(Long id) {
-        return familyRepository.findById(id).map(FamilyResponse::fromEntity).orElse(null);
+        return familyRepository.findDetailById(id).map(FamilyResponse::fromEntity).orElse(null);
     }
 
     @Override
     public List<String> suggestFamiliesForUser(Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null || user.getProfile().getLastName() == null) {
-            return Collections.emptyList();
+        // Unranked and unbounded: every family whose husband shares the user's surname, as before the ranked endpoint.
+        List<Long> familyIds = familySuggestionIndex.familiesWithSurnameOf(userId);
+        Map<Long, String> names = new HashMap<>(familyIds.size() * 2);
+        for (int from = 0; from < familyIds.size(); from += NAME_CHUNK_SIZE) {
+            familyRepository.findNamesByIdIn(familyIds.subList(from, Math.min(from + NAME_CHUNK_SIZE, familyIds.size())))
+                    .forEach(row -> names.put((Long) row[0], (String) row[1]));
         }
-        List<Family> families = familyRepository.findAll();
-        List<String> suggestedFamilyNames = new ArrayList<>();
-        for (Family family : families) {
-            User father = family.getHusband();
-            if (father != null && father.getProfile().getLastName() != null) {
-                if (user.getProfile().getLastName().equalsIgnoreCase(father.getProfile().getLastName())) {
-                    suggestedFamilyNames.add(family.getName());
-                }
-            }
+        return familyIds.stream()
+                .filter(names::containsKey)
+                .map(names::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorSliceResponse<FamilySuggestionResponse> suggestFamilies(Long userId, String cursor, int size) {
+        int pageSize = KeysetPages.pageSize(size);
+        Integer afterScore = null;
+        Long afterFamilyId = null;
+        if (cursor != null) {
+            SeekCursor after = SeekCursor.decode(cursor);
+            afterScore = after.intKey();
+            afterFamilyId = after.id();
+        }
+
+        List<FamilySuggestionIndex.Suggestion> suggestions =
+                familySuggestionIndex.suggest(userId, afterScore, afterFamilyId, pageSize + 1);
+        Map<Long, String> names = new HashMap<>();
+        if (!suggestions.isEmpty()) {
+            familyRepository.findNamesByIdIn(suggestions.stream().map(FamilySuggestionIndex.Suggestion::familyId).toList())
+                    .forEach(row -> names.put((Long) row[0], (String) row[1]));
         }
-        return suggestedFamilyNames;
+        return KeysetPages.slice(suggestions, pageSize,
+                suggestion -> new SeekCursor(String.valueOf(suggestion.score()), suggestion.familyId()),
+                suggestion -> FamilySuggestionResponse.fromSuggestion(suggestion, names.get(suggestion.familyId())));
     }
 }
\ No newline at end of file
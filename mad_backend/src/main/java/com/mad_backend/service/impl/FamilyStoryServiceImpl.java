@@ -4,13 +4,20 @@ package com.mad_backend.service.impl;
 import com.mad_backend.dto.entity.FamilyStory;
 import com.mad_backend.dto.entity.User;
 import com.mad_backend.dto.request.FamilyStoryRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyStoryResponse;
+import com.mad_backend.dto.response.FamilyStorySearchHitResponse;
 import com.mad_backend.dto.response.UserResponse;
+import com.mad_backend.event.FamilyStoryChangedEvent;
+import com.mad_backend.pagination.KeysetPages;
+import com.mad_backend.pagination.SeekCursor;
 import com.mad_backend.repository.FamilyStoryRepository;
 import com.mad_backend.repository.UserRepository;
+import com.mad_backend.search.FamilyStorySearchIndex;
 import com.mad_backend.security.custom.CustomUserDetails;
 import com.mad_backend.service.FamilyStoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -23,10 +30,13 @@ import org.springframework.data.domain.Page;
 @RequiredArgsConstructor
 public class FamilyStoryServiceImpl implements FamilyStoryService {
 
+
     private final FamilyStoryRepository familyStoryRepository;
     // Add your service methods here
 
     private final UserRepository userRepository;
+    private final FamilyStorySearchIndex familyStorySearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserResponse getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -55,6 +65,7 @@ public class FamilyStoryServiceImpl implements FamilyStoryService {
         familyStory.setStoryAvatar(familyStoryRequest.getStoryAvatar());
         familyStory.setCoverImage(familyStoryRequest.getCoverImage());
         FamilyStory savedFamilyStory = familyStoryRepository.save(familyStory);
+        publishFamilyStoryChanged(savedFamilyStory, false);
         return FamilyStoryResponse.fromEntity(savedFamilyStory);
     }
     @Override
@@ -92,6 +103,7 @@ public class FamilyStoryServiceImpl implements FamilyStoryService {
         existingFamilyStory.setCoverImage(familyStory.getCoverImage());
 
         FamilyStory updatedFamilyStory = familyStoryRepository.save(existingFamilyStory);
+        publishFamilyStoryChanged(updatedFamilyStory, false);
         return FamilyStoryResponse.fromEntity(updatedFamilyStory);
     };
     
@@ -101,6 +113,19 @@ public class FamilyStoryServiceImpl implements FamilyStoryService {
         FamilyStory familyStory = familyStoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Family story not found with ID: " + id));
         familyStoryRepository.delete(familyStory);
+        publishFamilyStoryChanged(familyStory, true);
+    }
+
+    private void publishFamilyStoryChanged(FamilyStory familyStory, boolean deleted) {
+        User author = familyStory.getUser();
+        eventPublisher.publishEvent(new FamilyStoryChangedEvent(
+                familyStory.getId(),
+                author != null ? author.getId() : null,
+                author != null ? author.getUsername() : null,
+                familyStory.getTitle(),
+                familyStory.getContent(),
+                deleted
+        ));
     }
 
     @Override
@@ -125,4 +150,29 @@ public class FamilyStoryServiceImpl implements FamilyStoryService {
                 .map(FamilyStoryResponse::fromEntity);
     }
 
+    @Override
+    public CursorSliceResponse<FamilyStoryResponse> searchStories(String username, String title, String cursor, int size) {
+        int pageSize = KeysetPages.pageSize(size);
+        SeekCursor before = cursor != null ? SeekCursor.decode(cursor) : SeekCursor.NEWEST_FIRST;
+        List<FamilyStory> stories = familyStoryRepository.searchStoriesBefore(blankToNull(username), blankToNull(title),
+                before.timestampKey(), before.id(), KeysetPages.probeLimit(pageSize));
+        return KeysetPages.slice(stories, pageSize, story -> new SeekCursor(story.getCreatedAt().toString(), story.getId()),
+                FamilyStoryResponse::fromEntity);
+    }
+
+    @Override
+    public List<FamilyStorySearchHitResponse> fullTextSearch(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        return familyStorySearchIndex.search(query, KeysetPages.pageSize(limit))
+                .stream()
+                .map(FamilyStorySearchHitResponse::fromHit)
+                .toList();
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
 }
@@ -1,20 +1,30 @@
 package com.mad_backend.service.impl;
 
 import com.mad_backend.dto.entity.FamilyTree;
-import com.mad_backend.dto.entity.FamilyTreeFamily;
-import com.mad_backend.dto.request.FamilyTreeFamilyRequest;
 import com.mad_backend.dto.request.FamilyTreeRequest;
+import com.mad_backend.dto.response.FamilyTreeLayoutResponse;
 import com.mad_backend.dto.response.FamilyTreeResponse;
-import com.mad_backend.repository.FamilyTreeFamilyRepository;
+import com.mad_backend.event.FamilyTreeChangedEvent;
+import com.mad_backend.layout.FamilyTreeLayout;
+import com.mad_backend.layout.FamilyTreeLayoutCache;
 import com.mad_backend.repository.FamilyTreeRepository;
 import com.mad_backend.service.FamilyTreeService;
+import com.mad_backend.service.FamilyTreeSynchronizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,7 +32,20 @@ import java.util.stream.Collectors;
 public class FamilyTreeServiceImpl implements FamilyTreeService {
 
     private final FamilyTreeRepository familyTreeRepository;
-    private final FamilyTreeFamilyRepository familyTreeFamilyRepository;
+    private final FamilyTreeSynchronizer familyTreeSynchronizer;
+    private final FamilyTreeLayoutCache familyTreeLayoutCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.family-tree-sync.threads:4}")
+    private int syncThreads;
+
+    private ExecutorService syncExecutor;
+
+    @PostConstruct
+    public void startSyncExecutor() {
+        syncExecutor = Executors.newFixedThreadPool(syncThreads, new CustomizableThreadFactory("family-tree-sync-"));
+    }
 
     @Override
     public List<FamilyTreeResponse> getListFamilyTrees(FamilyTreeRequest request) {
@@ -42,59 +65,65 @@ public class FamilyTreeServiceImpl implements FamilyTreeService {
     @Override
     @Transactional
     public FamilyTreeResponse saveFamilyTree(FamilyTreeRequest familyTreeRequest) {
-        FamilyTree familyTree = familyTreeRepository.findByIdAndIsDeletedFalse(familyTreeRequest.getId())
-                .orElseGet(FamilyTree::new);
-
-        familyTree.setName(familyTreeRequest.getName());
-        familyTree.setAge(familyTreeRequest.getAge());
-        familyTree.setAvatarUrl(familyTreeRequest.getAvatarUrl());
-        familyTree.setGenerationNumbers(familyTreeRequest.getGenerationNumbers());
-        FamilyTree savedFamilyTree = familyTreeRepository.save(familyTree);
-
-        saveFamilyTreeFamilies(familyTreeRequest.getFamily(), savedFamilyTree);
-
-        return FamilyTreeResponse.fromEntity(savedFamilyTree);
+        return syncFamilyTree(familyTreeRequest);
     }
 
-    private void saveFamilyTreeFamilies(List<FamilyTreeFamilyRequest> familyRequests, FamilyTree familyTree) {
-        Set<String> requestedKeys = familyRequests.stream()
-                .map(rq -> buildKey(rq.getFamily().getId(), rq.getGeneration()))
-                .collect(Collectors.toSet());
-
-        List<FamilyTreeFamily> existingFamilies = familyTreeFamilyRepository.findByFamilyTreeId(familyTree.getId());
-
-        List<FamilyTreeFamily> toDelete = existingFamilies.stream()
-                .filter(f -> !requestedKeys.contains(buildKey(f.getFamily().getId(), f.getGeneration())))
-                .collect(Collectors.toList());
-
-        List<FamilyTreeFamily> toAdd = familyRequests.stream()
-                .filter(rq -> existingFamilies.stream()
-                        .noneMatch(existing -> existing.getFamily().getId().equals(rq.getFamily().getId())
-                                && existing.getGeneration().equals(rq.getGeneration()))
-                )
-                .map(rq -> {
-                    FamilyTreeFamily familyTreeFamily = new FamilyTreeFamily();
-                    familyTreeFamily.setFamily(rq.getFamily());
-                    familyTreeFamily.setFamilyTree(familyTree);
-                    familyTreeFamily.setGeneration(rq.getGeneration());
-                    return familyTreeFamily;
-                })
-                .collect(Collectors.toList());
-
-        familyTreeFamilyRepository.deleteAll(toDelete);
-        familyTreeFamilyRepository.saveAll(toAdd);
+    /**
+     * Saves each request in its own transaction; requests for the same tree run in order on one worker
+     * and different trees run in parallel. This is not all-or-nothing: when a save fails, the trees
+     * saved before or alongside it stay committed, later requests for the failing tree are skipped, and
+     * the first failure is rethrown with any others attached as suppressed exceptions. Clients that
+     * see an error should reload the trees before retrying.
+     */
+    @Override
+    public List<FamilyTreeResponse> saveAllFamilyTrees(List<FamilyTreeRequest> requests) {
+        Map<Long, List<Integer>> requestsByTree = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Long id = requests.get(i).getId();
+            requestsByTree.computeIfAbsent(id != null ? id : -1L - i, key -> new ArrayList<>()).add(i);
+        }
+
+        FamilyTreeResponse[] responses = new FamilyTreeResponse[requests.size()];
+        List<Future<?>> futures = new ArrayList<>(requestsByTree.size());
+        for (List<Integer> indexes : requestsByTree.values()) {
+            futures.add(syncExecutor.submit(() -> {
+                for (int index : indexes) {
+                    responses[index] = transactionTemplate.execute(status -> syncFamilyTree(requests.get(index)));
+                }
+            }));
+        }
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while saving family trees", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return Arrays.asList(responses);
     }
 
-    private String buildKey(Long familyId, Integer generation) {
-        return familyId + "-" + generation;
+    private FamilyTreeResponse syncFamilyTree(FamilyTreeRequest request) {
+        FamilyTreeResponse response = familyTreeSynchronizer.sync(request);
+        eventPublisher.publishEvent(new FamilyTreeChangedEvent(response.getId()));
+        return response;
     }
 
-
-    @Override
-    public List<FamilyTreeResponse> saveAllFamilyTrees(List<FamilyTreeRequest> requests) {
-        return requests.stream()
-                .map(this::saveFamilyTree)
-                .collect(Collectors.toList());
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
     }
 
     @Override
@@ -104,5 +133,21 @@ public class FamilyTreeServiceImpl implements FamilyTreeService {
 
         familyTree.setDeleted(true);
         familyTreeRepository.save(familyTree);
+        eventPublisher.publishEvent(new FamilyTreeChangedEvent(id));
+    }
+
+    @Override
+    public FamilyTreeLayoutResponse getFamilyTreeLayout(Long id, Double minX, Double maxX,
+                                                        Integer minGeneration, Integer maxGeneration) {
+        if (!familyTreeRepository.existsByIdAndIsDeletedFalse(id)) {
+            throw new NoSuchElementException("Family tree not found with ID: " + id);
+        }
+        FamilyTreeLayout layout = familyTreeLayoutCache.get(id);
+        List<FamilyTreeLayout.Node> visibleNodes = layout.slice(
+                minX != null ? minX : Double.NEGATIVE_INFINITY,
+                maxX != null ? maxX : Double.POSITIVE_INFINITY,
+                minGeneration != null ? minGeneration : Integer.MIN_VALUE,
+                maxGeneration != null ? maxGeneration : Integer.MAX_VALUE);
+        return FamilyTreeLayoutResponse.fromLayout(layout, visibleNodes);
     }
 }
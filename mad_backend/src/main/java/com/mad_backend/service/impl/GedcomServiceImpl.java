@@ -0,0 +1,288 @@
+package com.mad_backend.service.impl;
+
+import com.mad_backend.dto.entity.GedcomImport;
+import com.mad_backend.dto.response.GedcomImportResponse;
+import com.mad_backend.enums.GedcomImportStatus;
+import com.mad_backend.gedcom.GedcomBatchWriter;
+import com.mad_backend.gedcom.GedcomExporter;
+import com.mad_backend.gedcom.GedcomReader;
+import com.mad_backend.gedcom.GedcomRecord;
+import com.mad_backend.index.FamilySuggestionIndexLoader;
+import com.mad_backend.index.GenealogyGraphLoader;
+import com.mad_backend.repository.FamilyTreeRepository;
+import com.mad_backend.repository.GedcomImportRepository;
+import com.mad_backend.search.PeopleAutocompleteIndexLoader;
+import com.mad_backend.service.GedcomService;
+import com.mad_backend.service.LineageClosureMaintainer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Imports GEDCOM uploads in the background. The upload is the raw request body, spooled to a temporary
+ * file as it arrives (up to {@code app.gedcom.max-upload-size}, so the global multipart limits stay
+ * small) and read twice
+ * with {@link GedcomReader}: individuals first, then families, so record order in the file does not
+ * matter and only one chunk of records is in memory at a time. Each chunk is written and committed in
+ * its own transaction together with the progress counters; if the import fails, the rows it committed
+ * are deleted again, so an import either lands completely or not at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class GedcomServiceImpl implements GedcomService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GedcomServiceImpl.class);
+
+    private final GedcomImportRepository gedcomImportRepository;
+    private final GedcomBatchWriter gedcomBatchWriter;
+    private final GedcomExporter gedcomExporter;
+    private final FamilyTreeRepository familyTreeRepository;
+    private final LineageClosureMaintainer lineageClosureMaintainer;
+    private final GenealogyGraphLoader genealogyGraphLoader;
+    private final PeopleAutocompleteIndexLoader peopleAutocompleteIndexLoader;
+    private final FamilySuggestionIndexLoader familySuggestionIndexLoader;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService importExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("gedcom-import-"));
+
+    @Value("${app.gedcom.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.gedcom.max-upload-size:512MB}")
+    private DataSize maxUploadSize;
+
+    @Override
+    public GedcomImportResponse startImport(String fileName, InputStream body) {
+        Path spooled = spool(body);
+
+        GedcomImport gedcomImport = new GedcomImport();
+        gedcomImport.setFileName(fileName);
+        gedcomImport.setStatus(GedcomImportStatus.PENDING);
+        gedcomImport.setTotalBytes(spooled.toFile().length());
+        gedcomImportRepository.save(gedcomImport);
+
+        Long importId = gedcomImport.getId();
+        importExecutor.execute(() -> runImport(importId, spooled));
+        return GedcomImportResponse.fromEntity(gedcomImport);
+    }
+
+    // Copies the body to a temporary file and stops as soon as it passes the upload limit.
+    private Path spool(InputStream body) {
+        long limit = maxUploadSize.toBytes();
+        Path target = null;
+        try {
+            target = Files.createTempFile("gedcom-import-", ".ged");
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(target)) {
+                byte[] buffer = new byte[8192];
+                for (int read; (read = body.read(buffer)) != -1; ) {
+                    size += read;
+                    if (size > limit) {
+                        throw new MaxUploadSizeExceededException(limit);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("GEDCOM file is empty");
+            }
+            return target;
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw new RuntimeException("Could not store GEDCOM upload: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete spooled GEDCOM file {}", file, e);
+        }
+    }
+
+    @Override
+    public GedcomImportResponse getImport(Long importId) {
+        return gedcomImportRepository.findByIdAndIsDeletedFalse(importId)
+                .map(GedcomImportResponse::fromEntity)
+                .orElseThrow(() -> new NoSuchElementException("GEDCOM import not found with id: " + importId));
+    }
+
+    @Override
+    public StreamingResponseBody exportFamilyTree(Long familyTreeId) {
+        if (!familyTreeRepository.existsByIdAndIsDeletedFalse(familyTreeId)) {
+            throw new NoSuchElementException("Family tree not found with id: " + familyTreeId);
+        }
+        return out -> gedcomExporter.export(familyTreeId, out);
+    }
+
+    private void runImport(Long importId, Path file) {
+        long startedAt = System.currentTimeMillis();
+        boolean published = false;
+        try {
+            updateProgress(importId, GedcomImportStatus.IMPORTING_INDIVIDUALS, 0, 0, 0);
+            long individuals = importPass(importId, file, "INDI", GedcomImportStatus.IMPORTING_INDIVIDUALS, 0);
+            long families = importPass(importId, file, "FAM", GedcomImportStatus.IMPORTING_FAMILIES, individuals);
+
+            published = true;
+            reloadDerivedData();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                GedcomImport gedcomImport = gedcomImportRepository.findById(importId).orElseThrow();
+                gedcomImport.setStatus(GedcomImportStatus.COMPLETED);
+                gedcomImport.setFinishedAt(LocalDateTime.now());
+            });
+            LOGGER.info("GEDCOM import {} finished: {} individuals, {} families in {} ms",
+                    importId, individuals, families, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            LOGGER.error("GEDCOM import {} failed", importId, e);
+            discard(importId, published);
+            markFailed(importId, e);
+        } finally {
+            try {
+                gedcomBatchWriter.clearStaging(importId);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not clear staging rows of GEDCOM import {}", importId, e);
+            }
+            deleteQuietly(file);
+        }
+    }
+
+    private long importPass(Long importId, Path file, String recordTag, GedcomImportStatus status,
+                            long individualsSoFar) throws IOException {
+        long written = 0;
+        try (CountingInputStream input = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+             GedcomReader reader = new GedcomReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<GedcomRecord> chunk = new ArrayList<>(batchSize);
+            GedcomRecord record;
+            while ((record = reader.next()) != null) {
+                if (!record.tag().equals(recordTag)) {
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == batchSize) {
+                    written += writeChunk(importId, recordTag, chunk, status, input.count(), individualsSoFar, written);
+                    chunk.clear();
+                }
+            }
+            written += writeChunk(importId, recordTag, chunk, status, input.count(), individualsSoFar, written);
+        }
+        return written;
+    }
+
+    private int writeChunk(Long importId, String recordTag, List<GedcomRecord> chunk, GedcomImportStatus status,
+                           long processedBytes, long individualsSoFar, long writtenSoFar) {
+        Integer written = transactionTemplate.execute(tx -> {
+            int count = chunk.isEmpty() ? 0 : recordTag.equals("INDI")
+                    ? gedcomBatchWriter.writeIndividuals(importId, chunk)
+                    : gedcomBatchWriter.writeFamilies(importId, chunk);
+            long individuals = recordTag.equals("INDI") ? writtenSoFar + count : individualsSoFar;
+            long families = recordTag.equals("INDI") ? 0 : writtenSoFar + count;
+            updateProgress(importId, status, processedBytes, individuals, families);
+            return count;
+        });
+        return written != null ? written : 0;
+    }
+
+    private void updateProgress(Long importId, GedcomImportStatus status, long processedBytes, long individuals, long families) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            GedcomImport gedcomImport = gedcomImportRepository.findById(importId).orElseThrow();
+            if (gedcomImport.getStartedAt() == null) {
+                gedcomImport.setStartedAt(LocalDateTime.now());
+            }
+            gedcomImport.setStatus(status);
+            gedcomImport.setProcessedBytes(processedBytes);
+            gedcomImport.setIndividuals(individuals);
+            gedcomImport.setFamilies(families);
+        });
+    }
+
+    // Imported rows bypass the services, so no change events fire; everything derived from them is reloaded.
+    private void reloadDerivedData() {
+        lineageClosureMaintainer.rebuild();
+        genealogyGraphLoader.load();
+        peopleAutocompleteIndexLoader.load();
+        familySuggestionIndexLoader.load();
+    }
+
+    private void discard(Long importId, boolean published) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> gedcomBatchWriter.discard(importId));
+            if (published) {
+                reloadDerivedData();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not discard the rows written by GEDCOM import {}", importId, e);
+        }
+    }
+
+    private void markFailed(Long importId, Exception failure) {
+        String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+        transactionTemplate.executeWithoutResult(tx -> gedcomImportRepository.findById(importId).ifPresent(gedcomImport -> {
+            gedcomImport.setStatus(GedcomImportStatus.FAILED);
+            gedcomImport.setFinishedAt(LocalDateTime.now());
+            gedcomImport.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mad_backend.service.impl;
+
+import com.mad_backend.dto.response.KinshipResponse;
+import com.mad_backend.dto.response.LineageResponse;
+import com.mad_backend.index.GenealogyGraphIndex;
+import com.mad_backend.index.KinshipCalculator;
+import com.mad_backend.service.GenealogyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class GenealogyServiceImpl implements GenealogyService {
+
+    private final GenealogyGraphIndex genealogyGraphIndex;
+    private final KinshipCalculator kinshipCalculator;
+
+    @Value("${app.genealogy.max-depth:50}")
+    private int maxAllowedDepth;
+
+    @Override
+    public List<LineageResponse> getAncestors(Long userId, Integer maxDepth) {
+        return toResponses(genealogyGraphIndex.ancestors(userId, resolveDepth(maxDepth)));
+    }
+
+    @Override
+    public List<LineageResponse> getDescendants(Long userId, Integer maxDepth) {
+        return toResponses(genealogyGraphIndex.descendants(userId, resolveDepth(maxDepth)));
+    }
+
+    @Override
+    public KinshipResponse getRelationship(Long fromUserId, Long toUserId, Integer maxDepth) {
+        return kinshipCalculator.relate(fromUserId, toUserId, resolveDepth(maxDepth))
+                .map(kinship -> new KinshipResponse(fromUserId, toUserId, kinship.label(), kinship.generationsUp(),
+                        kinship.generationsDown(), kinship.halfRelation(), kinship.inLaw(), kinship.path()))
+                .orElseGet(() -> new KinshipResponse(fromUserId, toUserId, "unrelated", null, null, false, false, List.of()));
+    }
+
+    private int resolveDepth(Integer maxDepth) {
+        if (maxDepth == null) {
+            return maxAllowedDepth;
+        }
+        if (maxDepth < 1 || maxDepth > maxAllowedDepth) {
+            throw new IllegalArgumentException("maxDepth must be between 1 and " + maxAllowedDepth);
+        }
+        return maxDepth;
+    }
+
+    private List<LineageResponse> toResponses(List<GenealogyGraphIndex.Relative> relatives) {
+        return relatives.stream()
+                .map(relative -> new LineageResponse(relative.userId(), relative.depth()))
+                .toList();
+    }
+}
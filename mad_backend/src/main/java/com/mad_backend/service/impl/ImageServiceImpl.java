@@ -1,29 +1,42 @@
 package com.mad_backend.service.impl;
 
-import com.mad_backend.dto.entity.Album;
 import com.mad_backend.dto.entity.Family;
 import com.mad_backend.dto.entity.Image;
 import com.mad_backend.dto.request.ImageRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
+import com.mad_backend.dto.response.ImageDayResponse;
 import com.mad_backend.dto.response.ImageResponse;
+import com.mad_backend.pagination.KeysetPages;
+import com.mad_backend.pagination.SeekCursor;
 import com.mad_backend.repository.AlbumRepository;
 import com.mad_backend.repository.FamilyRepository;
 import com.mad_backend.repository.ImageRepository;
+import com.mad_backend.service.AlbumMembershipWriter;
 import com.mad_backend.service.ImageService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ImageServiceImpl implements ImageService {
 
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
     private final ImageRepository imageRepository;
     private final FamilyRepository familyRepository;
     private final AlbumRepository albumRepository;
+    private final AlbumMembershipWriter albumMembershipWriter;
 
     public List<ImageResponse> createImages(Long familyId, List<ImageRequest> imageRequest) {
         Family family = familyRepository.findFamilyByIdAndIsDeletedFalse(familyId)
@@ -45,6 +58,7 @@ public class ImageServiceImpl implements ImageService {
                 .toList();
     }
 
+    @Timed(value = "service.image.list", description = "Listing a family's images grouped by day")
     public Map<String, List<ImageResponse>> getListImage(Long familyId) {
         List<ImageResponse> images = imageRepository.findImagesByFamilyId(familyId);
 
@@ -56,47 +70,81 @@ public class ImageServiceImpl implements ImageService {
         Map<LocalDate, List<ImageResponse>> sortedByDateDesc = new TreeMap<>(Comparator.reverseOrder());
         sortedByDateDesc.putAll(groupedByDate);
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-
         Map<String, List<ImageResponse>> responseData = new LinkedHashMap<>();
         for (Map.Entry<LocalDate, List<ImageResponse>> entry : sortedByDateDesc.entrySet()) {
             List<ImageResponse> sortedImages = entry.getValue().stream()
                     .sorted(Comparator.comparing(ImageResponse::getCreatedAt).reversed())
                     .collect(Collectors.toList());
-            responseData.put(entry.getKey().format(formatter), sortedImages);
+            responseData.put(entry.getKey().format(DAY_FORMAT), sortedImages);
         }
 
         return responseData;
     }
 
+    /**
+     * Pages a family's images by day, newest day first. A page of distinct days is read from the index
+     * first, then only the images between the oldest of those days and the cursor are loaded; they arrive
+     * already ordered, so bucketing and counting them is a single pass. The cursor is the oldest day of
+     * the previous page.
+     */
+    @Override
+    @Timed(value = "service.image.timeline", description = "Paging a family's images by day")
+    public CursorSliceResponse<ImageDayResponse> getImageTimeline(Long familyId, String cursor, int size) {
+        int pageSize = KeysetPages.pageSize(size);
+        LocalDateTime before = cursor != null
+                ? SeekCursor.decode(cursor).dayKey().atStartOfDay()
+                : SeekCursor.LATEST_TIMESTAMP;
+
+        List<LocalDate> days = imageRepository.findImageDaysBefore(familyId, before, KeysetPages.probeLimit(pageSize));
+        Map<LocalDate, List<ImageResponse>> imagesByDay = new HashMap<>();
+        if (!days.isEmpty()) {
+            LocalDate newest = days.get(0);
+            LocalDate oldest = days.get(Math.min(days.size(), pageSize) - 1);
+            for (ImageResponse image : imageRepository.findImagesCreatedBetween(familyId, oldest.atStartOfDay(),
+                    newest.plusDays(1).atStartOfDay())) {
+                imagesByDay.computeIfAbsent(image.getCreatedAt().toLocalDate(), day -> new ArrayList<>()).add(image);
+            }
+        }
+
+        return KeysetPages.slice(days, pageSize, day -> new SeekCursor(day.toString(), 0), day -> {
+            List<ImageResponse> images = imagesByDay.getOrDefault(day, List.of());
+            return new ImageDayResponse(day.format(DAY_FORMAT), (long) images.size(), images);
+        });
+    }
+
     public List<ImageResponse> getListImageForAlbum(Long familyId, Long albumId, Boolean isInAlbum) {
-        List<ImageResponse> images;
+        if (albumId != null && !albumRepository.existsByIdAndIsDeletedFalse(albumId)) {
+            throw new NoSuchElementException("Album not found!");
+        }
+        return findAlbumPickerImages(familyId, albumId, isInAlbum, SeekCursor.LATEST_TIMESTAMP, Long.MAX_VALUE,
+                Limit.unlimited());
+    }
+
+    /**
+     * Keyset-paged variant of {@link #getListImageForAlbum} for the album picker: each page is a single
+     * query ordered by (createdAt, id) descending, with "not in album" answered by an anti-join on
+     * album_image. A missing or deleted album yields an empty page.
+     */
+    @Override
+    public CursorSliceResponse<ImageResponse> getPageImageForAlbum(Long familyId, Long albumId, Boolean isInAlbum,
+                                                                   String cursor, int size) {
+        int pageSize = KeysetPages.pageSize(size);
+        SeekCursor before = cursor != null ? SeekCursor.decode(cursor) : SeekCursor.NEWEST_FIRST;
+        List<ImageResponse> images = findAlbumPickerImages(familyId, albumId, isInAlbum, before.timestampKey(),
+                before.id(), KeysetPages.probeLimit(pageSize));
+        return KeysetPages.slice(images, pageSize, image -> new SeekCursor(image.getCreatedAt().toString(), image.getId()),
+                Function.identity());
+    }
 
+    private List<ImageResponse> findAlbumPickerImages(Long familyId, Long albumId, Boolean isInAlbum,
+                                                      LocalDateTime beforeCreatedAt, long beforeId, Limit limit) {
         if (albumId == null) {
-            images = imageRepository.findImagesByFamilyId(familyId);
-        } else {
-            Album album = albumRepository.findByIdAndIsDeletedFalse(albumId)
-                    .orElseThrow(() -> new NoSuchElementException("Album not found!"));
-            List<Image> albumImages = album.getImages();
-
-            if (Boolean.TRUE.equals(isInAlbum) || isInAlbum == null) {
-                images = albumImages.stream()
-                        .map(ImageResponse::new)
-                        .toList();
-            } else {
-                Set<Long> albumImageIds = albumImages.stream()
-                        .map(Image::getId)
-                        .collect(Collectors.toSet());
-
-                images = imageRepository.findImagesByFamilyId(familyId).stream()
-                        .filter(image -> !albumImageIds.contains(image.getId()))
-                        .toList();
-            }
+            return imageRepository.findFamilyImagesBefore(familyId, beforeCreatedAt, beforeId, limit);
         }
-
-        return images.stream()
-                .sorted(Comparator.comparing(ImageResponse::getCreatedAt).reversed())
-                .toList();
+        if (isInAlbum == null || isInAlbum) {
+            return imageRepository.findAlbumImagesBefore(albumId, beforeCreatedAt, beforeId, limit);
+        }
+        return imageRepository.findImagesNotInAlbumBefore(familyId, albumId, beforeCreatedAt, beforeId, limit);
     }
 
     public ImageResponse getDetailImage(Long imageId) {
@@ -106,31 +154,30 @@ public class ImageServiceImpl implements ImageService {
         return new ImageResponse(image);
     }
 
+    /**
+     * Soft-deletes the images and unlinks them from their albums with set-based statements, one UPDATE
+     * and one DELETE per chunk of ids, without loading the images or their albums.
+     */
+    @Transactional
     public int deleteImages(List<ImageRequest> imageRequests) {
         List<Long> imageIds = imageRequests.stream()
                 .map(ImageRequest::getId)
-                .collect(Collectors.toList());
-
-        List<Image> images = imageRepository.findAllByIdInAndIsDeletedFalse(imageIds);
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
 
-        if (images.isEmpty()) {
-            throw new NoSuchElementException("No images found to delete!");
+        LocalDateTime now = LocalDateTime.now();
+        int deletedCount = 0;
+        for (int from = 0; from < imageIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = imageIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, imageIds.size()));
+            deletedCount += imageRepository.softDeleteByIdIn(chunk, now);
+            albumMembershipWriter.detach(chunk);
         }
 
-        for (Image image : images) {
-            List<Album> linkedAlbums = image.getAlbums();
-            if (linkedAlbums != null) {
-                for (Album album : linkedAlbums) {
-                    album.getImages().remove(image);
-                }
-            }
-
-            image.setAlbums(null);
-            image.setDeleted(true);
+        if (deletedCount == 0) {
+            throw new NoSuchElementException("No images found to delete!");
         }
-
-        imageRepository.saveAll(images);
-        return images.size();
+        return deletedCount;
     }
 
 }
@@ -1,37 +1,35 @@
 package com.mad_backend.service.impl;
 
-import com.mad_backend.dto.entity.Family;
 import com.mad_backend.dto.entity.Profile;
 import com.mad_backend.dto.entity.User;
 import com.mad_backend.dto.request.ProfileRequest;
 import com.mad_backend.dto.response.ProfileResponse;
 import com.mad_backend.enums.Role;
+import com.mad_backend.event.PersonChangedEvent;
 import com.mad_backend.mapper.ProfileMapper;
 import com.mad_backend.repository.ProfileRepository;
-import com.mad_backend.repository.UserRepository;
 import com.mad_backend.security.custom.CustomUserDetailsService;
+import com.mad_backend.service.ProfileRelationLoader;
 import com.mad_backend.service.ProfileService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.text.Normalizer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProfileServiceImpl implements ProfileService {
     private final ProfileRepository profileRepository;
-    private final UserRepository userRepository;
     private final ProfileMapper profileMapper;
     private final CustomUserDetailsService userService;
+    private final ProfileRelationLoader profileRelationLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProfileResponse createProfile(ProfileRequest request) {
-        String username = Normalizer.normalize((request.getLastName() + request.getFirstName()), Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-                .replaceAll("[đĐ]", "d")
-                .toLowerCase()
-                .replaceAll("\\s+", "");
+        String username = usernameOf(request.getLastName(), request.getFirstName());
 
         User newUser = new User();
         newUser.setUsername(username);
@@ -54,24 +52,28 @@ public class ProfileServiceImpl implements ProfileService {
 
         profileRepository.save(profile);
         newUser.setProfile(profile);
+        publishPersonChanged(profile);
 
         return new ProfileResponse(profile);
     }
 
-    public List<ProfileResponse> getListProfile(Long familyId) {
-        List<User> users = userRepository.findByFamilies_IdAndIsDeletedFalse(familyId);
-
-        List<ProfileResponse> dataResponse = new ArrayList<>();
-        for (User user : users) {
-            if (user.getProfile() == null) {
-                throw new NoSuchElementException("Profile not found with userId: " + user.getId());
+    public List<ProfileResponse> getListProfile(Long familyId, boolean withRelations) {
+        List<ProfileResponse> dataResponse = profileRepository.findSummariesByFamilyId(familyId);
+        for (ProfileResponse profileResponse : dataResponse) {
+            if (profileResponse.getId() == null) {
+                throw new NoSuchElementException("Profile not found with userId: " + profileResponse.getUserId());
             }
-            ProfileResponse profileResponse = new ProfileResponse(user);
-            dataResponse.add(profileResponse);
+        }
+
+        if (withRelations) {
+            Map<Long, Map<String, Object>> relations = profileRelationLoader.loadRelations(
+                    dataResponse.stream().map(ProfileResponse::getUserId).toList());
+            dataResponse.forEach(profileResponse -> profileResponse.setRelations(relations.get(profileResponse.getUserId())));
         }
         return dataResponse;
     }
 
+    @Timed(value = "service.profile.detail", description = "Loading a profile with its relations")
     public ProfileResponse getDetailProfile(Long profileId) {
         Profile profile = profileRepository.findByIdAndIsDeletedFalse(profileId)
                 .orElseThrow(() -> new NoSuchElementException("Profile not found with id: " + profileId));
@@ -79,29 +81,7 @@ public class ProfileServiceImpl implements ProfileService {
         ProfileResponse profileResponse = new ProfileResponse(profile);
 
         Long userId = profile.getUser().getId();
-        List<Family> families = profile.getUser().getFamilies();
-        Map<String, Object> relations = new HashMap<>();
-
-        for (Family family : families) {
-            if (family.getChildIds().contains(userId)) {
-                relations.put("father", new ProfileResponse(family.getHusband()));
-                relations.put("mother", new ProfileResponse(family.getWife()));
-            } else {
-                List<User> children = userRepository.findAllByIdInAndIsDeletedFalse(family.getChildIds());
-                List<ProfileResponse> childrenResponses = children.stream()
-                        .map(ProfileResponse::new)
-                        .collect(Collectors.toList());
-                relations.put("children", childrenResponses);
-
-                if (family.getHusband().getId().equals(userId)) {
-                    relations.put("wife", new ProfileResponse(family.getWife()));
-                } else {
-                    relations.put("husband", new ProfileResponse(family.getHusband()));
-                }
-            }
-        }
-
-        profileResponse.setRelations(relations);
+        profileResponse.setRelations(profileRelationLoader.loadRelations(List.of(userId)).get(userId));
         return profileResponse;
     }
 
@@ -124,6 +104,7 @@ public class ProfileServiceImpl implements ProfileService {
 
         profileMapper.updateProfileFromRequest(profileRequest, profile);
         Profile updatedProfile = profileRepository.save(profile);
+        publishPersonChanged(updatedProfile);
 
         return new ProfileResponse(updatedProfile);
     }
@@ -132,5 +113,20 @@ public class ProfileServiceImpl implements ProfileService {
     public void save(Profile profile) {
         profileRepository.save(profile);
     }
+
+    // "Nguyễn Văn" + "Đức" becomes "nguyenvanduc".
+    public static String usernameOf(String lastName, String firstName) {
+        return Normalizer.normalize((lastName + firstName), Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+                .replaceAll("[đĐ]", "d")
+                .toLowerCase()
+                .replaceAll("\\s+", "");
+    }
+
+    private void publishPersonChanged(Profile profile) {
+        User user = profile.getUser();
+        eventPublisher.publishEvent(new PersonChangedEvent(user.getId(), profile.getId(), user.getUsername(),
+                profile.getFirstName(), profile.getLastName(), profile.getAvatarUrl(), false));
+    }
 }
 
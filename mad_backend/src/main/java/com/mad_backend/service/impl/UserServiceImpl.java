@@ -6,23 +6,36 @@ import com.mad_backend.dto.entity.Profile;
 import com.mad_backend.dto.entity.User;
 import com.mad_backend.dto.request.FamilyTreeRequest;
 import com.mad_backend.dto.request.UserRequest;
+import com.mad_backend.dto.response.CursorSliceResponse;
 import com.mad_backend.dto.response.FamilyTreeResponse;
+import com.mad_backend.dto.response.PersonSuggestionResponse;
 import com.mad_backend.dto.response.UserResponse;
 import com.mad_backend.enums.Role;
+import com.mad_backend.event.PersonChangedEvent;
+import com.mad_backend.pagination.KeysetPages;
+import com.mad_backend.pagination.SeekCursor;
 import com.mad_backend.repository.FamilyRepository;
 import com.mad_backend.repository.UserRepository;
+import com.mad_backend.search.PeopleAutocompleteIndex;
+import com.mad_backend.security.custom.SecurityEpochRegistry;
 import com.mad_backend.service.ProfileService;
 import com.mad_backend.service.UserService;
+import jakarta.persistence.criteria.Path;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.Set;
 
@@ -32,6 +45,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final FamilyRepository familyRepository;
     private final ProfileService profileService;
+    private final SecurityEpochRegistry securityEpochRegistry;
+    private final PeopleAutocompleteIndex peopleAutocompleteIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponse getUserById(Long id) {
@@ -54,6 +70,10 @@ public class UserServiceImpl implements UserService {
     public UserResponse saveUser(UserRequest userRequest) {
         User user = userRepository.findByIdAndIsDeletedFalse(userRequest.getId())
                 .orElseGet(User::new);
+        if (user.getId() != null && (!Objects.equals(user.getPassword(), userRequest.getPassword())
+                || !sameRoles(user.getRoles(), userRequest.getRoles()))) {
+            securityEpochRegistry.rotate(user);
+        }
         user.setUsername(userRequest.getUsername());
         user.setPassword(userRequest.getPassword());
         user.setEmail(userRequest.getEmail());
@@ -96,16 +116,26 @@ public class UserServiceImpl implements UserService {
         user.setProfile(profile);
 
         profileService.save(profile);
+        eventPublisher.publishEvent(new PersonChangedEvent(savedUser.getId(), profile.getId(), savedUser.getUsername(),
+                profile.getFirstName(), profile.getLastName(), profile.getAvatarUrl(), false));
 
         return UserResponse.fromEntity(savedUser);
     }
 
+    private boolean sameRoles(List<Role> current, List<Role> requested) {
+        return new HashSet<>(Optional.ofNullable(current).orElse(List.of()))
+                .equals(new HashSet<>(Optional.ofNullable(requested).orElse(List.of())));
+    }
+
+    @Transactional
     @Override
     public void deleteUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
         user.setDeleted(true);
         userRepository.save(user);
+        securityEpochRegistry.revoke(id);
+        eventPublisher.publishEvent(new PersonChangedEvent(id, null, null, null, null, null, true));
     }
 
     @Override
@@ -124,13 +154,55 @@ public class UserServiceImpl implements UserService {
         return users.map(UserResponse::fromEntity);
     }
 
+    @Override
+    public CursorSliceResponse<UserResponse> searchUsers(String username, String cursor, int size) {
+        int pageSize = KeysetPages.pageSize(size);
+        Specification<User> spec = Specification.where(
+                (root, query, cb) -> cb.equal(root.get("isDeleted").as(Boolean.class), false)
+        );
+        if (username != null && !username.isBlank()) {
+            spec = spec.and((root, query, cb) ->
+                    cb.like(cb.lower(root.get("username")), "%" + username.toLowerCase() + "%"));
+        }
+        if (cursor != null) {
+            SeekCursor after = SeekCursor.decode(cursor);
+            // Ascending order puts NULL usernames first, ahead of every named user.
+            spec = spec.and((root, query, cb) -> {
+                Path<String> name = root.get("username");
+                Path<Long> id = root.get("id");
+                if (after.key() == null) {
+                    return cb.or(cb.isNotNull(name), cb.greaterThan(id, after.id()));
+                }
+                return cb.or(cb.greaterThan(name, after.key()),
+                        cb.and(cb.equal(name, after.key()), cb.greaterThan(id, after.id())));
+            });
+        }
+
+        List<User> users = userRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("username", "id"))
+                .project("profile")
+                .limit(pageSize + 1)
+                .all());
+        return KeysetPages.slice(users, pageSize, user -> new SeekCursor(user.getUsername(), user.getId()),
+                UserResponse::fromEntity);
+    }
+
     @Override
     public List<UserResponse> getUsersWithoutFamily() {
-        return userRepository.findAllByIsDeletedFalse()
+        return userRepository.findAllWithoutFamily()
                 .stream()
-                .filter(user -> user.getFamilies() == null || user.getFamilies().isEmpty())
                 .map(UserResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<PersonSuggestionResponse> autocomplete(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return peopleAutocompleteIndex.suggest(query, KeysetPages.pageSize(limit))
+                .stream()
+                .map(PersonSuggestionResponse::fromSuggestion)
+                .toList();
+    }
 }
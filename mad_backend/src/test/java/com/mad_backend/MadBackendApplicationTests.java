@@ -3,7 +3,10 @@ package com.mad_backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "app.actuator.username=scraper",
+        "app.actuator.password=scraper-secret"
+})
 class MadBackendApplicationTests {
 
     @Test
@@ -0,0 +1,80 @@
+package com.mad_backend.benchmark;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mad_backend.dto.entity.EmailOutbox;
+import com.mad_backend.enums.EmailOutboxStatus;
+import com.mad_backend.service.EmailOutboxDispatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers 10k queued outbox rows to an embedded GreenMail SMTP server in dispatcher-sized batches.
+ * The score is the wall time for the whole queue; 10k divided by it is the sustained throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EmailOutboxDispatcherBenchmark {
+
+    private static final int QUEUED_MESSAGES = 10_000;
+
+    @Param({"10", "100"})
+    private int batchSize;
+
+    private GreenMail greenMail;
+    private EmailOutboxDispatcher dispatcher;
+    private List<EmailOutbox> outbox;
+
+    @Setup(Level.Trial)
+    public void startSmtp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.start();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        dispatcher = new EmailOutboxDispatcher(null, mailSender, null);
+        ReflectionTestUtils.setField(dispatcher, "from", "noreply@mad.com");
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 5);
+        ReflectionTestUtils.setField(dispatcher, "baseBackoffMillis", 30_000L);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillOutbox() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+        outbox = new ArrayList<>(QUEUED_MESSAGES);
+        for (int i = 0; i < QUEUED_MESSAGES; i++) {
+            EmailOutbox email = new EmailOutbox();
+            email.setRecipient("user" + i + "@mad.com");
+            email.setSubject("OTP for Password Reset");
+            email.setBody("<p>Your OTP for resetting your password is: <b>" + (100000 + i) + "</b></p>");
+            email.setStatus(EmailOutboxStatus.PENDING);
+            email.setNextAttemptAt(LocalDateTime.now());
+            outbox.add(email);
+        }
+    }
+
+    @Benchmark
+    public int drainQueue() {
+        for (int from = 0; from < outbox.size(); from += batchSize) {
+            dispatcher.dispatch(outbox.subList(from, Math.min(from + batchSize, outbox.size())));
+        }
+        return greenMail.getReceivedMessages().length;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopSmtp() {
+        greenMail.stop();
+    }
+}
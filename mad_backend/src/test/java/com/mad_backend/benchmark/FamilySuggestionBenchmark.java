@@ -0,0 +1,88 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.index.FamilySuggestionIndex;
+import com.mad_backend.index.GenealogyGraphIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks the first page of family suggestions for random people in a synthetic tree of about 300k
+ * families. Sons keep their father's surname and wives come from outside with a random one, drawn from
+ * sixteen common Vietnamese surnames, so every surname bucket holds tens of thousands of families.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FamilySuggestionBenchmark {
+
+    private static final int FAMILIES = 300_000;
+    private static final int MAX_COUPLES_PER_GENERATION = 30_000;
+    private static final int PAGE_SIZE = 10;
+    private static final int USERS = 4096;
+    private static final String[] SURNAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ",
+            "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"};
+
+    private FamilySuggestionIndex familySuggestionIndex;
+    private long[] userIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        Random random = new Random(42);
+        GenealogyGraphIndex genealogyGraphIndex = new GenealogyGraphIndex();
+        familySuggestionIndex = new FamilySuggestionIndex(genealogyGraphIndex);
+        List<Long> people = new ArrayList<>();
+        long nextUserId = 1;
+        long nextFamilyId = 1;
+
+        List<long[]> generation = new ArrayList<>();
+        for (int i = 0; i < SURNAMES.length; i++) {
+            long founder = nextUserId++;
+            familySuggestionIndex.applySurname(founder, SURNAMES[i]);
+            generation.add(new long[]{founder, i});
+        }
+        while (nextFamilyId <= FAMILIES) {
+            List<long[]> sons = new ArrayList<>();
+            int couples = Math.min(generation.size(), MAX_COUPLES_PER_GENERATION);
+            for (int i = 0; i < couples && nextFamilyId <= FAMILIES; i++) {
+                long husband = generation.get(i)[0];
+                int surname = (int) generation.get(i)[1];
+                long wife = nextUserId++;
+                familySuggestionIndex.applySurname(wife, SURNAMES[random.nextInt(SURNAMES.length)]);
+                List<Long> childIds = new ArrayList<>();
+                for (int c = 2 + random.nextInt(2); c > 0; c--) {
+                    long child = nextUserId++;
+                    familySuggestionIndex.applySurname(child, SURNAMES[surname]);
+                    childIds.add(child);
+                    if (random.nextBoolean()) {
+                        sons.add(new long[]{child, surname});
+                    }
+                }
+                genealogyGraphIndex.applyFamily(nextFamilyId, husband, wife, childIds);
+                familySuggestionIndex.applyFamily(nextFamilyId, husband, wife, childIds);
+                nextFamilyId++;
+                people.add(husband);
+                people.add(wife);
+                people.addAll(childIds);
+            }
+            generation = sons;
+        }
+
+        userIds = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = people.get(random.nextInt(people.size()));
+        }
+    }
+
+    @Benchmark
+    public List<FamilySuggestionIndex.Suggestion> firstPage() {
+        return familySuggestionIndex.suggest(userIds[next++ & (USERS - 1)], null, null, PAGE_SIZE + 1);
+    }
+}
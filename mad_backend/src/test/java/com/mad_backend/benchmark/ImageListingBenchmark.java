@@ -0,0 +1,59 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.dto.response.ImageResponse;
+import com.mad_backend.repository.ImageRepository;
+import com.mad_backend.service.impl.ImageServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the group-by-day, sort and format pipeline of {@link ImageServiceImpl#getListImage} over a family
+ * album spread across ten years. The repository is a stub returning the prepared rows, so the score
+ * excludes the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageListingBenchmark {
+
+    @Param({"1000", "50000"})
+    private int images;
+
+    private ImageServiceImpl imageService;
+
+    @Setup(Level.Trial)
+    public void createImages() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+        List<ImageResponse> rows = new ArrayList<>(images);
+        for (int i = 0; i < images; i++) {
+            rows.add(new ImageResponse((long) i + 1, "https://res.cloudinary.com/mad/image/" + i + ".jpg",
+                    start.plusSeconds(random.nextInt(10 * 365 * 86_400))));
+        }
+
+        ImageRepository imageRepository = (ImageRepository) Proxy.newProxyInstance(
+                ImageRepository.class.getClassLoader(), new Class<?>[]{ImageRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findImagesByFamilyId")) {
+                        return rows;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        imageService = new ImageServiceImpl(imageRepository, null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, List<ImageResponse>> listImages() {
+        return imageService.getListImage(1L);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.enums.Role;
+import com.mad_backend.security.custom.CustomUserDetails;
+import com.mad_backend.security.jwt.JwtClaims;
+import com.mad_backend.security.jwt.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request token handling of {@code JwtAuthenticationFilter} before and after the
+ * single-parse pipeline: three independent parses with a rebuilt key versus one cached parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "8d00c1da9078aa59b425b1a26b87f9d3c5e575658614857ed7d2c162b63c215f";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = newProvider(10_000);
+        uncachedProvider = newProvider(0);
+
+        CustomUserDetails principal = new CustomUserDetails(1L, "bench@mad.com", null, List.of(Role.USER), 0L,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = cachedProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        Jwts.parserBuilder().setSigningKey(legacyKey()).build().parseClaimsJws(token);
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(legacyKey()).build()
+                .parseClaimsJws(token).getBody().get("needToReset"));
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(legacyKey()).build()
+                .parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return uncachedProvider.parseToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public JwtClaims singleParseCached() {
+        return cachedProvider.parseToken(token).orElseThrow();
+    }
+
+    private static Key legacyKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    }
+
+    private static JwtTokenProvider newProvider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "jwtCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
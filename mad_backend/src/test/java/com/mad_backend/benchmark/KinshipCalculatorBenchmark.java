@@ -0,0 +1,73 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.index.GenealogyGraphIndex;
+import com.mad_backend.index.KinshipCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relates random pairs from the last generation of a synthetic 20-generation tree. Every couple descends
+ * from one founding couple, marries an outsider and has two or three children; the number of couples per
+ * generation is capped so the tree stays around half a million people.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KinshipCalculatorBenchmark {
+
+    private static final int GENERATIONS = 20;
+    private static final int MAX_COUPLES_PER_GENERATION = 10_000;
+    private static final int PAIRS = 4096;
+
+    private KinshipCalculator kinshipCalculator;
+    private long[] fromIds;
+    private long[] toIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildTree() {
+        Random random = new Random(42);
+        GenealogyGraphIndex index = new GenealogyGraphIndex();
+        long nextUserId = 1;
+        long nextFamilyId = 1;
+
+        List<Long> generation = List.of(nextUserId++);
+        for (int depth = 1; depth < GENERATIONS; depth++) {
+            List<Long> children = new ArrayList<>();
+            int couples = Math.min(generation.size(), MAX_COUPLES_PER_GENERATION);
+            for (int i = 0; i < couples; i++) {
+                long husband = generation.get(i);
+                long wife = nextUserId++;
+                List<Long> childIds = new ArrayList<>();
+                for (int c = 2 + random.nextInt(2); c > 0; c--) {
+                    childIds.add(nextUserId++);
+                }
+                index.applyFamily(nextFamilyId++, husband, wife, childIds);
+                children.addAll(childIds);
+            }
+            generation = children;
+        }
+
+        kinshipCalculator = new KinshipCalculator(index);
+        fromIds = new long[PAIRS];
+        toIds = new long[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            fromIds[i] = generation.get(random.nextInt(generation.size()));
+            toIds[i] = generation.get(random.nextInt(generation.size()));
+        }
+    }
+
+    @Benchmark
+    public Optional<KinshipCalculator.Kinship> relateLastGeneration() {
+        int pair = next++ & (PAIRS - 1);
+        return kinshipCalculator.relate(fromIds[pair], toIds[pair], GENERATIONS);
+    }
+}
@@ -0,0 +1,55 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.search.PeopleAutocompleteIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocompletes typical queries against 500k synthetic Vietnamese names. Surnames, middle names and
+ * given names are drawn from short lists, so common tokens such as "nguyen" or "thi" match a large
+ * share of the index, which is the worst case for the candidate scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PeopleAutocompleteBenchmark {
+
+    private static final int PEOPLE = 500_000;
+    private static final String[] SURNAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ",
+            "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Hữu", "Đức", "Ngọc", "Minh", "Thanh", "Quang"};
+    private static final String[] GIVEN_NAMES = {"An", "Anh", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hải", "Hạnh",
+            "Hiếu", "Hoa", "Hùng", "Hương", "Khánh", "Lan", "Linh", "Long", "Mai", "Nam", "Phúc", "Quân", "Sơn",
+            "Tâm", "Thảo", "Thủy", "Trang", "Trung", "Tuấn", "Vân", "Yến"};
+
+    @Param({"ng", "nguyen", "nguyen van", "tran thi lan", "nguyen thi anh", "uyen"})
+    private String query;
+
+    private PeopleAutocompleteIndex index;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        Random random = new Random(42);
+        List<PeopleAutocompleteIndex.Person> people = new ArrayList<>(PEOPLE);
+        for (long userId = 1; userId <= PEOPLE; userId++) {
+            String lastName = SURNAMES[random.nextInt(SURNAMES.length)];
+            String firstName = MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)] + " "
+                    + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+            people.add(new PeopleAutocompleteIndex.Person(userId, userId, "user" + userId, firstName, lastName, null));
+        }
+        index = new PeopleAutocompleteIndex();
+        index.replaceAll(people);
+    }
+
+    @Benchmark
+    public List<PeopleAutocompleteIndex.Suggestion> suggest() {
+        return index.suggest(query, 10);
+    }
+}
@@ -0,0 +1,144 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.dto.entity.*;
+import com.mad_backend.dto.response.FamilyResponse;
+import com.mad_backend.dto.response.ProfileResponse;
+import com.mad_backend.dto.response.UserResponse;
+import com.mad_backend.enums.FamilyStatus;
+import com.mad_backend.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a fully loaded in-memory graph to the response DTOs, so the score is pure mapping cost with no
+ * persistence work. Every family has a husband and wife, three children, two events and a tree link;
+ * every person belongs to the family they head and the family they were born into.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final int CHILDREN = 3;
+
+    @Param({"1000", "10000"})
+    private int families;
+
+    private List<Family> familyGraph;
+    private List<User> users;
+    private List<Profile> profiles;
+
+    @Setup(Level.Trial)
+    public void buildGraph() {
+        Random random = new Random(42);
+        familyGraph = new ArrayList<>(families);
+        users = new ArrayList<>(families * 2);
+        profiles = new ArrayList<>(families * 2);
+        FamilyTree tree = new FamilyTree();
+        tree.setId(1L);
+
+        long nextId = 1;
+        for (int i = 0; i < families; i++) {
+            Family family = new Family();
+            family.setId((long) i + 1);
+            family.setName("Family " + i);
+            family.setStatus(FamilyStatus.ACCEPTED);
+            family.setHusband(person(nextId++, random));
+            family.setWife(person(nextId++, random));
+            family.getHusband().getFamilies().add(family);
+            family.getWife().getFamilies().add(family);
+
+            List<Long> childIds = new ArrayList<>(CHILDREN);
+            for (int c = 0; c < CHILDREN; c++) {
+                childIds.add(nextId + c);
+            }
+            family.setChildIds(childIds);
+
+            List<Event> events = new ArrayList<>();
+            for (String type : List.of("MARRIAGE", "RELOCATION")) {
+                Event event = new Event();
+                event.setId(nextId * 10 + events.size());
+                event.setFamily(family);
+                event.setEventType(type);
+                event.setLocation("Ha Noi");
+                event.setDate(LocalDateTime.of(1950 + random.nextInt(70), 1 + random.nextInt(12), 1, 0, 0));
+                event.setPeopleIds(List.of(family.getHusband().getId(), family.getWife().getId()));
+                events.add(event);
+            }
+            family.setEvents(events);
+
+            FamilyTreeFamily treeFamily = new FamilyTreeFamily();
+            treeFamily.setId(family.getId());
+            treeFamily.setFamily(family);
+            treeFamily.setFamilyTree(tree);
+            family.setFamilyTreeFamilies(List.of(treeFamily));
+
+            // Each spouse was also born into an earlier family.
+            if (i > 0) {
+                family.getHusband().getFamilies().add(familyGraph.get(random.nextInt(i)));
+                family.getWife().getFamilies().add(familyGraph.get(random.nextInt(i)));
+            }
+            familyGraph.add(family);
+        }
+    }
+
+    private User person(long id, Random random) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@mad.com");
+        user.setRoles(List.of(Role.USER));
+        user.setFamilies(new ArrayList<>(2));
+
+        Profile profile = new Profile();
+        profile.setId(id);
+        profile.setUser(user);
+        profile.setFirstName("Given " + id);
+        profile.setLastName("Nguyen");
+        profile.setGender(id % 2 == 1 ? "male" : "female");
+        profile.setBirthDate(LocalDate.of(1900, 1, 1).plusDays(random.nextInt(36_500)));
+        user.setProfile(profile);
+
+        users.add(user);
+        profiles.add(profile);
+        return user;
+    }
+
+    @Benchmark
+    public void familyResponses(Blackhole blackhole) {
+        for (Family family : familyGraph) {
+            blackhole.consume(FamilyResponse.fromEntity(family));
+        }
+    }
+
+    @Benchmark
+    public void userResponses(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(UserResponse.fromEntity(user));
+        }
+    }
+
+    @Benchmark
+    public void profileResponsesFromProfile(Blackhole blackhole) {
+        for (Profile profile : profiles) {
+            blackhole.consume(new ProfileResponse(profile));
+        }
+    }
+
+    @Benchmark
+    public void profileResponsesFromUser(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(new ProfileResponse(user));
+        }
+    }
+}
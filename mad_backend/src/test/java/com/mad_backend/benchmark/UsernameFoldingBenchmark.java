@@ -0,0 +1,38 @@
+package com.mad_backend.benchmark;
+
+import com.mad_backend.service.impl.ProfileServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds Vietnamese full names into usernames the way {@code ProfileServiceImpl.createProfile} does:
+ * NFD normalisation, then regex passes for combining marks, "đ" and whitespace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsernameFoldingBenchmark {
+
+    private static final String[][] NAMES = {
+            {"Nguyễn Văn", "Đức"},
+            {"Trần Thị", "Hương"},
+            {"Lê", "Minh Quân"},
+            {"Phạm Ngọc", "Ánh"},
+            {"Đinh", "Ngọc Hiếu"},
+            {"Smith", "John"},
+            {"Bùi Duy", "Bình"},
+            {"Hoàng Thị Thu", "Thủy"}
+    };
+
+    private int next;
+
+    @Benchmark
+    public String usernameOf() {
+        String[] name = NAMES[next++ & (NAMES.length - 1)];
+        return ProfileServiceImpl.usernameOf(name[0], name[1]);
+    }
+}
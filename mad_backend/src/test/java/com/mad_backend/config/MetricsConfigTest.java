@@ -0,0 +1,51 @@
+package com.mad_backend.config;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTest {
+
+    private final Filter filter = new MetricsConfig().actuatorAuthenticationFilter("scraper", "secret").getFilter();
+
+    @Test
+    void healthChecksNeedNoCredentials() throws Exception {
+        assertEquals(200, status(request("/actuator/health", null)));
+        assertEquals(200, status(request("/actuator/health/liveness", null)));
+    }
+
+    @Test
+    void otherEndpointsNeedTheConfiguredCredentials() throws Exception {
+        assertEquals(401, status(request("/actuator/prometheus", null)));
+        assertEquals(401, status(request("/actuator/healthz", null)));
+        assertEquals(401, status(request("/actuator/prometheus", "scraper:wrong")));
+        assertEquals(200, status(request("/actuator/prometheus", "scraper:secret")));
+    }
+
+    @Test
+    void blankCredentialsAreRejectedAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new MetricsConfig().actuatorAuthenticationFilter("scraper", " "));
+    }
+
+    private static MockHttpServletRequest request(String path, String credentials) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (credentials != null) {
+            request.addHeader("Authorization",
+                    "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        return request;
+    }
+
+    private int status(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,383 @@
+package com.mad_backend.controller;
+
+import com.mad_backend.config.QueryCountFilter;
+import com.mad_backend.dto.entity.*;
+import com.mad_backend.enums.Role;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the JDBC statements each read endpoint prepares against a tree of {@value #FAMILIES} families.
+ * Every expected count is far below the number of rows returned, so a lazy association that starts
+ * loading row by row again fails here instead of in production; {@link QueryCountFilter} runs with
+ * {@code fail-tests-on-violation} so repeated statement shapes fail the request as well.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-count;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.story-search.snapshot-path=target/statement-count-story.snapshot",
+        "app.story-search.snapshot-interval-ms=3600000",
+        "app.mail-outbox.poll-interval-ms=3600000",
+        "app.query-count.fail-tests-on-violation=true",
+        "app.actuator.username=scraper",
+        "app.actuator.password=scraper-secret"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementCountTest {
+
+    private static final int FAMILIES = 30;
+    private static final int USERS_WITHOUT_FAMILY = 10;
+    private static final int IMAGE_DAYS = 10;
+    private static final int IMAGES_PER_DAY = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long userId;
+    private long familyId;
+    private long familyTreeId;
+    private long profileId;
+    private long albumId;
+
+    @BeforeAll
+    void seedTree() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            FamilyTree tree = new FamilyTree();
+            tree.setName("Nguyen");
+            tree.setAge(3);
+            entityManager.persist(tree);
+            familyTreeId = tree.getId();
+
+            for (int i = 0; i < FAMILIES; i++) {
+                User husband = user("husband" + i);
+                User wife = user("wife" + i);
+                User child = user("child" + i);
+
+                Family family = new Family();
+                family.setName("Family " + i);
+                family.setHusband(husband);
+                family.setWife(wife);
+                family.setChildIds(new ArrayList<>(List.of(child.getId())));
+                family.setUsers(new ArrayList<>(List.of(husband, wife, child)));
+                entityManager.persist(family);
+                familyId = family.getId();
+                userId = husband.getId();
+                profileId = child.getProfile().getId();
+
+                Event event = new Event();
+                event.setFamily(family);
+                event.setEventType("MARRIAGE");
+                event.setDate(LocalDateTime.of(1990, 1, 1, 0, 0));
+                event.setPeopleIds(new ArrayList<>(List.of(husband.getId(), wife.getId())));
+                entityManager.persist(event);
+
+                FamilyTreeFamily treeFamily = new FamilyTreeFamily();
+                treeFamily.setFamilyTree(tree);
+                treeFamily.setFamily(family);
+                treeFamily.setGeneration(i % 3);
+                entityManager.persist(treeFamily);
+            }
+            Family lastFamily = entityManager.find(Family.class, familyId);
+            Album album = new Album();
+            album.setAlbumName("Tet");
+            album.setFamily(lastFamily);
+            album.setImages(new ArrayList<>());
+            for (int i = 0; i < IMAGE_DAYS * IMAGES_PER_DAY; i++) {
+                Image image = new Image();
+                image.setUrl("https://res.cloudinary.com/mad/image/" + i + ".jpg");
+                image.setFamily(lastFamily);
+                entityManager.persist(image);
+                image.setCreatedAt(LocalDateTime.of(2024, 5, 1, 8, 0).minusDays(i / IMAGES_PER_DAY).plusMinutes(i));
+                if (i % 4 == 0) {
+                    album.getImages().add(image);
+                }
+            }
+            entityManager.persist(album);
+            albumId = album.getId();
+            for (int i = 0; i < USERS_WITHOUT_FAMILY; i++) {
+                user("single" + i);
+            }
+        });
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@mad.com");
+        user.setRoles(new ArrayList<>(List.of(Role.USER)));
+        entityManager.persist(user);
+
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setFirstName(username);
+        profile.setLastName("Nguyen");
+        entityManager.persist(profile);
+        user.setProfile(profile);
+        return user;
+    }
+
+    @Test
+    void getAllUsers() throws Exception {
+        assertStatements(3, get("/api/v1/user"));
+    }
+
+    @Test
+    void getUser() throws Exception {
+        assertStatements(3, get("/api/v1/user/{id}", userId));
+    }
+
+    @Test
+    void searchUsers() throws Exception {
+        assertStatements(4, get("/api/v1/user/search").param("username", "n").param("size", "20"));
+    }
+
+    @Test
+    void searchUsersByCursor() throws Exception {
+        assertStatements(3, get("/api/v1/user/search-by-cursor").param("size", "50"));
+    }
+
+    @Test
+    void getUsersWithoutFamily() throws Exception {
+        assertStatements(3, get("/api/v1/user/without-family"));
+    }
+
+    @Test
+    void getFamily() throws Exception {
+        assertStatements(7, get("/api/v1/family/{id}", familyId));
+    }
+
+    @Test
+    void searchFamilies() throws Exception {
+        assertStatements(8, get("/api/v1/family/search").param("size", "20"));
+    }
+
+    @Test
+    void searchFamiliesByCursor() throws Exception {
+        assertStatements(7, get("/api/v1/family/search-by-cursor").param("size", "50"));
+    }
+
+    @Test
+    void getFamilyTree() throws Exception {
+        assertStatements(1, get("/api/v1/family-tree/{id}", familyTreeId));
+    }
+
+    @Test
+    void listFamilyTrees() throws Exception {
+        assertStatements(1, post("/api/v1/family-tree/list").contentType(MediaType.APPLICATION_JSON).content("{}"));
+    }
+
+    @Test
+    void saveFamilyTreeWithAStaleVersionIsAConflict() throws Exception {
+        String stale = "{\"id\":" + familyTreeId + ",\"name\":\"Tran\",\"version\":99}";
+        mockMvc.perform(post("/api/v1/family-tree/save").contentType(MediaType.APPLICATION_JSON).content(stale))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value(409));
+        mockMvc.perform(get("/api/v1/family-tree/{id}", familyTreeId))
+                .andExpect(jsonPath("$.data.name").value("Nguyen"));
+    }
+
+    @Test
+    void pageImageTimeline() throws Exception {
+        assertStatements(2, get("/api/v1/images/timeline/{id}", familyId).param("size", "7"));
+
+        String cursor = JsonPath.read(mockMvc.perform(get("/api/v1/images/timeline/{id}", familyId).param("size", "7"))
+                .andExpect(jsonPath("$.data.content.length()").value(7))
+                .andExpect(jsonPath("$.data.content[0].date").value("01/05/2024"))
+                .andExpect(jsonPath("$.data.content[0].imageCount").value(IMAGES_PER_DAY))
+                .andExpect(jsonPath("$.data.content[0].images.length()").value(IMAGES_PER_DAY))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString(), "$.data.nextCursor");
+        mockMvc.perform(get("/api/v1/images/timeline/{id}", familyId).param("size", "7").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(IMAGE_DAYS - 7))
+                .andExpect(jsonPath("$.data.content[0].date").value("24/04/2024"))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    void pageImagesForAlbumPicker() throws Exception {
+        int images = IMAGE_DAYS * IMAGES_PER_DAY;
+        assertStatements(1, get("/api/v1/images/get-page-for-album/{id}", familyId)
+                .param("albumId", Long.toString(albumId)).param("isInAlbum", "false").param("size", "20"));
+        assertStatements(1, get("/api/v1/images/get-page-for-album/{id}", familyId)
+                .param("albumId", Long.toString(albumId)).param("size", "20"));
+
+        String cursor = JsonPath.read(mockMvc.perform(get("/api/v1/images/get-page-for-album/{id}", familyId)
+                        .param("albumId", Long.toString(albumId)).param("isInAlbum", "false").param("size", "20"))
+                .andExpect(jsonPath("$.data.size").value(20))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString(), "$.data.nextCursor");
+        mockMvc.perform(get("/api/v1/images/get-page-for-album/{id}", familyId)
+                        .param("albumId", Long.toString(albumId)).param("isInAlbum", "false").param("size", "20")
+                        .param("cursor", cursor))
+                .andExpect(jsonPath("$.data.size").value(images - images / 4 - 20))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+        mockMvc.perform(get("/api/v1/images/get-list-for-album/{id}", familyId)
+                        .param("albumId", Long.toString(albumId)))
+                .andExpect(jsonPath("$.data.length()").value(images / 4));
+    }
+
+    @Test
+    void changeAlbumMembershipInBulk() throws Exception {
+        long[] albumIds = transactionTemplate.execute(status -> {
+            Family family = entityManager.find(Family.class, familyId);
+            long[] ids = new long[2];
+            for (int i = 0; i < ids.length; i++) {
+                Album album = new Album();
+                album.setAlbumName("Bulk " + i);
+                album.setFamily(family);
+                album.setImages(new ArrayList<>());
+                entityManager.persist(album);
+                ids[i] = album.getId();
+            }
+            return ids;
+        });
+        List<Integer> imageIds = JsonPath.read(mockMvc.perform(get("/api/v1/images/get-list-for-album/{id}", familyId))
+                .andReturn().getResponse().getContentAsString(), "$.data[*].id");
+        String allImages = idsJson(imageIds);
+        String someImages = idsJson(imageIds.subList(0, 5));
+        int images = IMAGE_DAYS * IMAGES_PER_DAY;
+
+        // Album lock, image check, membership check and one insert batch, whatever the number of images.
+        mockMvc.perform(post("/api/v1/albums/add-images/{id}", albumIds[0]).contentType(MediaType.APPLICATION_JSON)
+                        .content(allImages))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(images))
+                .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "4"));
+        mockMvc.perform(post("/api/v1/albums/add-images/{id}", albumIds[0]).contentType(MediaType.APPLICATION_JSON)
+                        .content(someImages))
+                .andExpect(jsonPath("$.data").value(0));
+        mockMvc.perform(put("/api/v1/albums/move-images/{id}/{target}", albumIds[0], albumIds[1])
+                        .contentType(MediaType.APPLICATION_JSON).content(someImages))
+                .andExpect(jsonPath("$.data").value(5));
+        mockMvc.perform(delete("/api/v1/albums/remove-images/{id}", albumIds[0]).contentType(MediaType.APPLICATION_JSON)
+                        .content(allImages))
+                .andExpect(jsonPath("$.data").value(images - 5))
+                .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "3"));
+        mockMvc.perform(get("/api/v1/images/get-list-for-album/{id}", familyId)
+                        .param("albumId", Long.toString(albumIds[1])))
+                .andExpect(jsonPath("$.data.length()").value(5));
+    }
+
+    @Test
+    void updateAlbumRejectsAnImageRepeatedInTheRequest() throws Exception {
+        long emptyAlbumId = transactionTemplate.execute(status -> {
+            Album album = new Album();
+            album.setAlbumName("Repeated");
+            album.setFamily(entityManager.find(Family.class, familyId));
+            album.setImages(new ArrayList<>());
+            entityManager.persist(album);
+            return album.getId();
+        });
+        List<Integer> imageIds = JsonPath.read(mockMvc.perform(get("/api/v1/images/get-list-for-album/{id}", familyId))
+                .andReturn().getResponse().getContentAsString(), "$.data[*].id");
+        int repeated = imageIds.get(0);
+
+        mockMvc.perform(put("/api/v1/albums/update/{id}", emptyAlbumId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"images\":" + idsJson(List.of(repeated, imageIds.get(1), repeated)) + "}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Image with id " + repeated + " already exists in the album."));
+    }
+
+    @Test
+    void softDeleteImagesDetachesThemFromAlbums() throws Exception {
+        List<Long> imageIds = new ArrayList<>();
+        long albumId = transactionTemplate.execute(status -> {
+            Family family = new Family();
+            family.setName("Deleting");
+            entityManager.persist(family);
+            Album album = new Album();
+            album.setAlbumName("Deleting");
+            album.setFamily(family);
+            album.setImages(new ArrayList<>());
+            for (int i = 0; i < 25; i++) {
+                Image image = new Image();
+                image.setUrl("https://res.cloudinary.com/mad/deleting/" + i + ".jpg");
+                image.setFamily(family);
+                entityManager.persist(image);
+                album.getImages().add(image);
+                imageIds.add(image.getId());
+            }
+            entityManager.persist(album);
+            return album.getId();
+        });
+
+        // One UPDATE and one DELETE on album_image, however many images and albums are involved.
+        mockMvc.perform(delete("/api/v1/images/delete-images").contentType(MediaType.APPLICATION_JSON)
+                        .content(idsJson(imageIds.stream().map(Long::intValue).toList())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Deleted 25 images successfully!"))
+                .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "2"));
+        mockMvc.perform(get("/api/v1/albums/get-detail/{id}", albumId))
+                .andExpect(jsonPath("$.data.totalImages").value(0));
+        mockMvc.perform(delete("/api/v1/images/delete-images").contentType(MediaType.APPLICATION_JSON)
+                        .content(idsJson(imageIds.stream().map(Long::intValue).toList())))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String idsJson(List<Integer> ids) {
+        return ids.stream().map(id -> "{\"id\":" + id + "}").collect(Collectors.joining(",", "[", "]"));
+    }
+
+    @Test
+    void getDetailProfileReportsStatementsInHeaders() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/profiles/get-detail/{id}", profileId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER,
+                        Long.toString(statistics.getPrepareStatementCount())))
+                .andExpect(header().exists(QueryCountFilter.QUERY_TIME_HEADER));
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount(), () -> "statements: " + Arrays.toString(statistics.getQueries()));
+    }
+}
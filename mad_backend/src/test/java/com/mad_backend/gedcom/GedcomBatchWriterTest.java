@@ -0,0 +1,71 @@
+package com.mad_backend.gedcom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:gedcom-batch-writer;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GedcomBatchWriter.class)
+class GedcomBatchWriterTest {
+
+    @Autowired
+    private GedcomBatchWriter gedcomBatchWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void discardRemovesOnlyTheRowsOfTheImport() {
+        write(1, "@I1@", "@I2@", "@I3@");
+        write(2, "@I1@", "@I2@", "@I3@");
+        assertEquals(6, count("users"));
+        assertEquals(2, count("families"));
+
+        gedcomBatchWriter.discard(1);
+        gedcomBatchWriter.clearStaging(1);
+
+        assertEquals(3, count("users"));
+        assertEquals(3, count("profiles"));
+        assertEquals(3, count("user_role"));
+        assertEquals(1, count("families"));
+        assertEquals(1, count("family_child_ids"));
+        assertEquals(3, count("user_family"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM gedcom_import_xref WHERE import_id = 1", Integer.class));
+        assertEquals(3, count("gedcom_import_xref"));
+        assertEquals(1, count("gedcom_import_family"));
+    }
+
+    private void write(long importId, String husband, String wife, String child) {
+        gedcomBatchWriter.writeIndividuals(importId, List.of(
+                individual(husband, "Van A /Nguyen/"),
+                individual(wife, "Thi B /Tran/"),
+                individual(child, "Van C /Nguyen/")));
+        gedcomBatchWriter.writeFamilies(importId, List.of(new GedcomRecord("@F1@", "FAM", "", List.of(
+                new GedcomRecord.Line(1, "HUSB", husband),
+                new GedcomRecord.Line(1, "WIFE", wife),
+                new GedcomRecord.Line(1, "CHIL", child)))));
+    }
+
+    private static GedcomRecord individual(String xref, String name) {
+        return new GedcomRecord(xref, "INDI", "", List.of(new GedcomRecord.Line(1, "NAME", name)));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mad_backend.gedcom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports a synthetic 1M-person tree (500k couples, each couple's sons heading the next families) from a
+ * file-backed H2 database. Runs in the small-heap surefire execution, where holding the export or its
+ * rows in memory would fail with OutOfMemoryError.
+ */
+class GedcomExporterHeapTest {
+
+    private static final int PEOPLE = 1_000_000;
+    private static final int FAMILIES = PEOPLE / 2;
+
+    private Path directory;
+    private SingleConnectionDataSource dataSource;
+
+    @BeforeEach
+    void createTree() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= 256L * 1024 * 1024, "requires the small-heap surefire execution");
+        directory = Files.createTempDirectory("gedcom-export");
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + directory.resolve("tree") + ";MODE=MySQL;MAX_MEMORY_ROWS=10000", "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE family_trees (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE family_tree_family (id BIGINT PRIMARY KEY, family_tree_id BIGINT, " +
+                "family_id BIGINT, is_deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE INDEX idx_family_tree_family_tree ON family_tree_family (family_tree_id, family_id)");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, is_deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE profiles (id BIGINT PRIMARY KEY, user_id BIGINT, first_name VARCHAR(255), " +
+                "last_name VARCHAR(255), gender VARCHAR(255), birth_date DATE, death_date DATE, address VARCHAR(255), " +
+                "biography VARCHAR(255), avatar_url VARCHAR(255))");
+        jdbcTemplate.execute("CREATE INDEX idx_profiles_user ON profiles (user_id)");
+        jdbcTemplate.execute("CREATE TABLE families (id BIGINT PRIMARY KEY, husband_id BIGINT, wife_id BIGINT, " +
+                "is_deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE family_child_ids (family_id BIGINT, child_ids BIGINT)");
+        jdbcTemplate.execute("CREATE INDEX idx_family_child_ids_family ON family_child_ids (family_id)");
+
+        jdbcTemplate.update("INSERT INTO family_trees VALUES (1, 'Synthetic')");
+        jdbcTemplate.update("INSERT INTO users SELECT X, FALSE FROM SYSTEM_RANGE(1, ?)", PEOPLE);
+        jdbcTemplate.update("INSERT INTO profiles SELECT X, X, 'Given ' || X, 'Nguyen', " +
+                "CASE WHEN MOD(X, 2) = 1 THEN 'male' ELSE 'female' END, DATEADD(DAY, MOD(X, 36500), DATE '1900-01-01'), " +
+                "NULL, NULL, NULL, NULL FROM SYSTEM_RANGE(1, ?)", PEOPLE);
+        // Family f is person 2f-1 married to person 2f; its sons head families 2f and 2f+1.
+        jdbcTemplate.update("INSERT INTO families SELECT X, 2 * X - 1, 2 * X, FALSE FROM SYSTEM_RANGE(1, ?)", FAMILIES);
+        jdbcTemplate.update("INSERT INTO family_child_ids SELECT X, 4 * X - 1 FROM SYSTEM_RANGE(1, ?)", FAMILIES / 2);
+        jdbcTemplate.update("INSERT INTO family_child_ids SELECT X, 4 * X + 1 FROM SYSTEM_RANGE(1, ?)", FAMILIES / 2 - 1);
+        jdbcTemplate.update("INSERT INTO family_tree_family SELECT X, 1, X, FALSE FROM SYSTEM_RANGE(1, ?)", FAMILIES);
+    }
+
+    @AfterEach
+    void dropTree() throws Exception {
+        if (dataSource == null) {
+            return;
+        }
+        dataSource.destroy();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void exportsMillionPersonTreeInSmallHeap() throws Exception {
+        Path output = directory.resolve("tree.ged");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            new GedcomExporter(dataSource, 1000).export(1L, out);
+        }
+
+        long individuals;
+        long families;
+        long childLinks;
+        try (Stream<String> lines = Files.lines(output, StandardCharsets.UTF_8)) {
+            long[] counts = new long[3];
+            lines.forEach(line -> {
+                if (line.startsWith("0 @I")) {
+                    counts[0]++;
+                } else if (line.startsWith("0 @F")) {
+                    counts[1]++;
+                } else if (line.startsWith("1 CHIL ")) {
+                    counts[2]++;
+                }
+            });
+            individuals = counts[0];
+            families = counts[1];
+            childLinks = counts[2];
+        }
+
+        assertEquals(PEOPLE, individuals);
+        assertEquals(FAMILIES, families);
+        assertEquals(FAMILIES - 1, childLinks);
+    }
+}
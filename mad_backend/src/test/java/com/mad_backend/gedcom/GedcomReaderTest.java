@@ -0,0 +1,93 @@
+package com.mad_backend.gedcom;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GedcomReaderTest {
+
+    @Test
+    void readsRecordsWithNestedAndContinuedLines() throws IOException {
+        List<GedcomRecord> records = readAll("""
+                \uFEFF0 HEAD
+                1 CHAR UTF-8
+                0 @I1@ INDI
+                1 NAME Van A /Nguyen/
+                2 GIVN Van A
+                1 SEX M
+                1 BIRT
+                2 DATE 12 MAR 1950
+                2 PLAC Hue
+                1 NOTE First line
+                2 CONT second line
+                2 CONC  continued
+
+                0 @F1@ FAM
+                1 HUSB @I1@
+                1 CHIL @I2@
+                1 CHIL @I3@
+                0 TRLR
+                """);
+
+        assertEquals(List.of("HEAD", "INDI", "FAM", "TRLR"), records.stream().map(GedcomRecord::tag).toList());
+
+        GedcomRecord individual = records.get(1);
+        assertEquals("@I1@", individual.xref());
+        assertEquals("Van A /Nguyen/", individual.first("NAME"));
+        assertEquals("Van A", individual.nested("NAME", "GIVN"));
+        assertEquals("12 MAR 1950", individual.nested("BIRT", "DATE"));
+        assertNull(individual.nested("SEX", "DATE"));
+        assertEquals("First line\nsecond line continued", individual.first("NOTE"));
+
+        GedcomRecord family = records.get(2);
+        assertEquals("@I1@", family.first("HUSB"));
+        assertNull(family.first("WIFE"));
+        assertEquals(List.of("@I2@", "@I3@"), family.all("CHIL"));
+    }
+
+    @Test
+    void skipsLinesBeforeTheFirstRecord() throws IOException {
+        List<GedcomRecord> records = readAll("""
+                1 SOUR stray
+                0 @I1@ INDI
+                1 NAME /Tran/
+                """);
+
+        assertEquals(1, records.size());
+        assertEquals("/Tran/", records.get(0).first("NAME"));
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        assertThrows(IOException.class, () -> readAll("0 @I1 INDI\n"));
+        assertThrows(IOException.class, () -> readAll("0\n"));
+    }
+
+    @Test
+    void parsesApproximateAndPartialDates() {
+        assertEquals(LocalDate.of(1950, 3, 12), GedcomDates.parse("12 MAR 1950"));
+        assertEquals(LocalDate.of(1950, 1, 1), GedcomDates.parse("ABT 1950"));
+        assertEquals(LocalDate.of(1940, 1, 1), GedcomDates.parse("BET 1940 AND 1945"));
+        assertEquals(LocalDate.of(1750, 2, 1), GedcomDates.parse("FEB 1750/51"));
+        assertNull(GedcomDates.parse("31 FEB 1950"));
+        assertNull(GedcomDates.parse("unknown"));
+        assertEquals("12 MAR 1950", GedcomDates.format(LocalDate.of(1950, 3, 12)));
+    }
+
+    private static List<GedcomRecord> readAll(String gedcom) throws IOException {
+        List<GedcomRecord> records = new ArrayList<>();
+        try (GedcomReader reader = new GedcomReader(new StringReader(gedcom))) {
+            GedcomRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
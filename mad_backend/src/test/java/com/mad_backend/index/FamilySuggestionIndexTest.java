@@ -0,0 +1,63 @@
+package com.mad_backend.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * User 1 (Nguyễn) heads family 1 with wife 2 (Trần) and son 3. Families 4 and 2 are headed by other
+ * Nguyens, family 3 by a Lê whose wife is a Nguyen.
+ */
+class FamilySuggestionIndexTest {
+
+    private FamilySuggestionIndex index;
+
+    @BeforeEach
+    void buildIndex() {
+        GenealogyGraphIndex genealogyGraphIndex = new GenealogyGraphIndex();
+        index = new FamilySuggestionIndex(genealogyGraphIndex);
+        index.applySurname(1, "Nguyễn");
+        index.applySurname(2, "Trần");
+        index.applySurname(3, "Nguyễn");
+        index.applySurname(10, "nguyen");
+        index.applySurname(20, "Nguyen");
+        index.applySurname(30, "Lê");
+        index.applySurname(31, "Nguyễn");
+
+        genealogyGraphIndex.applyFamily(1, 1L, 2L, List.of(3L));
+        index.applyFamily(1, 1L, 2L, List.of(3L));
+        index.applyFamily(4, 10L, null, List.of());
+        index.applyFamily(2, 20L, null, List.of());
+        index.applyFamily(3, 30L, 31L, List.of());
+    }
+
+    @Test
+    void listsEverySurnameMatchInIdOrderIncludingOwnFamilies() {
+        assertEquals(List.of(1L, 2L, 4L), index.familiesWithSurnameOf(1));
+        assertEquals(List.of(), index.familiesWithSurnameOf(99));
+    }
+
+    @Test
+    void rankedSuggestionsSkipOwnFamilies() {
+        List<Long> familyIds = index.suggest(3, null, null, 10).stream()
+                .map(FamilySuggestionIndex.Suggestion::familyId)
+                .toList();
+
+        assertEquals(List.of(2L, 4L), familyIds);
+    }
+
+    @Test
+    void replaceWithSwapsInARebuiltIndex() {
+        FamilySuggestionIndex rebuilt = new FamilySuggestionIndex(new GenealogyGraphIndex());
+        rebuilt.applySurname(1, "Nguyễn");
+        rebuilt.applyFamily(7, 1L, null, List.of());
+
+        index.replaceWith(rebuilt);
+
+        assertEquals(List.of(7L), index.familiesWithSurnameOf(1));
+        assertEquals(1, index.size());
+    }
+}
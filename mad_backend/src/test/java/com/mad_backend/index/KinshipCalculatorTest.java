@@ -0,0 +1,104 @@
+package com.mad_backend.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relates people in a small three-generation genealogy:
+ * <pre>
+ *   1 + 2            1 + 10
+ *   |                |
+ *   3 (+5), 4 (+8)   11
+ *   |       |
+ *   7 (+12) 9
+ *   |
+ *   13
+ * </pre>
+ */
+class KinshipCalculatorTest {
+
+    private static final int MAX_DEPTH = 10;
+
+    private KinshipCalculator kinshipCalculator;
+
+    @BeforeEach
+    void buildGenealogy() {
+        GenealogyGraphIndex index = new GenealogyGraphIndex();
+        index.applyFamily(1, 1L, 2L, List.of(3L, 4L));
+        index.applyFamily(2, 3L, 5L, List.of(7L));
+        index.applyFamily(3, 4L, 8L, List.of(9L));
+        index.applyFamily(4, 1L, 10L, List.of(11L));
+        index.applyFamily(5, 7L, 12L, List.of(13L));
+        kinshipCalculator = new KinshipCalculator(index);
+    }
+
+    @Test
+    void labelsLinealRelatives() {
+        assertEquals("grandchild", label(1, 7));
+        assertEquals("grandparent", label(7, 1));
+        assertEquals("great-grandchild", label(1, 13));
+        assertEquals("parent", label(9, 4));
+    }
+
+    @Test
+    void labelsCollateralRelatives() {
+        assertEquals("sibling", label(3, 4));
+        assertEquals("uncle/aunt", label(7, 4));
+        assertEquals("nephew/niece", label(4, 7));
+        assertEquals("first cousin", label(7, 9));
+        assertEquals("first cousin once removed", label(13, 9));
+    }
+
+    @Test
+    void detectsHalfRelationsThroughARemarriage() {
+        KinshipCalculator.Kinship kinship = kinshipCalculator.relate(3, 11, MAX_DEPTH).orElseThrow();
+
+        assertEquals("half-sibling", kinship.label());
+        assertTrue(kinship.halfRelation());
+        assertEquals(List.of(3L, 1L, 11L), kinship.path());
+    }
+
+    @Test
+    void relatesThroughMarriage() {
+        assertEquals("spouse", label(3, 5));
+        assertEquals("sibling-in-law", label(5, 4));
+        assertEquals("child-in-law", label(1, 5));
+        assertEquals("parent-in-law", label(5, 1));
+        assertTrue(kinshipCalculator.relate(5, 4, MAX_DEPTH).orElseThrow().inLaw());
+    }
+
+    @Test
+    void pathRunsFromOnePersonThroughTheCommonAncestorToTheOther() {
+        List<Long> path = kinshipCalculator.relate(7, 9, MAX_DEPTH).orElseThrow().path();
+
+        assertEquals(5, path.size());
+        assertEquals(7L, path.get(0));
+        assertEquals(3L, path.get(1));
+        assertEquals(4L, path.get(3));
+        assertEquals(9L, path.get(4));
+    }
+
+    @Test
+    void returnsEmptyForUnrelatedOrUnknownPeopleAndBeyondMaxDepth() {
+        assertEquals(Optional.empty(), kinshipCalculator.relate(5, 8, MAX_DEPTH));
+        assertEquals(Optional.empty(), kinshipCalculator.relate(1, 999, MAX_DEPTH));
+        assertEquals(Optional.empty(), kinshipCalculator.relate(13, 9, 2));
+        assertEquals("self", label(4, 4));
+    }
+
+    @Test
+    void namesDistantCousins() {
+        assertEquals("second cousin twice removed", KinshipCalculator.bloodLabel(3, 5));
+        assertEquals("third cousin", KinshipCalculator.bloodLabel(4, 4));
+        assertEquals("great-grand-uncle/aunt", KinshipCalculator.bloodLabel(4, 1));
+    }
+
+    private String label(long from, long to) {
+        return kinshipCalculator.relate(from, to, MAX_DEPTH).map(KinshipCalculator.Kinship::label).orElse(null);
+    }
+}
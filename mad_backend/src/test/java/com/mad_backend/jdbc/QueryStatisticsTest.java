@@ -0,0 +1,89 @@
+package com.mad_backend.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryStatisticsTest {
+
+    @AfterEach
+    void endStatistics() {
+        QueryStatistics.end();
+    }
+
+    @Test
+    void whitespaceIsCollapsedAndTrimmed() {
+        assertEquals("select u.id from users u where u.id=?",
+                QueryStatistics.shapeOf("  select u.id\n\tfrom   users u\r\n where u.id=?  "));
+    }
+
+    @Test
+    void literalsBecomePlaceholdersButIdentifiersKeepTheirDigits() {
+        assertEquals("select t1_0.name from family t1_0 where t1_0.id=? and t1_0.name=? limit ?",
+                QueryStatistics.shapeOf("select t1_0.name from family t1_0 where t1_0.id=42 and t1_0.name='O''Brien' limit 10"));
+        assertEquals(QueryStatistics.shapeOf("select * from users where email='a@mad.com'"),
+                QueryStatistics.shapeOf("select * from users where email='b@mad.com'"));
+    }
+
+    @Test
+    void inListsOfAnyLengthShareOneShape() {
+        String one = QueryStatistics.shapeOf("select * from image where id in (?)");
+        String three = QueryStatistics.shapeOf("select * from image where id IN ( ?, ?,? )");
+        String literals = QueryStatistics.shapeOf("select * from image where id in (1, 2, 'x')");
+
+        assertEquals("select * from image where id in (?)", one);
+        assertEquals(one, three);
+        assertEquals(one, literals);
+    }
+
+    @Test
+    void repeatedShapesStartAtTheThresholdAndAreSortedByCount() {
+        QueryStatistics statistics = new QueryStatistics();
+        for (int id = 1; id <= 5; id++) {
+            statistics.record("select * from profile where user_id=" + id, 1_000);
+        }
+        for (int id = 1; id <= 4; id++) {
+            statistics.record("select * from family where id in (" + "?,".repeat(id) + "?)", 1_000);
+        }
+        statistics.record("select * from users", 1_000);
+        statistics.record("select * from users", 1_000);
+
+        Map<String, Integer> repeated = statistics.repeatedShapes(4);
+
+        assertEquals(List.of("select * from profile where user_id=?", "select * from family where id in (?)"),
+                List.copyOf(repeated.keySet()));
+        assertEquals(5, repeated.get("select * from profile where user_id=?"));
+        assertEquals(4, repeated.get("select * from family where id in (?)"));
+        assertTrue(statistics.repeatedShapes(6).isEmpty());
+        assertEquals(11, statistics.count());
+        assertEquals(11_000, statistics.nanos());
+    }
+
+    @Test
+    void statementsWithoutSqlAreCountedButHaveNoShape() {
+        QueryStatistics statistics = new QueryStatistics();
+        statistics.record(null, 2_000_000);
+
+        assertEquals(1, statistics.count());
+        assertEquals(2.0, statistics.millis());
+        assertTrue(statistics.repeatedShapes(1).isEmpty());
+    }
+
+    @Test
+    void statisticsAreBoundToTheThreadThatBeganThem() throws Exception {
+        QueryStatistics statistics = QueryStatistics.begin();
+
+        assertSame(statistics, QueryStatistics.current());
+        assertNull(CompletableFuture.supplyAsync(QueryStatistics::current).get());
+        QueryStatistics.end();
+        assertNull(QueryStatistics.current());
+    }
+}
@@ -0,0 +1,92 @@
+package com.mad_backend.layout;
+
+import com.mad_backend.event.FamilyChangedEvent;
+import com.mad_backend.event.FamilyTreeChangedEvent;
+import com.mad_backend.layout.FamilyTreeLayout.Node;
+import com.mad_backend.repository.FamilyTreeFamilyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tree 1: husband 10 remarried, so families 1 (10 + 11) and 2 (10 + 12) are both generation 0; their
+ * children 20 and 21 head families 3 and 4. Tree 2 holds only family 5.
+ */
+class FamilyTreeLayoutCacheTest {
+
+    private FamilyTreeFamilyRepository familyTreeFamilyRepository;
+    private FamilyTreeLayoutCache cache;
+
+    @BeforeEach
+    void setUp() {
+        familyTreeFamilyRepository = mock(FamilyTreeFamilyRepository.class);
+        when(familyTreeFamilyRepository.findLayoutRowsByFamilyTreeId(1L)).thenReturn(List.of(
+                new Object[]{1L, 0, 10L, 11L},
+                new Object[]{2L, 0, 10L, 12L},
+                new Object[]{3L, 1, 20L, 30L},
+                new Object[]{4L, 1, 21L, null}));
+        when(familyTreeFamilyRepository.findChildLinksByFamilyTreeId(1L)).thenReturn(List.of(
+                new Object[]{1L, 20L},
+                new Object[]{2L, 21L}));
+        when(familyTreeFamilyRepository.findLayoutRowsByFamilyTreeId(2L)).thenReturn(List.<Object[]>of(
+                new Object[]{5L, 0, 50L, 51L}));
+        when(familyTreeFamilyRepository.findChildLinksByFamilyTreeId(2L)).thenReturn(List.of());
+
+        cache = new FamilyTreeLayoutCache(familyTreeFamilyRepository);
+        ReflectionTestUtils.setField(cache, "maxSize", 16);
+    }
+
+    @Test
+    void laysOutRemarriagesWithoutOverlap() {
+        Map<Long, Node> nodes = nodesOf(cache.get(1L));
+
+        assertEquals(List.of(1L), nodes.get(3L).parentFamilyIds());
+        assertEquals(List.of(2L), nodes.get(4L).parentFamilyIds());
+        assertTrue(nodes.get(1L).x() < nodes.get(2L).x());
+        assertTrue(nodes.get(2L).x() - nodes.get(1L).x() >= TidyTreeLayout.NODE_SEPARATION);
+        assertTrue(nodes.get(4L).x() - nodes.get(3L).x() >= TidyTreeLayout.NODE_SEPARATION);
+        assertEquals(nodes.get(1L).x(), nodes.get(3L).x(), 1e-9);
+        assertEquals(nodes.get(2L).x(), nodes.get(4L).x(), 1e-9);
+    }
+
+    @Test
+    void servesCachedLayoutsUntilAFamilyInTheTreeChanges() {
+        FamilyTreeLayout first = cache.get(1L);
+        FamilyTreeLayout other = cache.get(2L);
+        assertSame(first, cache.get(1L));
+
+        cache.onFamilyChanged(new FamilyChangedEvent(99L, null, null, List.of(), false));
+        assertSame(first, cache.get(1L));
+
+        cache.onFamilyChanged(new FamilyChangedEvent(3L, 20L, 30L, List.of(), false));
+        FamilyTreeLayout rebuilt = cache.get(1L);
+        assertNotSame(first, rebuilt);
+        assertTrue(rebuilt.getVersion() > first.getVersion());
+        assertSame(other, cache.get(2L));
+        verify(familyTreeFamilyRepository, times(2)).findLayoutRowsByFamilyTreeId(1L);
+        verify(familyTreeFamilyRepository, times(1)).findLayoutRowsByFamilyTreeId(2L);
+    }
+
+    @Test
+    void dropsTheLayoutWhenTheTreeIsSaved() {
+        FamilyTreeLayout first = cache.get(2L);
+
+        cache.onFamilyTreeChanged(new FamilyTreeChangedEvent(2L));
+
+        assertNotSame(first, cache.get(2L));
+    }
+
+    private static Map<Long, Node> nodesOf(FamilyTreeLayout layout) {
+        return layout.slice(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Integer.MIN_VALUE, Integer.MAX_VALUE)
+                .stream()
+                .collect(Collectors.toMap(Node::familyId, Function.identity()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.mad_backend.layout;
+
+import com.mad_backend.layout.FamilyTreeLayout.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FamilyTreeLayoutTest {
+
+    private final FamilyTreeLayout layout = new FamilyTreeLayout(1, 1, List.of(
+            node(1, 0, 1.5),
+            node(2, 1, 0),
+            node(3, 1, 1),
+            node(4, 1, 3),
+            node(5, 3, 0.5),
+            node(6, 3, 2)));
+
+    @Test
+    void describesTheWholeLayout() {
+        assertEquals(6, layout.getNodeCount());
+        assertEquals(3, layout.getWidth());
+        assertEquals(0, layout.getMinGeneration());
+        assertEquals(3, layout.getMaxGeneration());
+    }
+
+    @Test
+    void sliceIncludesBothBoundsOnEachAxis() {
+        assertEquals(List.of(1L, 3L, 4L), familyIds(layout.slice(1, 3, 0, 1)));
+        assertEquals(List.of(5L, 6L), familyIds(layout.slice(0.5, 2, 2, 3)));
+    }
+
+    @Test
+    void sliceOutsideTheLayoutIsEmpty() {
+        assertTrue(layout.slice(3.5, 10, 0, 3).isEmpty());
+        assertTrue(layout.slice(0, 3, 4, 10).isEmpty());
+        assertTrue(layout.slice(0, 3, 2, 2).isEmpty());
+        assertTrue(layout.slice(2, 1, 0, 3).isEmpty());
+        assertTrue(new FamilyTreeLayout(1, 1, List.of()).slice(0, 10, 0, 10).isEmpty());
+    }
+
+    @Test
+    void sliceReturnsRowsTopDownAndLeftToRight() {
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), familyIds(layout.slice(-1, 10, -1, 10)));
+    }
+
+    private static Node node(long familyId, int generation, double x) {
+        return new Node(familyId, null, null, generation, x, List.of());
+    }
+
+    private static List<Long> familyIds(List<Node> nodes) {
+        return nodes.stream().map(Node::familyId).toList();
+    }
+}
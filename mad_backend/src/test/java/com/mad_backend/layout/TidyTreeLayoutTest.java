@@ -0,0 +1,75 @@
+package com.mad_backend.layout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TidyTreeLayoutTest {
+
+    @Test
+    void centresParentsOverTheirChildrenInSiblingOrder() {
+        //        0
+        //     1  2  3
+        //   4 5     6 7
+        int[] generations = {0, 1, 1, 1, 2, 2, 2, 2};
+        int[] parents = {-1, 0, 0, 0, 1, 1, 3, 3};
+
+        double[] xs = TidyTreeLayout.place(generations, parents);
+
+        assertNoOverlap(generations, xs);
+        assertTrue(xs[1] < xs[2] && xs[2] < xs[3]);
+        assertTrue(xs[4] < xs[5] && xs[5] < xs[6] && xs[6] < xs[7]);
+        assertEquals((xs[1] + xs[3]) / 2, xs[0], 1e-9);
+        assertEquals((xs[4] + xs[5]) / 2, xs[1], 1e-9);
+        assertEquals((xs[6] + xs[7]) / 2, xs[3], 1e-9);
+        assertEquals(0, Arrays.stream(xs).min().orElseThrow(), 1e-9);
+    }
+
+    @Test
+    void separatesSubtreesOnDeeperGenerations() {
+        // Two siblings whose subtrees only become wide three generations down.
+        int[] generations = {0, 1, 1, 2, 2, 3, 3, 3, 3, 3, 3};
+        int[] parents = {-1, 0, 0, 1, 2, 3, 3, 3, 4, 4, 4};
+
+        double[] xs = TidyTreeLayout.place(generations, parents);
+
+        assertNoOverlap(generations, xs);
+        assertTrue(xs[7] < xs[8], "the left subtree must stay left of the right one");
+        assertTrue(xs[2] - xs[1] >= 3 * TidyTreeLayout.NODE_SEPARATION);
+    }
+
+    @Test
+    void keepsRootsApartAndInIndexOrder() {
+        // Roots on different generations, e.g. a family joined to the tree through marriage.
+        int[] generations = {0, 1, 1, 1, 2, 2, 2};
+        int[] parents = {-1, 0, 0, -1, 3, 3, 2};
+
+        double[] xs = TidyTreeLayout.place(generations, parents);
+
+        assertNoOverlap(generations, xs);
+        assertTrue(xs[0] < xs[3]);
+        assertTrue(xs[6] < xs[4], "the second root's children sit right of the first root's subtree");
+    }
+
+    @Test
+    void placesEmptyAndSingleNodeForests() {
+        assertEquals(0, TidyTreeLayout.place(new int[0], new int[0]).length);
+        assertArrayEquals(new double[]{0}, TidyTreeLayout.place(new int[]{5}, new int[]{-1}));
+    }
+
+    static void assertNoOverlap(int[] generations, double[] xs) {
+        Map<Integer, List<Double>> rows = new TreeMap<>();
+        for (int node = 0; node < xs.length; node++) {
+            rows.computeIfAbsent(generations[node], generation -> new ArrayList<>()).add(xs[node]);
+        }
+        rows.forEach((generation, row) -> {
+            Collections.sort(row);
+            for (int i = 1; i < row.size(); i++) {
+                assertTrue(row.get(i) - row.get(i - 1) >= TidyTreeLayout.NODE_SEPARATION - 1e-9,
+                        "nodes overlap on generation " + generation + ": " + row);
+            }
+        });
+    }
+}
@@ -0,0 +1,324 @@
+package com.mad_backend.load;
+
+import com.mad_backend.MadBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Replays a weighted mix of read endpoints against the application on an embedded H2 database filled
+ * by {@link SyntheticGenealogyGenerator}, then prints p50/p99 latency and throughput per endpoint and
+ * per controller. The data is generated in a first application run and served by a second one, so the
+ * in-memory indexes load it at startup exactly as they would in production.
+ *
+ * <p>Run with {@code mvn -Pload-test test}; {@code load.people}, {@code load.seed}, {@code load.threads},
+ * {@code load.warmup-seconds}, {@code load.duration-seconds} and {@code load.mix} (e.g.
+ * {@code image-list=20,story-search=0}) override the defaults. Workers draw from seeded generators, so
+ * two runs with the same settings send the same requests in the same order per worker.
+ */
+public class LoadDriver {
+
+    record Endpoint(String controller, String name, int weight, Function<Random, String> path) {
+    }
+
+    // A file database survives closing the generating application; devtools shuts in-memory ones down.
+    private static final Path DATABASE_DIRECTORY = Path.of("target", "load-test");
+    private static final String DATABASE_URL = "jdbc:h2:file:./target/load-test/genealogy;MODE=MySQL";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int people = Integer.getInteger("load.people", 20_000);
+        long seed = Long.getLong("load.seed", 42L);
+        int threads = Integer.getInteger("load.threads", 8);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+        Path report = Path.of(System.getProperty("load.report", "target/load-test-report.csv"));
+
+        FileSystemUtils.deleteRecursively(DATABASE_DIRECTORY);
+        SyntheticGenealogyGenerator.Dataset dataset;
+        try (ConfigurableApplicationContext context = start("create")) {
+            long startedAt = System.currentTimeMillis();
+            dataset = new SyntheticGenealogyGenerator(context.getBean(JdbcTemplate.class))
+                    .generate(SyntheticGenealogyGenerator.Shape.of(people, seed));
+            System.out.printf(Locale.ROOT, "Generated %d users, %d families, %d trees, %d images, %d albums and %d stories in %d ms%n",
+                    dataset.users(), dataset.families(), dataset.trees(), dataset.images(), dataset.albums(),
+                    dataset.stories(), System.currentTimeMillis() - startedAt);
+        }
+
+        try (ConfigurableApplicationContext context = start("none")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<Endpoint> mix = withOverrides(defaultMix(dataset), System.getProperty("load.mix", ""));
+            Map<String, long[]> latencies = new LoadDriver().run(baseUrl, mix, seed, threads, warmupSeconds,
+                    durationSeconds);
+            printReport(mix, latencies, durationSeconds, report);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String ddlAuto) {
+        // Command-line arguments take precedence over application.yml, default properties do not.
+        return new SpringApplicationBuilder(MadBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + DATABASE_URL,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--app.query-count.statement-budget=1000",
+                        "--app.mail-outbox.poll-interval-ms=3600000",
+                        "--app.story-search.snapshot-path=target/load-test/story-search.snapshot",
+                        "--app.story-search.snapshot-interval-ms=3600000",
+                        "--app.actuator.username=load-test",
+                        "--app.actuator.password=load-test");
+    }
+
+    static List<Endpoint> defaultMix(SyntheticGenealogyGenerator.Dataset dataset) {
+        Function<Random, Long> user = random -> 1 + (long) random.nextInt((int) dataset.users());
+        Function<Random, Long> family = random -> 1 + (long) random.nextInt((int) dataset.families());
+        Function<Random, Long> tree = random -> 1 + (long) random.nextInt((int) dataset.trees());
+        Function<Random, String> surname = random -> dataset.surnames().get(random.nextInt(dataset.surnames().size()));
+        Function<Random, String> word = random -> dataset.storyWords().get(random.nextInt(dataset.storyWords().size()));
+
+        return List.of(
+                new Endpoint("ProfileController", "profile-detail", 15,
+                        random -> "/api/v1/profiles/get-detail/" + user.apply(random)),
+                new Endpoint("ProfileController", "profile-list", 8,
+                        random -> "/api/v1/profiles/get-list/" + family.apply(random) + "?withRelations=true"),
+                new Endpoint("FamilyController", "family-detail", 10,
+                        random -> "/api/v1/family/" + family.apply(random)),
+                new Endpoint("FamilyController", "family-search", 4,
+                        random -> "/api/v1/family/search-by-cursor?name=" + encode(surname.apply(random))),
+                new Endpoint("FamilyController", "family-suggestions", 3,
+                        random -> "/api/v1/family/suggest-for-user/" + user.apply(random) + "/ranked"),
+                new Endpoint("FamilyTreeController", "tree-detail", 4,
+                        random -> "/api/v1/family-tree/" + tree.apply(random)),
+                new Endpoint("FamilyTreeController", "tree-layout", 4,
+                        random -> "/api/v1/family-tree/" + tree.apply(random) + "/layout"),
+                new Endpoint("UserController", "user-detail", 6,
+                        random -> "/api/v1/user/" + user.apply(random)),
+                new Endpoint("UserController", "user-autocomplete", 10,
+                        random -> "/api/v1/user/autocomplete?q=" + encode(surname.apply(random).substring(0, 2))),
+                new Endpoint("UserController", "user-search", 3,
+                        random -> "/api/v1/user/search-by-cursor?username=" + encode("nguyen")),
+                new Endpoint("ImageController", "image-list", 10,
+                        random -> "/api/v1/images/get-list/" + family.apply(random)),
+                new Endpoint("ImageController", "image-timeline", 6,
+                        random -> "/api/v1/images/timeline/" + family.apply(random)),
+                new Endpoint("AlbumController", "album-list", 5,
+                        random -> "/api/v1/albums/get-list/" + family.apply(random)),
+                new Endpoint("FamilyStoryController", "story-feed", 6,
+                        random -> "/api/v1/familyStory/get-all-by-cursor?size=10"),
+                new Endpoint("FamilyStoryController", "story-search", 4,
+                        random -> "/api/v1/familyStory/full-text-search?q=" + encode(word.apply(random))),
+                new Endpoint("GenealogyController", "ancestors", 4,
+                        random -> "/api/v1/genealogy/" + user.apply(random) + "/ancestors"),
+                new Endpoint("GenealogyController", "relationship", 3, random -> {
+                    long from = user.apply(random);
+                    // Nearby ids mostly share a tree, so most pairs are actually related.
+                    long to = Math.max(1, Math.min(dataset.users(), from + random.nextInt(101) - 50));
+                    return "/api/v1/genealogy/relationship?from=" + from + "&to=" + to;
+                }));
+    }
+
+    static List<Endpoint> withOverrides(List<Endpoint> mix, String overrides) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String entry : overrides.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix.stream()
+                .map(endpoint -> new Endpoint(endpoint.controller(), endpoint.name(),
+                        weights.getOrDefault(endpoint.name(), endpoint.weight()), endpoint.path()))
+                .filter(endpoint -> endpoint.weight() > 0)
+                .toList();
+    }
+
+    Map<String, long[]> run(String baseUrl, List<Endpoint> mix, long seed, int threads, int warmupSeconds,
+                            int durationSeconds) throws InterruptedException {
+        int[] cumulativeWeights = new int[mix.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            totalWeight += mix.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, Samples>>> results = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            Random random = new Random(seed * 31 + worker);
+            int weightSum = totalWeight;
+            results.add(workers.submit(() -> drive(baseUrl, mix, cumulativeWeights, weightSum, random, measureFrom, stopAt)));
+        }
+        workers.shutdown();
+        workers.awaitTermination(warmupSeconds + durationSeconds + 60L, TimeUnit.SECONDS);
+
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        for (Future<Map<String, Samples>> result : results) {
+            try {
+                result.get().forEach((name, samples) -> merged.computeIfAbsent(name, key -> new Samples()).addAll(samples));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+        Map<String, long[]> latencies = new LinkedHashMap<>();
+        merged.forEach((name, samples) -> latencies.put(name, samples.sorted()));
+        merged.forEach((name, samples) -> latencies.put(name + ":errors", new long[samples.errors]));
+        return latencies;
+    }
+
+    private Map<String, Samples> drive(String baseUrl, List<Endpoint> mix, int[] cumulativeWeights, int totalWeight,
+                                       Random random, long measureFrom, long stopAt) throws InterruptedException {
+        Map<String, Samples> samples = new HashMap<>();
+        while (System.nanoTime() < stopAt) {
+            int roll = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= roll) {
+                index++;
+            }
+            Endpoint endpoint = mix.get(index);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(random)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            long startedAt = System.nanoTime();
+            boolean failed;
+            try {
+                failed = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            if (startedAt >= measureFrom) {
+                samples.computeIfAbsent(endpoint.name(), key -> new Samples()).record(elapsed, failed);
+            }
+        }
+        return samples;
+    }
+
+    private static void printReport(List<Endpoint> mix, Map<String, long[]> latencies, int durationSeconds,
+                                    Path report) throws IOException {
+        Map<String, List<long[]>> byController = new LinkedHashMap<>();
+        List<String> rows = new ArrayList<>();
+        rows.add("scope,name,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+        for (Endpoint endpoint : mix) {
+            long[] values = latencies.getOrDefault(endpoint.name(), new long[0]);
+            int errors = latencies.getOrDefault(endpoint.name() + ":errors", new long[0]).length;
+            rows.add(row("endpoint", endpoint.name(), values, errors, durationSeconds));
+            byController.computeIfAbsent(endpoint.controller(), key -> new ArrayList<>()).add(values);
+            byController.computeIfAbsent(endpoint.controller() + ":errors", key -> new ArrayList<>())
+                    .add(new long[errors]);
+        }
+        List<long[]> all = new ArrayList<>();
+        int allErrors = 0;
+        for (Map.Entry<String, List<long[]>> entry : byController.entrySet()) {
+            if (entry.getKey().endsWith(":errors")) {
+                continue;
+            }
+            long[] values = concat(entry.getValue());
+            int errors = concat(byController.get(entry.getKey() + ":errors")).length;
+            rows.add(row("controller", entry.getKey(), values, errors, durationSeconds));
+            all.add(values);
+            allErrors += errors;
+        }
+        rows.add(row("total", "all", concat(all), allErrors, durationSeconds));
+
+        System.out.printf(Locale.ROOT, "%-10s %-22s %9s %7s %10s %9s %9s %9s%n",
+                "scope", "name", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (String row : rows.subList(1, rows.size())) {
+            String[] cells = row.split(",");
+            System.out.printf(Locale.ROOT, "%-10s %-22s %9s %7s %10s %9s %9s %9s%n", (Object[]) cells);
+        }
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(report))) {
+            rows.forEach(writer::println);
+        }
+        System.out.println("Report written to " + report);
+    }
+
+    private static String row(String scope, String name, long[] sortedNanos, int errors, int durationSeconds) {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f", scope, name, sortedNanos.length, errors,
+                sortedNanos.length / (double) durationSeconds, percentile(sortedNanos, 0.50) / 1e6,
+                percentile(sortedNanos, 0.99) / 1e6,
+                sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1] / 1e6);
+    }
+
+    private static long[] concat(List<long[]> parts) {
+        long[] values = parts.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        void record(long elapsed, boolean failed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsed;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] values = Arrays.copyOf(nanos, size);
+            Arrays.sort(values);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.mad_backend.load;
+
+import com.mad_backend.enums.FamilyStatus;
+import com.mad_backend.enums.Role;
+import com.mad_backend.service.impl.ProfileServiceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Fills an empty schema with a reproducible genealogy: every tree grows from a founding couple, children
+ * marry outsiders and head the next generation, and families carry images, albums and their members'
+ * stories. The same {@link Shape} always yields the same rows and ids, so a load run can be replayed.
+ * Rows go through JDBC batches with explicit ids; the identity columns are moved past them afterwards,
+ * which uses H2 syntax.
+ */
+public class SyntheticGenealogyGenerator {
+
+    /**
+     * @param people           users to create, split evenly across the trees
+     * @param trees            independent family trees
+     * @param maxGenerations   generations below the founding couple
+     * @param marriageRate     chance that a child marries and heads a family of their own
+     * @param imagesPerFamily  mean number of images per family
+     * @param albumsPerFamily  albums per family, each holding a random part of the family's images
+     * @param storyRate        chance that a person has written a story
+     */
+    public record Shape(int people, int trees, int maxGenerations, double marriageRate, int imagesPerFamily,
+                        int albumsPerFamily, double storyRate, long seed) {
+
+        public static Shape of(int people, long seed) {
+            return new Shape(people, Math.max(1, people / 1000), 12, 0.8, 8, 2, 0.2, seed);
+        }
+    }
+
+    /**
+     * Id ranges of the generated rows; every range is contiguous and starts at 1.
+     */
+    public record Dataset(long users, long families, long trees, long images, long albums, long stories,
+                          List<String> surnames, List<String> storyWords) {
+    }
+
+    // Children per family, 0 to 6; the mean is about 2.4.
+    private static final double[] CHILDREN_WEIGHTS = {0.08, 0.14, 0.30, 0.24, 0.13, 0.07, 0.04};
+    private static final List<String> SURNAMES = List.of("Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan",
+            "Vũ", "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý", "Đinh", "Trương", "Lương", "Mai");
+    private static final List<String> MALE_NAMES = List.of("Văn An", "Minh Đức", "Quốc Bảo", "Hữu Thắng", "Đình Khoa",
+            "Thành Nam", "Ngọc Hiếu", "Duy Bình", "Phú Cường", "Văn Dũng", "Gia Huy", "Trung Kiên");
+    private static final List<String> FEMALE_NAMES = List.of("Thị Lan", "Thu Hương", "Ngọc Ánh", "Minh Thư",
+            "Thị Hoa", "Bảo Ngọc", "Thanh Hà", "Khánh Linh", "Thu Thủy", "Mỹ Duyên", "Phương Anh", "Hồng Nhung");
+    private static final List<String> STORY_WORDS = List.of("tết", "quê", "nhà", "ông", "bà", "cha", "mẹ", "làng",
+            "đồng", "lúa", "giỗ", "họ", "chiến", "tranh", "di", "cư", "sài", "gòn", "hà", "nội", "huế", "cưới",
+            "sinh", "nhật", "mùa", "xuân", "biển", "núi", "trường", "học", "kỷ", "niệm", "gia", "phả", "tổ", "tiên");
+
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDate FIRST_BIRTH = LocalDate.of(1880, 1, 1);
+    private static final LocalDateTime FIRST_UPLOAD = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    private record Person(long userId, String surname, boolean male, LocalDate birthDate, int generation) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, List<Object[]>> pending = new LinkedHashMap<>();
+    private Shape shape;
+    private Random random;
+    private Timestamp now;
+    private long nextUserId;
+    private long nextFamilyId;
+    private long nextImageId;
+    private long nextAlbumId;
+    private long nextStoryId;
+
+    public SyntheticGenealogyGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Dataset generate(Shape shape) {
+        this.shape = shape;
+        random = new Random(shape.seed());
+        now = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+        nextUserId = nextFamilyId = nextImageId = nextAlbumId = nextStoryId = 1;
+
+        int peoplePerTree = Math.max(2, shape.people() / shape.trees());
+        for (long treeId = 1; treeId <= shape.trees(); treeId++) {
+            growTree(treeId, peoplePerTree);
+        }
+        flush();
+
+        restartIdentity("users", nextUserId);
+        restartIdentity("profiles", nextUserId);
+        restartIdentity("families", nextFamilyId);
+        restartIdentity("family_trees", shape.trees() + 1L);
+        restartIdentity("family_tree_family", nextFamilyId);
+        restartIdentity("images", nextImageId);
+        restartIdentity("albums", nextAlbumId);
+        restartIdentity("family_stories", nextStoryId);
+
+        return new Dataset(nextUserId - 1, nextFamilyId - 1, shape.trees(), nextImageId - 1, nextAlbumId - 1,
+                nextStoryId - 1, SURNAMES, STORY_WORDS);
+    }
+
+    private void growTree(long treeId, int people) {
+        long firstUserId = nextUserId;
+        String surname = pick(SURNAMES);
+        add("INSERT INTO family_trees (id, name, age, generation_numbers, version, code, created_at, updated_at, is_deleted) " +
+                "VALUES (?, ?, 0, 0, 0, ?, ?, ?, false)", treeId, "Họ " + surname + " " + treeId, code(), now, now);
+        Person founder = person(surname, true, FIRST_BIRTH.plusDays(random.nextInt(3650)), 0);
+        Person founderWife = outsider(founder);
+
+        ArrayDeque<Person[]> couples = new ArrayDeque<>();
+        couples.add(new Person[]{founder, founderWife});
+        int generations = 0;
+        while (!couples.isEmpty() && nextUserId - firstUserId < people) {
+            Person[] couple = couples.poll();
+            Person husband = couple[0];
+            Person wife = couple[1];
+            generations = Math.max(generations, husband.generation() + 1);
+
+            int childCount = childCount();
+            List<Person> children = new ArrayList<>(childCount);
+            for (int c = 0; c < childCount && nextUserId - firstUserId < people; c++) {
+                LocalDate birthDate = wife.birthDate().plusYears(20 + random.nextInt(18)).plusDays(random.nextInt(365));
+                children.add(person(husband.surname(), random.nextBoolean(), birthDate, husband.generation() + 1));
+            }
+            long familyId = family(treeId, husband, wife, children);
+
+            for (Person child : children) {
+                if (child.generation() < shape.maxGenerations() && random.nextDouble() < shape.marriageRate()
+                        && nextUserId - firstUserId < people) {
+                    Person spouse = outsider(child);
+                    couples.add(child.male() ? new Person[]{child, spouse} : new Person[]{spouse, child});
+                }
+            }
+            images(familyId);
+        }
+        add("UPDATE family_trees SET age = ?, generation_numbers = ? WHERE id = ?", generations * 25, generations, treeId);
+    }
+
+    private Person outsider(Person partner) {
+        LocalDate birthDate = partner.birthDate().plusDays(random.nextInt(3650) - 1825);
+        return person(pick(SURNAMES), !partner.male(), birthDate, partner.generation());
+    }
+
+    private Person person(String surname, boolean male, LocalDate birthDate, int generation) {
+        long userId = nextUserId++;
+        String firstName = pick(male ? MALE_NAMES : FEMALE_NAMES);
+        String username = ProfileServiceImpl.usernameOf(surname, firstName) + userId;
+        LocalDate deathDate = birthDate.getYear() < 1950 ? birthDate.plusYears(55 + random.nextInt(40)) : null;
+
+        add("INSERT INTO users (id, username, email, security_epoch, code, created_at, updated_at, is_deleted) " +
+                "VALUES (?, ?, ?, 0, ?, ?, ?, false)", userId, username, username + "@mad.com", code(), now, now);
+        add("INSERT INTO user_role (user_id, role_name) VALUES (?, ?)", userId, Role.USER.name());
+        add("INSERT INTO profiles (id, user_id, last_name, first_name, gender, birth_date, death_date, biography, address, " +
+                "avatar_url, is_profile_setting, code, created_at, updated_at, is_deleted) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, NULL, ?, NULL, false, ?, ?, ?, false)",
+                userId, userId, surname, firstName, male ? "male" : "female", Date.valueOf(birthDate),
+                deathDate != null ? Date.valueOf(deathDate) : null, "Việt Nam", code(), now, now);
+        if (random.nextDouble() < shape.storyRate()) {
+            story(userId);
+        }
+        return new Person(userId, surname, male, birthDate, generation);
+    }
+
+    private long family(long treeId, Person husband, Person wife, List<Person> children) {
+        long familyId = nextFamilyId++;
+        add("INSERT INTO families (id, name, husband_id, wife_id, status, code, created_at, updated_at, is_deleted) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)", familyId, husband.surname() + " family", husband.userId(),
+                wife.userId(), FamilyStatus.ACCEPTED.ordinal(), code(), now, now);
+        add("INSERT INTO family_tree_family (id, family_tree_id, family_id, generation, code, created_at, updated_at, " +
+                "is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, false)", familyId, treeId, familyId, husband.generation(),
+                code(), now, now);
+        add("INSERT INTO user_family (family_id, user_id) VALUES (?, ?)", familyId, husband.userId());
+        add("INSERT INTO user_family (family_id, user_id) VALUES (?, ?)", familyId, wife.userId());
+        for (Person child : children) {
+            add("INSERT INTO family_child_ids (family_id, child_ids) VALUES (?, ?)", familyId, child.userId());
+            add("INSERT INTO user_family (family_id, user_id) VALUES (?, ?)", familyId, child.userId());
+        }
+        return familyId;
+    }
+
+    private void images(long familyId) {
+        int imageCount = random.nextInt(2 * shape.imagesPerFamily() + 1);
+        long firstImageId = nextImageId;
+        for (int i = 0; i < imageCount; i++) {
+            long imageId = nextImageId++;
+            Timestamp uploadedAt = Timestamp.valueOf(FIRST_UPLOAD.plusSeconds(random.nextInt(10 * 365 * 86_400)));
+            add("INSERT INTO images (id, url, family_id, code, created_at, updated_at, is_deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, false)", imageId, "https://res.cloudinary.com/mad/image/upload/" + imageId + ".jpg",
+                    familyId, code(), uploadedAt, uploadedAt);
+        }
+        for (int a = 0; a < shape.albumsPerFamily() && imageCount > 0; a++) {
+            long albumId = nextAlbumId++;
+            add("INSERT INTO albums (id, album_name, family_id, cover_image_url, code, created_at, updated_at, is_deleted) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, false)", albumId, "Album " + (a + 1), familyId,
+                    "https://res.cloudinary.com/mad/image/upload/" + firstImageId + ".jpg", code(), now, now);
+            for (long imageId = firstImageId; imageId < nextImageId; imageId++) {
+                if (random.nextInt(3) == 0) {
+                    add("INSERT INTO album_image (album_id, image_id) VALUES (?, ?)", albumId, imageId);
+                }
+            }
+        }
+    }
+
+    private void story(long authorId) {
+        long storyId = nextStoryId++;
+        // family_stories.content is a plain VARCHAR(255) column.
+        StringBuilder content = new StringBuilder(pick(STORY_WORDS));
+        int words = 20 + random.nextInt(40);
+        for (int w = 1; w < words; w++) {
+            String word = pick(STORY_WORDS);
+            if (content.length() + word.length() + 1 > 255) {
+                break;
+            }
+            content.append(' ').append(word);
+        }
+        Timestamp writtenAt = Timestamp.valueOf(FIRST_UPLOAD.plusSeconds(random.nextInt(10 * 365 * 86_400)));
+        add("INSERT INTO family_stories (id, user_id, title, content, code, created_at, updated_at, is_deleted) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, false)", storyId, authorId,
+                "Chuyện " + pick(STORY_WORDS) + " " + pick(STORY_WORDS), content.toString(), code(), writtenAt, writtenAt);
+    }
+
+    private int childCount() {
+        double roll = random.nextDouble();
+        for (int count = 0; count < CHILDREN_WEIGHTS.length; count++) {
+            roll -= CHILDREN_WEIGHTS[count];
+            if (roll < 0) {
+                return count;
+            }
+        }
+        return CHILDREN_WEIGHTS.length - 1;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private UUID code() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private void add(String sql, Object... args) {
+        List<Object[]> rows = pending.computeIfAbsent(sql, key -> new ArrayList<>(BATCH_SIZE));
+        rows.add(args);
+        if (rows.size() == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    // Statements are flushed in first-use order, which keeps every parent row ahead of its children.
+    private void flush() {
+        pending.forEach((sql, rows) -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        });
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mad_backend.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeekCursorTest {
+
+    @Test
+    void roundTripsTypedKeys() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 8, 0);
+
+        SeekCursor timestamp = SeekCursor.decode(new SeekCursor(createdAt.toString(), 42).encode());
+        SeekCursor day = SeekCursor.decode(new SeekCursor(createdAt.toLocalDate().toString(), 0).encode());
+        SeekCursor score = SeekCursor.decode(new SeekCursor("-3", 7).encode());
+
+        assertEquals(createdAt, timestamp.timestampKey());
+        assertEquals(42, timestamp.id());
+        assertEquals(LocalDate.of(2024, 5, 1), day.dayKey());
+        assertEquals(-3, score.intKey());
+        assertEquals(SeekCursor.LATEST_TIMESTAMP, SeekCursor.NEWEST_FIRST.timestampKey());
+    }
+
+    @Test
+    void keylessCursorsDecodeButHaveNoTypedKey() {
+        SeekCursor keyless = SeekCursor.decode(new SeekCursor(null, 5).encode());
+
+        assertNull(keyless.key());
+        assertInvalid(keyless::timestampKey);
+        assertInvalid(keyless::dayKey);
+        assertInvalid(keyless::intKey);
+    }
+
+    @Test
+    void keysOfAnotherTypeAreInvalid() {
+        SeekCursor name = SeekCursor.decode(new SeekCursor("Nguyen", 5).encode());
+        SeekCursor timestamp = SeekCursor.decode(new SeekCursor(LocalDateTime.of(2024, 5, 1, 8, 0).toString(), 5).encode());
+
+        assertInvalid(name::timestampKey);
+        assertInvalid(name::intKey);
+        assertInvalid(timestamp::dayKey);
+        assertInvalid(timestamp::intKey);
+    }
+
+    @Test
+    void malformedTokensAreInvalid() {
+        assertInvalid(() -> SeekCursor.decode(""));
+        assertInvalid(() -> SeekCursor.decode("not a cursor!"));
+        assertInvalid(() -> SeekCursor.decode("AQ"));
+    }
+
+    @Test
+    void tamperedTokensAreInvalid() {
+        byte[] bytes = Base64.getUrlDecoder().decode(new SeekCursor("2024-05-01", 5).encode());
+
+        byte[] otherFormat = bytes.clone();
+        otherFormat[0] = 2;
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        byte[] extended = Arrays.copyOf(bytes, bytes.length + 1);
+
+        assertInvalid(() -> SeekCursor.decode(encode(otherFormat)));
+        assertInvalid(() -> SeekCursor.decode(encode(truncated)));
+        assertInvalid(() -> SeekCursor.decode(encode(extended)));
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void assertInvalid(Runnable decoding) {
+        assertEquals("Invalid cursor", assertThrows(IllegalArgumentException.class, decoding::run).getMessage());
+    }
+}
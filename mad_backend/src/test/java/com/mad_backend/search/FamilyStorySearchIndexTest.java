@@ -0,0 +1,109 @@
+package com.mad_backend.search;
+
+import com.mad_backend.search.FamilyStorySearchIndex.Hit;
+import com.mad_backend.search.FamilyStorySearchIndex.StoryDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FamilyStorySearchIndexTest {
+
+    private final FamilyStorySearchIndex index = new FamilyStorySearchIndex();
+
+    @Test
+    void scoresASingleDocumentWithBm25() {
+        index.put(story(1, "tuan", "Harvest", null));
+
+        List<Hit> hits = index.search("harvest", 10);
+
+        // One title term: frequency 3, length 3 = average length, idf = ln(1 + 0.5 / 1.5).
+        double expected = Math.log(4.0 / 3) * 3 * 2.2 / (3 + 1.2);
+        assertEquals(1, hits.size());
+        assertEquals(expected, hits.get(0).score(), 1e-9);
+    }
+
+    @Test
+    void ranksTitleHitsAboveAuthorAndContentHits() {
+        index.put(story(1, "tuan", "Summer trip", "We talked about the harvest"));
+        index.put(story(2, "harvest", "Summer trip", "We talked about the weather"));
+        index.put(story(3, "tuan", "Harvest", "We talked about the weather"));
+
+        assertEquals(List.of(3L, 2L, 1L), storyIds(index.search("harvest", 10)));
+    }
+
+    @Test
+    void rareTermsOutweighCommonOnes() {
+        index.put(story(1, "an", "Rice", "rice"));
+        index.put(story(2, "binh", "Rice", "festival"));
+        index.put(story(3, "chi", "Rice", "rice rice"));
+        index.put(story(4, "dung", "Festival", "lanterns"));
+
+        List<Hit> hits = index.search("rice festival", 10);
+
+        assertEquals(List.of(2L, 4L), storyIds(hits).subList(0, 2));
+    }
+
+    @Test
+    void shorterDocumentsWinWithTheSameTermFrequency() {
+        index.put(story(1, "an", "Tet", "lanterns"));
+        index.put(story(2, "binh", "Tet", "lanterns along the river at night with the whole family"));
+
+        assertEquals(List.of(1L, 2L), storyIds(index.search("lanterns", 10)));
+    }
+
+    @Test
+    void foldsDiacriticsAndBreaksTiesByStoryId() {
+        index.put(story(7, "an", "Họ Nguyễn", null));
+        index.put(story(5, "an", "Ho Nguyen", null));
+        index.put(story(6, "an", "Unrelated", null));
+
+        assertEquals(List.of(5L, 7L), storyIds(index.search("nguyen", 10)));
+        assertEquals(List.of(5L), storyIds(index.search("NGUYỄN", 1)));
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void highlightsMatchesAndEscapesHtml() {
+        index.put(story(1, "an", "<b>Harvest</b> day", "A & B went to the harvest"));
+
+        Hit hit = index.search("harvest", 10).get(0);
+
+        assertEquals("&lt;b&gt;<em>Harvest</em>&lt;/b&gt; day", hit.highlightedTitle());
+        assertEquals("A &amp; B went to the <em>harvest</em>", hit.snippet());
+    }
+
+    @Test
+    void renamingAnAuthorReindexesTheirStories() {
+        index.put(story(1, "tuan", "Summer trip", null));
+        index.put(story(2, "tuan", "Winter trip", null));
+        index.put(new StoryDocument(3, 2L, "tuan", "Spring trip", null));
+
+        assertTrue(index.renameAuthor(1, "minh"));
+        assertFalse(index.renameAuthor(1, "minh"));
+
+        assertEquals(List.of(3L), storyIds(index.search("tuan", 10)));
+        assertEquals(List.of(1L, 2L), storyIds(index.search("minh", 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void removedStoriesAreNotFound() {
+        index.put(story(1, "an", "Harvest", null));
+        index.put(story(2, "an", "Harvest", null));
+        index.remove(1);
+        index.put(story(2, "an", "Lanterns", null));
+
+        assertTrue(index.search("harvest", 10).isEmpty());
+        assertEquals(List.of(2L), storyIds(index.search("lanterns", 10)));
+    }
+
+    private static StoryDocument story(long storyId, String username, String title, String content) {
+        return new StoryDocument(storyId, 1L, username, title, content);
+    }
+
+    private static List<Long> storyIds(List<Hit> hits) {
+        return hits.stream().map(hit -> hit.story().storyId()).toList();
+    }
+}
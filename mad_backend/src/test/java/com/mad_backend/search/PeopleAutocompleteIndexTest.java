@@ -0,0 +1,92 @@
+package com.mad_backend.search;
+
+import com.mad_backend.search.PeopleAutocompleteIndex.Person;
+import com.mad_backend.search.PeopleAutocompleteIndex.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeopleAutocompleteIndexTest {
+
+    private final PeopleAutocompleteIndex index = new PeopleAutocompleteIndex();
+
+    @Test
+    void ranksExactThenPrefixThenInfixMatches() {
+        index.put(person(4, "Balan", "Hoa"));
+        index.put(person(3, "Lanh", "Minh"));
+        index.put(person(2, "Lan", "Anh"));
+        index.put(person(1, "Tran", "Binh"));
+
+        List<Suggestion> suggestions = index.suggest("lan", 10);
+
+        assertEquals(List.of(2L, 3L, 4L), userIds(suggestions));
+        assertEquals(List.of(3, 2, 1), suggestions.stream().map(Suggestion::score).toList());
+    }
+
+    @Test
+    void requiresEveryQueryTokenAndAddsTheirScores() {
+        index.put(person(1, "Nguyen", "An"));
+        index.put(person(2, "Nguyen", "Binh"));
+        index.put(person(3, "Tran", "An"));
+        index.put(person(4, "Nguyen", "Anh"));
+
+        List<Suggestion> suggestions = index.suggest("nguyen an", 10);
+
+        assertEquals(List.of(1L, 4L), userIds(suggestions));
+        assertEquals(List.of(6, 5), suggestions.stream().map(Suggestion::score).toList());
+        assertTrue(index.suggest("nguyen zzz", 10).isEmpty());
+    }
+
+    @Test
+    void matchesInsideTermsOnlyForTokensOfThreeLettersOrMore() {
+        index.put(person(1, "Lan", "Hoa"));
+
+        assertTrue(index.suggest("an", 10).isEmpty());
+        assertTrue(index.suggest("oa", 10).isEmpty());
+        assertEquals(List.of(1L), userIds(index.suggest("ho", 10)));
+        assertEquals(List.of(1L), userIds(index.suggest("ser", 10)));
+        assertEquals(1, index.suggest("ser", 10).get(0).score());
+    }
+
+    @Test
+    void foldsDiacriticsInNamesAndQueries() {
+        index.put(person(1, "Nguyễn", "Đức"));
+
+        assertEquals(List.of(1L), userIds(index.suggest("nguyen duc", 10)));
+        assertEquals(List.of(1L), userIds(index.suggest("NGUYỄN ĐỨC", 10)));
+        assertEquals(List.of(1L), userIds(index.suggest("guy", 10)));
+    }
+
+    @Test
+    void breaksTiesByShorterNameThenUserId() {
+        index.put(person(3, "Le", "Xuanbinh"));
+        index.put(person(2, "Le", "Binh"));
+        index.put(person(1, "Le", "Minh"));
+
+        assertEquals(List.of(1L, 2L, 3L), userIds(index.suggest("le", 10)));
+        // A full page stops the scan: among equal scores the people indexed first win, then sort by name.
+        assertEquals(List.of(2L, 3L), userIds(index.suggest("le", 2)));
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        index.put(person(1, "Pham", "Lan"));
+        index.put(person(1, "Vo", "Lan"));
+        index.put(person(2, "Pham", "Mai"));
+        index.remove(2);
+
+        assertTrue(index.suggest("pham", 10).isEmpty());
+        assertEquals(List.of(1L), userIds(index.suggest("vo", 10)));
+        assertEquals(1, index.size());
+    }
+
+    private static Person person(long userId, String lastName, String firstName) {
+        return new Person(userId, userId, "user" + userId, firstName, lastName, null);
+    }
+
+    private static List<Long> userIds(List<Suggestion> suggestions) {
+        return suggestions.stream().map(suggestion -> suggestion.person().userId()).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.mad_backend.security.custom;
+
+import com.mad_backend.dto.entity.User;
+import com.mad_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityEpochRegistryTest {
+
+    private final SecurityEpochRegistry registry = new SecurityEpochRegistry(Mockito.mock(UserRepository.class));
+    private User user;
+
+    @BeforeEach
+    void primeUser() {
+        user = new User();
+        user.setId(7L);
+        user.setSecurityEpoch(3L);
+        registry.prime(user);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rotationIsAppliedOnCommit() {
+        registry.rotate(user);
+
+        assertEquals(4L, user.getSecurityEpoch());
+        assertTrue(registry.isCurrent(7L, 3L), "old tokens stay valid until the transaction commits");
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        assertFalse(registry.isCurrent(7L, 3L));
+        assertTrue(registry.isCurrent(7L, 4L));
+    }
+
+    @Test
+    void rotationIsDroppedOnRollback() {
+        registry.rotate(user);
+        registry.revoke(7L);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertTrue(registry.isCurrent(7L, 3L));
+    }
+
+    @Test
+    void rotationOutsideTransactionIsImmediate() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        registry.rotate(user);
+        assertTrue(registry.isCurrent(7L, 4L));
+    }
+}
@@ -0,0 +1,138 @@
+package com.mad_backend.security.password;
+
+import com.mad_backend.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingExecutorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void hashesOnThePool() {
+        executor = executor(2, 4, 10_000);
+
+        String encoded = executor.encode("secret");
+
+        assertTrue(executor.matches("secret", encoded));
+        assertFalse(executor.matches("wrong", encoded));
+        assertTrue(executor.execute("thread", () -> Thread.currentThread().getName()).startsWith("password-hashing-"));
+    }
+
+    @Test
+    void rejectsImmediatelyWhenThePoolAndQueueAreFull() throws Exception {
+        executor = executor(1, 1, 10_000);
+        occupyWorkerAndQueue();
+
+        long start = System.nanoTime();
+        assertThrows(PasswordHashingRejectedException.class, () -> executor.encode("secret"));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, rejected());
+    }
+
+    @Test
+    void givesUpAndInterruptsTheTaskAfterTheTimeout() throws Exception {
+        executor = executor(1, 1, 100);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThrows(PasswordHashingRejectedException.class, () -> executor.execute("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }));
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, rejected());
+    }
+
+    @Test
+    void rethrowsTheTasksOwnRuntimeException() {
+        executor = executor(1, 1, 10_000);
+        BadCredentialsException failure = new BadCredentialsException("Bad credentials");
+
+        assertSame(failure, assertThrows(BadCredentialsException.class, () -> executor.execute("authenticate", () -> {
+            throw failure;
+        })));
+        assertEquals(0, rejected());
+    }
+
+    @Test
+    void authenticationKeepsBadCredentialsAndRejectionsApart() throws Exception {
+        executor = executor(1, 1, 10_000);
+        PooledPasswordEncoder passwordEncoder = new PooledPasswordEncoder(executor);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("a@mad.com").password(passwordEncoder.encode("secret")).roles("USER").build()));
+
+        assertTrue(provider.authenticate(new UsernamePasswordAuthenticationToken("a@mad.com", "secret")).isAuthenticated());
+        // AuthController maps the first to 401 and the second to 503, so neither may be wrapped.
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("a@mad.com", "wrong")));
+        occupyWorkerAndQueue();
+        assertThrows(PasswordHashingRejectedException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("a@mad.com", "secret")));
+    }
+
+    private PasswordHashingExecutor executor(int threads, int queueCapacity, long timeoutMillis) {
+        return new PasswordHashingExecutor(new BCryptPasswordEncoder(4), meterRegistry, threads, queueCapacity, timeoutMillis);
+    }
+
+    // Parks a task on the single worker and another in its one queue slot until the test releases them.
+    private void occupyWorkerAndQueue() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        startBlockedCaller(running);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        startBlockedCaller(running);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void startBlockedCaller(CountDownLatch running) {
+        Thread caller = new Thread(() -> executor.execute("blocked", () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        caller.setDaemon(true);
+        caller.start();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("auth.password.hashing.rejected").counter().count();
+    }
+}
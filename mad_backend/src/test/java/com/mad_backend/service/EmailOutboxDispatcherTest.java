@@ -0,0 +1,134 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.entity.EmailOutbox;
+import com.mad_backend.enums.EmailOutboxStatus;
+import com.mad_backend.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+/**
+ * Drives {@link EmailOutboxDispatcher#drain()} against an in-memory outbox and a mail sender that fails
+ * on demand, with no backoff so every retry is due on the next drain.
+ */
+class EmailOutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final List<EmailOutbox> outbox = new ArrayList<>();
+    private final StubMailSender mailSender = new StubMailSender();
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void createDispatcher() {
+        EmailOutboxRepository repository = Mockito.mock(EmailOutboxRepository.class);
+        Mockito.when(repository.findDueForDispatch(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Collection<EmailOutboxStatus> statuses = invocation.getArgument(0);
+                    LocalDateTime now = invocation.getArgument(1);
+                    return outbox.stream()
+                            .filter(email -> statuses.contains(email.getStatus()) && !email.getNextAttemptAt().isAfter(now))
+                            .toList();
+                });
+        Mockito.when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<EmailOutbox> saved = new ArrayList<>();
+            ((Iterable<EmailOutbox>) invocation.getArgument(0)).forEach(saved::add);
+            return saved;
+        });
+
+        dispatcher = new EmailOutboxDispatcher(repository, mailSender,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(dispatcher, "from", "noreply@mad.com");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "baseBackoffMillis", 0L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMillis", 60_000L);
+
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient("user@mad.com");
+        email.setSubject("OTP for Password Reset");
+        email.setBody("<p>123456</p>");
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outbox.add(email);
+    }
+
+    @Test
+    void retriesAFailedSendAndThenMarksItSent() {
+        mailSender.failuresLeft = 1;
+
+        dispatcher.drain();
+        EmailOutbox email = outbox.get(0);
+        assertEquals(EmailOutboxStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+
+        dispatcher.drain();
+        assertEquals(EmailOutboxStatus.SENT, email.getStatus());
+        assertEquals(2, email.getAttempts());
+        assertNull(email.getLastError());
+        assertNotNull(email.getSentAt());
+        assertEquals(List.of(EmailOutboxStatus.SENDING, EmailOutboxStatus.SENDING), mailSender.statusesWhileSending,
+                "the batch is claimed before the mail server is contacted");
+    }
+
+    @Test
+    void movesAMessageToDeadLetterAfterMaxAttempts() {
+        mailSender.failuresLeft = Integer.MAX_VALUE;
+
+        for (int i = 0; i < MAX_ATTEMPTS + 2; i++) {
+            dispatcher.drain();
+        }
+
+        EmailOutbox email = outbox.get(0);
+        assertEquals(EmailOutboxStatus.DEAD, email.getStatus());
+        assertEquals(MAX_ATTEMPTS, email.getAttempts());
+        assertEquals(MAX_ATTEMPTS, mailSender.sendCalls, "a dead message is never sent again");
+    }
+
+    @Test
+    void claimedMessagesAreSkippedUntilTheirLeaseExpires() {
+        EmailOutbox email = outbox.get(0);
+        email.setStatus(EmailOutboxStatus.SENDING);
+        email.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+
+        dispatcher.drain();
+        assertEquals(0, mailSender.sendCalls);
+
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        dispatcher.drain();
+        assertEquals(EmailOutboxStatus.SENT, email.getStatus());
+    }
+
+    private class StubMailSender extends JavaMailSenderImpl {
+        private int failuresLeft;
+        private int sendCalls;
+        private final List<EmailOutboxStatus> statusesWhileSending = new ArrayList<>();
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            sendCalls++;
+            outbox.forEach(email -> statusesWhileSending.add(email.getStatus()));
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new MailSendException("421 Service not available");
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.mad_backend.service;
+
+import com.mad_backend.dto.entity.Family;
+import com.mad_backend.dto.request.FamilyTreeFamilyRequest;
+import com.mad_backend.dto.request.FamilyTreeRequest;
+import com.mad_backend.dto.response.FamilyTreeFamilyResponse;
+import com.mad_backend.dto.response.FamilyTreeResponse;
+import com.mad_backend.event.FamilyTreeChangedEvent;
+import com.mad_backend.layout.FamilyTreeLayoutCache;
+import com.mad_backend.service.impl.FamilyTreeServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not rolled back per test: saveAllFamilyTrees commits on its own threads, so every test works on trees it creates.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:family-tree-synchronizer;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({FamilyTreeSynchronizer.class, FamilyTreeServiceImpl.class, FamilyTreeLayoutCache.class,
+        FamilyTreeSynchronizerTest.SyncThreads.class})
+class FamilyTreeSynchronizerTest {
+
+    @Autowired
+    private FamilyTreeSynchronizer familyTreeSynchronizer;
+
+    @Autowired
+    private FamilyTreeService familyTreeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SyncThreads syncThreads;
+
+    @Test
+    void onlyChangedEntriesAreDeletedOrInserted() {
+        long f1 = family();
+        long f2 = family();
+        long f3 = family();
+        FamilyTreeResponse created = sync(request(null, null, "Nguyen", entry(f1, 1), entry(f2, null), entry(f1, 1)));
+        assertEquals(0, created.getVersion());
+        assertEquals(List.of(f1, f2), familyIds(created));
+
+        FamilyTreeResponse updated = sync(request(created.getId(), 0L, "Nguyen Van", entry(f1, 1), entry(f3, 2)));
+
+        assertEquals(1, updated.getVersion());
+        assertEquals(List.of(f1, f3), familyIds(updated));
+        assertEquals(created.getFamilies().get(0).getId(), updated.getFamilies().get(0).getId());
+        assertEquals(2, entryCount(created.getId()));
+        assertEquals(0, entryCount(created.getId(), f2));
+        assertEquals(2, updated.getFamilies().get(1).getGeneration());
+        assertEquals("Nguyen Van", treeName(created.getId()));
+    }
+
+    @Test
+    void aNullFamilyListKeepsTheStoredEntriesButDropsDuplicates() {
+        long f1 = family();
+        long f2 = family();
+        FamilyTreeResponse created = sync(request(null, null, "Tran", entry(f1, 1), entry(f2, 2)));
+        jdbcTemplate.update("INSERT INTO family_tree_family (family_tree_id, family_id, generation, is_deleted) " +
+                "VALUES (?, ?, 1, false)", created.getId(), f1);
+
+        FamilyTreeResponse updated = sync(request(created.getId(), 0L, "Tran Thi"));
+
+        assertEquals(List.of(f1, f2), familyIds(updated));
+        assertEquals(2, entryCount(created.getId()));
+        assertEquals(1, entryCount(created.getId(), f1));
+        assertEquals("Tran Thi", treeName(created.getId()));
+    }
+
+    @Test
+    void aStaleVersionIsRejectedAndLeavesTheTreeAlone() {
+        FamilyTreeResponse created = sync(request(null, null, "Le"));
+        sync(request(created.getId(), 0L, "Le Van"));
+
+        OptimisticLockingFailureException conflict = assertThrows(OptimisticLockingFailureException.class,
+                () -> sync(request(created.getId(), 0L, "Le Thi")));
+
+        assertTrue(conflict.getMessage().contains("found 1"));
+        assertEquals("Le Van", treeName(created.getId()));
+        assertEquals(1, treeVersion(created.getId()));
+    }
+
+    @Test
+    void aVersionedRequestForAMissingOrDeletedTreeIsRejectedInsteadOfInserted() {
+        FamilyTreeResponse deleted = sync(request(null, null, "Pham"));
+        jdbcTemplate.update("UPDATE family_trees SET is_deleted = true WHERE id = ?", deleted.getId());
+        long trees = treeCount();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> sync(request(deleted.getId(), 0L, "Pham Van")));
+        assertThrows(OptimisticLockingFailureException.class, () -> sync(request(Long.MAX_VALUE, 0L, "Ghost")));
+        assertEquals(trees, treeCount());
+
+        // Without a version the id is only a hint, and a tree that is gone is created again.
+        FamilyTreeResponse recreated = sync(request(deleted.getId(), null, "Pham Van"));
+        assertNotEquals(deleted.getId(), recreated.getId());
+        assertEquals(trees + 1, treeCount());
+    }
+
+    @Test
+    void saveAllRunsOnTheSyncPoolAndKeepsWhatSavedWhenATreeFails() {
+        long f1 = family();
+        FamilyTreeResponse existing = sync(request(null, null, "Hoang"));
+        syncThreads.names.clear();
+
+        FamilyTreeRequest invalidEntry = request(null, null, "Vu");
+        invalidEntry.setFamily(List.of(new FamilyTreeFamilyRequest()));
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> familyTreeService.saveAllFamilyTrees(List.of(
+                request(existing.getId(), 5L, "Hoang Van"),
+                request(null, null, "Dang", entry(f1, 1)),
+                request(existing.getId(), 0L, "Hoang Thi"),
+                invalidEntry)));
+
+        assertInstanceOf(OptimisticLockingFailureException.class, failure);
+        assertEquals(1, failure.getSuppressed().length);
+        assertInstanceOf(IllegalArgumentException.class, failure.getSuppressed()[0]);
+        // The later request for the failing tree is skipped even though its version was current.
+        assertEquals("Hoang", treeName(existing.getId()));
+        assertEquals(0, treeVersion(existing.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM family_trees WHERE name = 'Dang'", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM family_trees WHERE name = 'Vu'", Long.class));
+        assertEquals(1, syncThreads.names.size());
+        assertTrue(syncThreads.names.get(0).startsWith("family-tree-sync-"));
+    }
+
+    @Test
+    void saveAllAnswersInRequestOrder() {
+        FamilyTreeResponse existing = sync(request(null, null, "Ngo"));
+        syncThreads.names.clear();
+
+        List<FamilyTreeResponse> saved = familyTreeService.saveAllFamilyTrees(List.of(
+                request(null, null, "Do"),
+                request(existing.getId(), 0L, "Ngo Van"),
+                request(null, null, "Bui"),
+                request(existing.getId(), 1L, "Ngo Thi")));
+
+        assertEquals(List.of("Do", "Ngo Van", "Bui", "Ngo Thi"), saved.stream().map(FamilyTreeResponse::getName).toList());
+        assertEquals(List.of(1L, 2L), List.of(saved.get(1).getVersion(), saved.get(3).getVersion()));
+        assertEquals("Ngo Thi", treeName(existing.getId()));
+        assertEquals(4, syncThreads.names.size());
+        assertTrue(syncThreads.names.stream().allMatch(name -> name.startsWith("family-tree-sync-")));
+    }
+
+    private FamilyTreeResponse sync(FamilyTreeRequest request) {
+        return transactionTemplate.execute(status -> familyTreeSynchronizer.sync(request));
+    }
+
+    private long family() {
+        return transactionTemplate.execute(status -> {
+            Family family = new Family();
+            family.setName("Family");
+            entityManager.persist(family);
+            return family.getId();
+        });
+    }
+
+    private static FamilyTreeRequest request(Long id, Long version, String name, FamilyTreeFamilyRequest... entries) {
+        FamilyTreeRequest request = new FamilyTreeRequest();
+        request.setId(id);
+        request.setVersion(version);
+        request.setName(name);
+        request.setFamily(entries.length > 0 ? List.of(entries) : null);
+        return request;
+    }
+
+    private static FamilyTreeFamilyRequest entry(long familyId, Integer generation) {
+        Family family = new Family();
+        family.setId(familyId);
+        FamilyTreeFamilyRequest entry = new FamilyTreeFamilyRequest();
+        entry.setFamily(family);
+        entry.setGeneration(generation);
+        return entry;
+    }
+
+    private static List<Long> familyIds(FamilyTreeResponse response) {
+        return response.getFamilies().stream().map(FamilyTreeFamilyResponse::getFamilyId).toList();
+    }
+
+    private long entryCount(long familyTreeId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM family_tree_family WHERE family_tree_id = ?",
+                Long.class, familyTreeId);
+    }
+
+    private long entryCount(long familyTreeId, long familyId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM family_tree_family WHERE family_tree_id = ? AND family_id = ?",
+                Long.class, familyTreeId, familyId);
+    }
+
+    private String treeName(long familyTreeId) {
+        return jdbcTemplate.queryForObject("SELECT name FROM family_trees WHERE id = ?", String.class, familyTreeId);
+    }
+
+    private long treeVersion(long familyTreeId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM family_trees WHERE id = ?", Long.class, familyTreeId);
+    }
+
+    private long treeCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM family_trees", Long.class);
+    }
+
+    // Records the thread each successful save ran on; the change event is published synchronously inside it.
+    static class SyncThreads {
+
+        final List<String> names = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onFamilyTreeChanged(FamilyTreeChangedEvent event) {
+            names.add(Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mad_backend.service;
+
+import com.mad_backend.service.LineageClosureMaintainer.ParentEdge;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lineage-closure;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LineageClosureMaintainer.class)
+class LineageClosureMaintainerTest {
+
+    @Autowired
+    private LineageClosureMaintainer lineageClosureMaintainer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectsACycleAndIgnoresItsRemoval() {
+        lineageClosureMaintainer.replaceEdges(List.of(), List.of(new ParentEdge(1, 2), new ParentEdge(2, 3)));
+        assertEquals(1, pathCount(1, 3, 2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> lineageClosureMaintainer.replaceEdges(List.of(), List.of(new ParentEdge(3, 1))));
+        assertThrows(IllegalArgumentException.class,
+                () -> lineageClosureMaintainer.replaceEdges(List.of(), List.of(new ParentEdge(2, 2))));
+
+        // Undoing the rejected edit must leave the paths of the real edges alone.
+        lineageClosureMaintainer.replaceEdges(List.of(new ParentEdge(3, 1)), List.of());
+        assertEquals(1, pathCount(1, 2, 1));
+        assertEquals(1, pathCount(2, 3, 1));
+        assertEquals(1, pathCount(1, 3, 2));
+        assertEquals(0, pathCount(3, 1, 1));
+    }
+
+    @Test
+    void removingAnEdgeDropsOnlyThePathsThroughIt() {
+        lineageClosureMaintainer.replaceEdges(List.of(),
+                List.of(new ParentEdge(1, 2), new ParentEdge(2, 3), new ParentEdge(4, 3)));
+
+        lineageClosureMaintainer.replaceEdges(List.of(new ParentEdge(2, 3)), List.of());
+
+        assertEquals(1, pathCount(1, 2, 1));
+        assertEquals(0, pathCount(1, 3, 2));
+        assertEquals(0, pathCount(2, 3, 1));
+        assertEquals(1, pathCount(4, 3, 1));
+    }
+
+    private long pathCount(long ancestorId, long descendantId, int depth) {
+        Long count = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(path_count), 0) FROM ancestor_descendant " +
+                "WHERE ancestor_id = ? AND descendant_id = ? AND depth = ?", Long.class, ancestorId, descendantId, depth);
+        return count == null ? 0 : count;
+    }
+}